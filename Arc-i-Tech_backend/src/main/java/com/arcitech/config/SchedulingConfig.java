@@ -0,0 +1,12 @@
+package com.arcitech.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. progress reconciliation).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -79,6 +79,9 @@ public class SecurityConfig {
                     "/", "/index.html", "/favicon.ico",
                     "/css/**", "/js/**", "/images/**"
                 ).permitAll()
+                // Public service catalog (read-only)
+                .requestMatchers(HttpMethod.GET, "/api/services").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/catalog", "/api/catalog/categories").permitAll()
 
                 // ✅ SUPER ADMIN ROUTES
                 .requestMatchers("/api/admin/**").hasRole("SUPER_ADMIN")
@@ -0,0 +1,53 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.CatalogCategoryNodeDTO;
+import com.arcitech.dto.CatalogQuery;
+import com.arcitech.dto.CatalogSearchResultDTO;
+import com.arcitech.service.CatalogService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    private final CatalogService catalogService;
+
+    public CatalogController(CatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    // Public search across services, catalog entries and offerings, e.g.
+    // ?categoryId=3&maxPrice=5000&sort=FEATURED for everything under category 3 below 5000
+    @GetMapping
+    public ResponseEntity<CatalogSearchResultDTO> search(@RequestParam(required = false) Integer categoryId,
+                                                         @RequestParam(required = false) String type,
+                                                         @RequestParam(required = false) BigDecimal minPrice,
+                                                         @RequestParam(required = false) BigDecimal maxPrice,
+                                                         @RequestParam(required = false) Boolean featured,
+                                                         @RequestParam(required = false) String q,
+                                                         @RequestParam(defaultValue = "FEATURED") CatalogQuery.Sort sort,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        CatalogQuery query = CatalogQuery.builder()
+                .categoryId(categoryId)
+                .type(type)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .featured(featured)
+                .text(q)
+                .sort(sort)
+                .page(page)
+                .size(size)
+                .build();
+        return ResponseEntity.ok(catalogService.search(query));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CatalogCategoryNodeDTO>> categories() {
+        return ResponseEntity.ok(catalogService.getCategoryTree());
+    }
+}
@@ -0,0 +1,63 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.CurriculumDTO;
+import com.arcitech.dto.LessonDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.CurriculumService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/courses")
+public class CurriculumController {
+
+    private final CurriculumService curriculumService;
+    private final UserRepository userRepository;
+
+    public CurriculumController(CurriculumService curriculumService, UserRepository userRepository) {
+        this.curriculumService = curriculumService;
+        this.userRepository = userRepository;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    @GetMapping("/{courseId}/curriculum")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CurriculumDTO> getCurriculum(@PathVariable Long courseId) {
+        return ResponseEntity.ok(curriculumService.getCurriculum(courseId));
+    }
+
+    // Several course trees at once, e.g. for a learner's dashboard: ?ids=1,2,3
+    @GetMapping("/curriculum")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<CurriculumDTO>> getCurricula(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(curriculumService.getCurricula(ids));
+    }
+
+    @GetMapping("/lessons/{lessonId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<LessonDTO> getLesson(@PathVariable Long lessonId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        boolean admin = u.getRole() == User.Role.SUB_ADMIN || u.getRole() == User.Role.ADMIN
+                || u.getRole() == User.Role.SUPER_ADMIN;
+        return ResponseEntity.ok(curriculumService.getLesson(lessonId, u.getId(), admin));
+    }
+
+    // Call after editing modules, lessons or sections so cached trees are rebuilt
+    @PostMapping("/{courseId}/curriculum/refresh")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<Void> refresh(@PathVariable Long courseId) {
+        curriculumService.curriculumChanged(courseId);
+        return ResponseEntity.noContent().build();
+    }
+}
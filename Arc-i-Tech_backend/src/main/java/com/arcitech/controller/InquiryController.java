@@ -1,13 +1,25 @@
 package com.arcitech.controller;
 
+import com.arcitech.dto.CursorPageDTO;
 import com.arcitech.dto.InquiryDTO;
+import com.arcitech.dto.InquiryPipelineFilter;
+import com.arcitech.dto.InquiryPipelineItemDTO;
+import com.arcitech.dto.InquiryPipelineStatsDTO;
+import com.arcitech.dto.InquiryReceiptDTO;
 import com.arcitech.model.Inquiry;
+import com.arcitech.service.InquiryIntakeService;
+import com.arcitech.service.InquiryPipelineService;
 import com.arcitech.service.InquiryService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,15 +27,35 @@ import java.util.List;
 public class InquiryController {
 
     private final InquiryService inquiryService;
+    private final InquiryIntakeService intakeService;
+    private final InquiryPipelineService pipelineService;
 
-    public InquiryController(InquiryService inquiryService) {
+    public InquiryController(InquiryService inquiryService, InquiryIntakeService intakeService,
+                             InquiryPipelineService pipelineService) {
         this.inquiryService = inquiryService;
+        this.intakeService = intakeService;
+        this.pipelineService = pipelineService;
     }
 
-    // Public endpoint: customers can submit an inquiry
+    // Public endpoint: customers can submit an inquiry. Stored asynchronously, hence 202;
+    // duplicates of a recent submission are accepted but not stored again.
     @PostMapping
-    public ResponseEntity<Inquiry> createInquiry(@Valid @RequestBody InquiryDTO dto) {
-        return ResponseEntity.ok(inquiryService.createInquiry(dto));
+    public ResponseEntity<InquiryReceiptDTO> createInquiry(@Valid @RequestBody InquiryDTO dto,
+                                                           HttpServletRequest request) {
+        InquiryIntakeService.Result result = intakeService.submit(dto, request.getRemoteAddr());
+        switch (result.outcome()) {
+            case RATE_LIMITED:
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf((result.retryAfterMillis() + 999) / 1000))
+                        .body(new InquiryReceiptDTO("RATE_LIMITED", "Too many inquiries. Please try again later."));
+            case QUEUE_FULL:
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .body(new InquiryReceiptDTO("BUSY", "We are receiving a lot of inquiries. Please try again shortly."));
+            default:
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(new InquiryReceiptDTO("ACCEPTED", "Thanks! We will get back to you shortly."));
+        }
     }
 
     // Admin: view all inquiries
@@ -33,6 +65,48 @@ public class InquiryController {
         return ResponseEntity.ok(inquiryService.getAllInquiries());
     }
 
+    // Admin: CRM pipeline of inquiries and their leads, newest first, keyset-paginated
+    @GetMapping("/pipeline")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<CursorPageDTO<InquiryPipelineItemDTO>> getPipeline(
+            @RequestParam(required = false) Inquiry.Status status,
+            @RequestParam(required = false) String leadStatus,
+            @RequestParam(required = false) Long assignedTo,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        InquiryPipelineFilter filter = InquiryPipelineFilter.builder()
+                .status(status)
+                .leadStatus(leadStatus)
+                .assignedToUserId(assignedTo)
+                .source(source)
+                .email(email)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+        return ResponseEntity.ok(pipelineService.getPipeline(filter, cursor, size));
+    }
+
+    // Admin: funnel counts, conversion rates and median time-in-stage (defaults to the last 30 days)
+    @GetMapping("/pipeline/stats")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<InquiryPipelineStatsDTO> getPipelineStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(pipelineService.getStats(from, to));
+    }
+
+    // Super admin: recount the stage rollups from stored inquiries (e.g. after an import)
+    @PostMapping("/pipeline/rollups/rebuild")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<String> rebuildPipelineRollups() {
+        pipelineService.rebuildRollups();
+        return ResponseEntity.ok("Pipeline rollups rebuilt");
+    }
+
     // Admin: update inquiry status
     @PutMapping("/{id}/status/{status}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
@@ -0,0 +1,37 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.ItemAnalyticsDTO;
+import com.arcitech.dto.ItemAnalyticsRunDTO;
+import com.arcitech.service.ItemAnalyticsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/management/item-analytics")
+public class ItemAnalyticsController {
+
+    private final ItemAnalyticsService analyticsService;
+
+    public ItemAnalyticsController(ItemAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // Last computed statistics of every question of a quiz, with review flags
+    @GetMapping("/quizzes/{quizId}")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<List<ItemAnalyticsDTO>> getQuizAnalytics(@PathVariable Long quizId) {
+        return ResponseEntity.ok(analyticsService.getQuizAnalytics(quizId));
+    }
+
+    // Recomputes now instead of waiting for the nightly run; 409 while a run is in progress
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ItemAnalyticsRunDTO> run() {
+        ItemAnalyticsRunDTO result = analyticsService.run();
+        return result.isStarted() ? ResponseEntity.ok(result) : ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+    }
+}
@@ -0,0 +1,58 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.CourseProgressDTO;
+import com.arcitech.dto.SectionProgressDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.LessonProgressService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/courses")
+public class LessonProgressController {
+
+    private final LessonProgressService progressService;
+    private final UserRepository userRepository;
+
+    public LessonProgressController(LessonProgressService progressService, UserRepository userRepository) {
+        this.progressService = progressService;
+        this.userRepository = userRepository;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    // Marks a lesson done (or not done with completed=false) for the caller's enrollment
+    @PutMapping("/lessons/{lessonId}/progress")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CourseProgressDTO> markLesson(@PathVariable Long lessonId,
+                                                        @RequestParam(defaultValue = "true") boolean completed) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(progressService.markLesson(u.getId(), lessonId, completed));
+    }
+
+    @GetMapping("/{courseId}/progress")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CourseProgressDTO> getProgress(@PathVariable Long courseId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(progressService.getProgress(u.getId(), courseId));
+    }
+
+    @GetMapping("/sections/{sectionId}/progress")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SectionProgressDTO> getSectionProgress(@PathVariable Long sectionId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        boolean admin = u.getRole() == User.Role.SUB_ADMIN || u.getRole() == User.Role.ADMIN
+                || u.getRole() == User.Role.SUPER_ADMIN;
+        return ResponseEntity.ok(progressService.getSectionProgress(sectionId, u.getId(), admin));
+    }
+}
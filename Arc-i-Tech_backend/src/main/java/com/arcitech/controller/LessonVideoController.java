@@ -0,0 +1,114 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.VideoManifestDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.VideoDeliveryService;
+import com.arcitech.service.video.ByteRange;
+import com.arcitech.service.video.FileRegionWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/courses/lessons/{lessonId}/video")
+public class LessonVideoController {
+
+    private static final String WHOLE_FILE_CACHE = "private, max-age=3600";
+    // Segment URLs carry the upload version, so their bytes never change
+    private static final String SEGMENT_CACHE = "private, max-age=31536000, immutable";
+
+    private final VideoDeliveryService videoService;
+    private final UserRepository userRepository;
+
+    public LessonVideoController(VideoDeliveryService videoService, UserRepository userRepository) {
+        this.videoService = videoService;
+        this.userRepository = userRepository;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    private static boolean isAdmin(User u) {
+        return u.getRole() == User.Role.SUB_ADMIN || u.getRole() == User.Role.ADMIN
+                || u.getRole() == User.Role.SUPER_ADMIN;
+    }
+
+    // Whole video with byte-range support, for players that seek with Range requests
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public void stream(@PathVariable Long lessonId, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        User u = currentUser();
+        if (u == null) {
+            response.setStatus(401);
+            return;
+        }
+        serve(videoService.openVideo(lessonId, u.getId(), isAdmin(u)), WHOLE_FILE_CACHE, request, response);
+    }
+
+    @GetMapping("/manifest")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<VideoManifestDTO> getManifest(@PathVariable Long lessonId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(videoService.getManifest(lessonId, u.getId(), isAdmin(u)));
+    }
+
+    @GetMapping("/segments/{version}/{index}")
+    @PreAuthorize("isAuthenticated()")
+    public void segment(@PathVariable Long lessonId, @PathVariable String version, @PathVariable int index,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User u = currentUser();
+        if (u == null) {
+            response.setStatus(401);
+            return;
+        }
+        serve(videoService.openSegment(lessonId, version, index, u.getId(), isAdmin(u)), SEGMENT_CACHE, request, response);
+    }
+
+    // Segments the current upload now instead of waiting for the background job
+    @PostMapping("/segment")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<VideoManifestDTO> segmentNow(@PathVariable Long lessonId) {
+        return ResponseEntity.ok(videoService.segmentNow(lessonId));
+    }
+
+    private void serve(VideoDeliveryService.VideoFile file, String cacheControl, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (file.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // A stale If-Range means the client's partial copy is of another version: send it all
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        String rangeHeader = ifRange == null || ifRange.equals(file.etag()) ? request.getHeader(HttpHeaders.RANGE) : null;
+        ByteRange range = ByteRange.parse(rangeHeader, file.size());
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+            return;
+        }
+        response.setContentType(file.contentType());
+        if (range.length() < file.size()) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + (range.end() - 1) + "/" + file.size());
+        }
+        FileRegionWriter.write(file.path(), range, request, response);
+    }
+}
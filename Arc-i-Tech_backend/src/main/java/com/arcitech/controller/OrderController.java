@@ -0,0 +1,67 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.OrderRequestDTO;
+import com.arcitech.dto.ServiceOrderDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final OrderService orderService;
+    private final UserRepository userRepository;
+
+    public OrderController(OrderService orderService, UserRepository userRepository) {
+        this.orderService = orderService;
+        this.userRepository = userRepository;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    // 201 for a new order, 200 when a retry with the same Idempotency-Key replays it,
+    // 409 while the original request is still being processed
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ServiceOrderDTO> placeOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody OrderRequestDTO request) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+
+        OrderService.Result result = orderService.placeOrder(u.getId(), request, idempotencyKey);
+        switch (result.outcome()) {
+            case IN_PROGRESS:
+                return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build();
+            case REPLAYED:
+                return ResponseEntity.ok().header("Idempotent-Replayed", "true").body(result.order());
+            default:
+                return ResponseEntity.status(HttpStatus.CREATED).body(result.order());
+        }
+    }
+
+    // Order history with each order's course/appointment/project/application resolved
+    @GetMapping("/my")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageDTO<ServiceOrderDTO>> myOrders(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(orderService.getHistory(u.getId(), cursor, size));
+    }
+}
@@ -1,14 +1,28 @@
 package com.arcitech.controller;
 
+import com.arcitech.dto.BulkTaskResultDTO;
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.ProjectBoardDTO;
 import com.arcitech.dto.ProjectDTO;
+import com.arcitech.dto.ProjectFilter;
+import com.arcitech.dto.ProjectSummaryDTO;
 import com.arcitech.dto.TaskDTO;
 import com.arcitech.model.Project;
+import com.arcitech.service.ProjectBoardService;
 import com.arcitech.service.ProjectService;
+import com.arcitech.service.ProjectTaskImportService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,16 +30,44 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectBoardService boardService;
+    private final ProjectTaskImportService importService;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ProjectBoardService boardService,
+                             ProjectTaskImportService importService) {
         this.projectService = projectService;
+        this.boardService = boardService;
+        this.importService = importService;
     }
 
-    // Get all projects (visible to admins/sub-admins)
+    // List projects page by page (visible to admins/sub-admins).
+    // Pass the returned nextCursor back as ?cursor= to fetch the following page.
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
-    public ResponseEntity<List<ProjectDTO>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<CursorPageDTO<ProjectSummaryDTO>> getAllProjects(
+            @RequestParam(required = false) Project.Status status,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) Boolean highlighted,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(defaultValue = "ID") ProjectFilter.SortField sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTasks,
+            @RequestParam(defaultValue = "false") boolean includeTaskCounts) {
+        ProjectFilter filter = ProjectFilter.builder()
+                .status(status)
+                .clientId(clientId)
+                .ownerId(ownerId)
+                .highlighted(highlighted)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+        return ResponseEntity.ok(projectService.listProjects(
+                filter, sort, ascending, cursor, size, includeTasks, includeTaskCounts));
     }
 
     // Get specific project by ID
@@ -35,6 +77,25 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getProjectById(id));
     }
 
+    // Kanban board grouped by task status. The ETag is the board version: send it back in
+    // If-None-Match to get a 304, or as ?since= to receive only the tasks changed after it.
+    @GetMapping("/{id}/board")
+    @PreAuthorize("hasAnyRole('CUSTOMER','DEVELOPER','SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<ProjectBoardDTO> getBoard(@PathVariable Long id,
+                                                    @RequestParam(required = false) Long since,
+                                                    @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        long version = boardService.currentVersion(id);
+        String etag = "\"board-" + id + "-" + version + "\"";
+        if (etag.equals(ifNoneMatch) || (since != null && since == version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ProjectBoardDTO board = boardService.getBoard(id, since);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag("\"board-" + id + "-" + board.getVersion() + "\"")
+                .body(board);
+    }
+
     // Create new project
     @PostMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
@@ -56,6 +117,36 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.addTaskToProject(projectId, dto));
     }
 
+    // Bulk create/update tasks from a JSON array (rows with an id are updates)
+    @PostMapping(value = "/{projectId}/tasks/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<BulkTaskResultDTO> bulkTasks(@PathVariable Long projectId, @RequestBody List<TaskDTO> tasks) {
+        return ResponseEntity.ok(importService.importTasks(projectId, tasks));
+    }
+
+    // Same as above from a CSV upload with a header row, streamed from the request body
+    @PostMapping(value = "/{projectId}/tasks/bulk", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<BulkTaskResultDTO> bulkTasksCsv(@PathVariable Long projectId, Reader csv) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(projectId, csv));
+    }
+
+    // Change a task's status; project progress is updated from it
+    @PutMapping("/{projectId}/tasks/{taskId}/status/{status}")
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<TaskDTO> updateTaskStatus(@PathVariable Long projectId, @PathVariable Long taskId,
+                                                    @PathVariable String status) {
+        return ResponseEntity.ok(projectService.updateTaskStatus(projectId, taskId, status));
+    }
+
+    @PutMapping("/{projectId}/milestones/{milestoneId}/status/{status}")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<String> updateMilestoneStatus(@PathVariable Long projectId, @PathVariable Long milestoneId,
+                                                        @PathVariable String status) {
+        projectService.updateMilestoneStatus(projectId, milestoneId, status);
+        return ResponseEntity.ok("Milestone status updated");
+    }
+
     // Delete project
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
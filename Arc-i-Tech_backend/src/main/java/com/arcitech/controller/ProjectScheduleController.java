@@ -0,0 +1,53 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.ProjectScheduleDTO;
+import com.arcitech.dto.TaskDatesDTO;
+import com.arcitech.dto.TaskDependencyDTO;
+import com.arcitech.service.ProjectScheduleService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/schedule")
+public class ProjectScheduleController {
+
+    private final ProjectScheduleService scheduleService;
+
+    public ProjectScheduleController(ProjectScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    // Topological order, critical path and slack for every task of the project
+    @GetMapping
+    @PreAuthorize("hasAnyRole('CUSTOMER','DEVELOPER','SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<ProjectScheduleDTO> getSchedule(@PathVariable Long projectId) {
+        return ResponseEntity.ok(scheduleService.getSchedule(projectId));
+    }
+
+    // Add a finish-to-start dependency; rejected with 400 if it would create a cycle
+    @PostMapping("/dependencies")
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<ProjectScheduleDTO> addDependency(@PathVariable Long projectId,
+                                                            @Valid @RequestBody TaskDependencyDTO dto) {
+        return ResponseEntity.ok(scheduleService.addDependency(projectId, dto));
+    }
+
+    @DeleteMapping("/dependencies")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ProjectScheduleDTO> removeDependency(@PathVariable Long projectId,
+                                                               @RequestParam Long predecessorTaskId,
+                                                               @RequestParam Long successorTaskId) {
+        return ResponseEntity.ok(scheduleService.removeDependency(projectId, predecessorTaskId, successorTaskId));
+    }
+
+    // Change a task's dates; dependent tasks are moved forward as needed
+    @PutMapping("/tasks/{taskId}/dates")
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<ProjectScheduleDTO> updateTaskDates(@PathVariable Long projectId,
+                                                              @PathVariable Long taskId,
+                                                              @RequestBody TaskDatesDTO dto) {
+        return ResponseEntity.ok(scheduleService.updateTaskDates(projectId, taskId, dto));
+    }
+}
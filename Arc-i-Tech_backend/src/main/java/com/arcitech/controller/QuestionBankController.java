@@ -0,0 +1,49 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.QuestionBankItemDTO;
+import com.arcitech.dto.QuizAssemblyRequestDTO;
+import com.arcitech.dto.QuizDTO;
+import com.arcitech.service.QuestionBankService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/question-bank")
+public class QuestionBankController {
+
+    private final QuestionBankService questionBankService;
+
+    public QuestionBankController(QuestionBankService questionBankService) {
+        this.questionBankService = questionBankService;
+    }
+
+    // Words in q must all appear in the question text; results in id order, keyset-paginated
+    @GetMapping("/questions")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<CursorPageDTO<QuestionBankItemDTO>> search(@RequestParam(required = false) String q,
+                                                                     @RequestParam(required = false) String topic,
+                                                                     @RequestParam(required = false) String type,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(questionBankService.search(q, topic, type, cursor, size));
+    }
+
+    // Question counts per topic and type
+    @GetMapping("/topics")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Long>>> topics() {
+        return ResponseEntity.ok(questionBankService.getTopics());
+    }
+
+    @PostMapping("/quizzes")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<QuizDTO> assembleQuiz(@Valid @RequestBody QuizAssemblyRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(questionBankService.assembleQuiz(request));
+    }
+}
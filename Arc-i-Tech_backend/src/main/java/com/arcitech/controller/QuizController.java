@@ -0,0 +1,103 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.QuizAttemptDTO;
+import com.arcitech.dto.QuizDTO;
+import com.arcitech.dto.QuizResultDTO;
+import com.arcitech.dto.QuizSessionDTO;
+import com.arcitech.dto.QuizSubmissionDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.QuizChangedEvent;
+import com.arcitech.service.QuizService;
+import com.arcitech.service.QuizSessionService;
+import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/quizzes")
+public class QuizController {
+
+    private final QuizService quizService;
+    private final QuizSessionService sessionService;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public QuizController(QuizService quizService, QuizSessionService sessionService,
+                          UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
+        this.quizService = quizService;
+        this.sessionService = sessionService;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    @GetMapping("/{quizId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuizDTO> getQuiz(@PathVariable Long quizId) {
+        return ResponseEntity.ok(quizService.getQuiz(quizId));
+    }
+
+    @PostMapping("/{quizId}/attempts")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuizAttemptDTO> startAttempt(@PathVariable Long quizId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(sessionService.start(u.getId(), quizId));
+    }
+
+    @GetMapping("/attempts/{attemptId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuizAttemptDTO> getAttempt(@PathVariable Long attemptId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(quizService.getAttempt(u.getId(), attemptId));
+    }
+
+    // Live state of an open attempt: deadline and answers saved so far
+    @GetMapping("/attempts/{attemptId}/session")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuizSessionDTO> getSession(@PathVariable Long attemptId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(sessionService.getSession(u.getId(), attemptId));
+    }
+
+    // Autosave: kept in memory and persisted with the next batched flush
+    @PutMapping("/attempts/{attemptId}/answers")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuizSessionDTO> saveAnswers(@PathVariable Long attemptId,
+                                                      @Valid @RequestBody List<QuizSubmissionDTO.Answer> answers) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(sessionService.saveAnswers(u.getId(), attemptId, answers));
+    }
+
+    // Answers in the body are merged over the saved ones; past the deadline only saved answers count
+    @PostMapping("/attempts/{attemptId}/submit")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuizResultDTO> submit(@PathVariable Long attemptId,
+                                                @Valid @RequestBody QuizSubmissionDTO submission) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(sessionService.submit(u.getId(), attemptId, submission));
+    }
+
+    // Drops the cached answer key after questions were edited outside the application
+    @PostMapping("/{quizId}/answer-key/refresh")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<Void> refreshAnswerKey(@PathVariable Long quizId) {
+        eventPublisher.publishEvent(new QuizChangedEvent(quizId));
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.SectionEnrollmentDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.SectionEnrollmentService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/courses/sections")
+public class SectionEnrollmentController {
+
+    private final SectionEnrollmentService enrollmentService;
+    private final UserRepository userRepository;
+
+    public SectionEnrollmentController(SectionEnrollmentService enrollmentService, UserRepository userRepository) {
+        this.enrollmentService = enrollmentService;
+        this.userRepository = userRepository;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    @GetMapping("/{sectionId}/enrollment")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SectionEnrollmentDTO> getStatus(@PathVariable Long sectionId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(enrollmentService.getStatus(u.getId(), sectionId));
+    }
+
+    // Moves the caller's course enrollment into the section, or joins its waitlist when full.
+    // The course itself is bought through an order; this never creates an enrollment.
+    @PostMapping("/{sectionId}/enrollment")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SectionEnrollmentDTO> enroll(@PathVariable Long sectionId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(enrollmentService.enroll(u.getId(), sectionId));
+    }
+
+    // Leaves the section (the course enrollment stays) or its waitlist.
+    // POST rather than DELETE: DELETE under /api is reserved for super admins
+    @PostMapping("/{sectionId}/enrollment/drop")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SectionEnrollmentDTO> drop(@PathVariable Long sectionId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(enrollmentService.drop(u.getId(), sectionId));
+    }
+}
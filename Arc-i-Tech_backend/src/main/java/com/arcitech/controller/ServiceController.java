@@ -1,49 +1,87 @@
 package com.arcitech.controller;
 
 import com.arcitech.dto.ServiceDTO;
-import com.arcitech.model.ServiceEntity;
-import com.arcitech.repository.ServiceRepository;
+import com.arcitech.service.ServiceCatalogSnapshotService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/services")
 public class ServiceController {
 
-    private final ServiceRepository serviceRepository;
+    private static final CacheControl CATALOG_CACHE = CacheControl.maxAge(60, TimeUnit.SECONDS)
+            .cachePublic()
+            .staleWhileRevalidate(300, TimeUnit.SECONDS);
 
-    public ServiceController(ServiceRepository serviceRepository) {
-        this.serviceRepository = serviceRepository;
+    private final ServiceCatalogSnapshotService catalogService;
+
+    public ServiceController(ServiceCatalogSnapshotService catalogService) {
+        this.catalogService = catalogService;
     }
 
-    @GetMapping
-    public ResponseEntity<List<ServiceDTO>> listServices() {
-        List<ServiceDTO> list = serviceRepository.findAll().stream().map(s -> ServiceDTO.builder()
-                .id(s.getId())
-                .name(s.getName())
-                .description(s.getDescription())
-                .category(s.getCategory())
-                .build()).collect(Collectors.toList());
-        return ResponseEntity.ok(list);
+    // Public catalog: pre-serialized snapshot bytes, gzip when accepted, 304 on a matching ETag
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listServices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ServiceCatalogSnapshotService.Snapshot snapshot = catalogService.getSnapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CATALOG_CACHE)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CATALOG_CACHE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(snapshot.gzip().length)
+                    .body(snapshot.gzip());
+        }
+        return response.contentLength(snapshot.json().length).body(snapshot.json());
     }
 
     @PostMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','SUB_ADMIN')")
     public ResponseEntity<ServiceDTO> createService(@Valid @RequestBody ServiceDTO dto) {
-        ServiceEntity s = ServiceEntity.builder()
-                .name(dto.getName())
-                .description(dto.getDescription())
-                .category(dto.getCategory())
-                .createdAt(LocalDateTime.now())
-                .build();
-        s = serviceRepository.save(s);
-        dto.setId(s.getId());
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok(catalogService.createService(dto));
+    }
+
+    // True unless gzip is absent or explicitly refused with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) continue;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        if (Double.parseDouble(param.substring(2)) <= 0) return false;
+                    } catch (NumberFormatException ignored) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
     }
 }
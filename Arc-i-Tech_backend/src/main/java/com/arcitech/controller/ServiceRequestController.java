@@ -1,6 +1,10 @@
 package com.arcitech.controller;
 
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.ServiceRequestBatchResultDTO;
 import com.arcitech.dto.ServiceRequestDTO;
+import com.arcitech.dto.ServiceRequestDecisionDTO;
+import com.arcitech.dto.ServiceRequestQueueItemDTO;
 import com.arcitech.dto.TimelineDTO;
 import com.arcitech.model.User;
 import com.arcitech.repository.UserRepository;
@@ -54,6 +58,45 @@ public class ServiceRequestController {
         return ResponseEntity.ok(requestService.getPendingRequests());
     }
 
+    // Paginated approval queue; scope UNCLAIMED hides items other admins are working on
+    @GetMapping("/queue")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<CursorPageDTO<ServiceRequestQueueItemDTO>> queue(
+            @RequestParam(defaultValue = "ALL") ServiceRequestService.QueueScope scope,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(requestService.getQueue(u.getId(), scope, cursor, size));
+    }
+
+    // Lease the given ids, or the oldest `count` unclaimed items; returns everything the caller holds
+    @PostMapping("/queue/claim")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<List<ServiceRequestQueueItemDTO>> claim(@RequestBody(required = false) List<Long> ids,
+                                                                  @RequestParam(defaultValue = "10") int count) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(requestService.claim(u.getId(), ids, count));
+    }
+
+    @PostMapping("/queue/release")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<Integer> release(@RequestBody List<Long> ids) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(requestService.release(u.getId(), ids));
+    }
+
+    // Approve or reject many requests in one transaction
+    @PostMapping("/decisions")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<ServiceRequestBatchResultDTO> decide(@Valid @RequestBody ServiceRequestDecisionDTO dto) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(requestService.decide(dto.getIds(), u.getId(), dto.getApprove(), dto.getNote()));
+    }
+
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
     public ResponseEntity<ServiceRequestDTO> approve(@PathVariable Long id, @RequestParam boolean approve) {
@@ -64,7 +107,8 @@ public class ServiceRequestController {
 
     @GetMapping("/{id}/timeline")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<TimelineDTO>> timeline(@PathVariable Long id) {
-        return ResponseEntity.ok(requestService.getTimeline(id));
+    public ResponseEntity<List<TimelineDTO>> timeline(@PathVariable Long id,
+                                                      @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(requestService.getTimeline(id, includeArchived));
     }
 }
@@ -0,0 +1,25 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.SlaStatusDTO;
+import com.arcitech.service.SlaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/management/sla")
+public class SlaController {
+
+    private final SlaService slaService;
+
+    public SlaController(SlaService slaService) {
+        this.slaService = slaService;
+    }
+
+    // Active SLA clocks and configured limits
+    @GetMapping
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<SlaStatusDTO> getStatus() {
+        return ResponseEntity.ok(slaService.getStatus());
+    }
+}
@@ -0,0 +1,66 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.TaskTreeNodeDTO;
+import com.arcitech.dto.TaskTreeRequest;
+import com.arcitech.service.TaskTreeService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/tasks/tree")
+public class TaskTreeController {
+
+    private final TaskTreeService taskTreeService;
+
+    public TaskTreeController(TaskTreeService taskTreeService) {
+        this.taskTreeService = taskTreeService;
+    }
+
+    // Whole task hierarchy of a project with rolled-up progress per subtree
+    @GetMapping
+    @PreAuthorize("hasAnyRole('CUSTOMER','DEVELOPER','SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<List<TaskTreeNodeDTO>> getTree(@PathVariable Long projectId) {
+        return ResponseEntity.ok(taskTreeService.getTree(projectId));
+    }
+
+    @GetMapping("/{taskId}")
+    @PreAuthorize("hasAnyRole('CUSTOMER','DEVELOPER','SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<TaskTreeNodeDTO> getSubtree(@PathVariable Long projectId, @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskTreeService.getSubtree(projectId, taskId));
+    }
+
+    @GetMapping("/{taskId}/ancestors")
+    @PreAuthorize("hasAnyRole('CUSTOMER','DEVELOPER','SUPER_ADMIN','SUB_ADMIN')")
+    public ResponseEntity<List<TaskTreeNodeDTO>> getAncestors(@PathVariable Long projectId, @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskTreeService.getAncestors(projectId, taskId));
+    }
+
+    // Create a task, optionally as a sub-task of parentTaskId
+    @PostMapping
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<TaskTreeNodeDTO> createTask(@PathVariable Long projectId,
+                                                      @Valid @RequestBody TaskTreeRequest request) {
+        return ResponseEntity.ok(taskTreeService.createTask(projectId, request));
+    }
+
+    // Move a task and its subtree; omit parentTaskId to make it a top-level task
+    @PutMapping("/{taskId}/parent")
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<TaskTreeNodeDTO> moveTask(@PathVariable Long projectId,
+                                                    @PathVariable Long taskId,
+                                                    @RequestParam(required = false) Long parentTaskId) {
+        return ResponseEntity.ok(taskTreeService.moveTask(projectId, taskId, parentTaskId));
+    }
+
+    @PutMapping("/{taskId}/status/{status}")
+    @PreAuthorize("hasAnyRole('DEVELOPER','SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<TaskTreeNodeDTO> updateStatus(@PathVariable Long projectId,
+                                                        @PathVariable Long taskId,
+                                                        @PathVariable String status) {
+        return ResponseEntity.ok(taskTreeService.updateStatus(projectId, taskId, status));
+    }
+}
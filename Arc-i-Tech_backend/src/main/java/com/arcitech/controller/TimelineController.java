@@ -0,0 +1,30 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.TimelineDTO;
+import com.arcitech.model.TimelineEvent;
+import com.arcitech.service.TimelineService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timeline")
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    public TimelineController(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    // Timeline of any subject (SERVICE_REQUEST, PROJECT, INQUIRY, ORDER), oldest first
+    @GetMapping("/{subjectType}/{subjectId}")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<List<TimelineDTO>> getTimeline(@PathVariable TimelineEvent.SubjectType subjectType,
+                                                         @PathVariable Long subjectId,
+                                                         @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(timelineService.getTimeline(subjectType, subjectId, includeArchived));
+    }
+}
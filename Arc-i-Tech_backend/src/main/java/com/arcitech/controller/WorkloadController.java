@@ -0,0 +1,49 @@
+package com.arcitech.controller;
+
+import com.arcitech.dto.TeamWorkloadDTO;
+import com.arcitech.dto.WorkloadDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.WorkloadService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+public class WorkloadController {
+
+    private final WorkloadService workloadService;
+    private final UserRepository userRepository;
+
+    public WorkloadController(WorkloadService workloadService, UserRepository userRepository) {
+        this.workloadService = workloadService;
+        this.userRepository = userRepository;
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) return null;
+        return userRepository.findByEmail(auth.getName()).orElse(null);
+    }
+
+    // Open work of one user across projects; users may only see their own unless they are managers
+    @GetMapping("/{userId}/workload")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<WorkloadDTO> getWorkload(@PathVariable Long userId) {
+        User u = currentUser();
+        if (u == null) return ResponseEntity.status(401).build();
+        boolean manager = u.getRole() == User.Role.SUB_ADMIN || u.getRole() == User.Role.ADMIN
+                || u.getRole() == User.Role.SUPER_ADMIN;
+        if (!manager && !u.getId().equals(userId)) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(workloadService.getUserWorkload(userId));
+    }
+
+    // Team-wide view for balancing load, one aggregate pass over every member of the role
+    @GetMapping("/workload")
+    @PreAuthorize("hasAnyRole('SUB_ADMIN','ADMIN','SUPER_ADMIN')")
+    public ResponseEntity<TeamWorkloadDTO> getTeamWorkload(@RequestParam(defaultValue = "DEVELOPER") User.Role role) {
+        return ResponseEntity.ok(workloadService.getTeamWorkload(role));
+    }
+}
@@ -0,0 +1,38 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk task import. Rows that failed validation are reported individually
+ * and skipped; all other rows are saved.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskResultDTO {
+    private int received;
+    private int created;
+    private int updated;
+    private int failed;
+
+    @Builder.Default
+    private List<Long> taskIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based position in the submitted array / CSV data rows
+        private int row;
+        private String message;
+    }
+}
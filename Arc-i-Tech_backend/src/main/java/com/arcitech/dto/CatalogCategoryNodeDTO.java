@@ -0,0 +1,22 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogCategoryNodeDTO {
+    private Integer categoryId;
+    private String name;
+    private String description;
+    // Public items in this category or any category below it
+    private long itemCount;
+
+    @Builder.Default
+    private List<CatalogCategoryNodeDTO> children = new ArrayList<>();
+}
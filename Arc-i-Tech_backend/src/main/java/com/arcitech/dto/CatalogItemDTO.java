@@ -0,0 +1,27 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One entry of the unified catalog. {@code source} tells which table it comes from
+ * (SERVICE, CATALOG or OFFERING) and {@code sourceId} is its id there.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogItemDTO {
+    private String source;
+    private Long sourceId;
+    private String name;
+    private String description;
+    private String type;
+    private BigDecimal price;
+    private boolean featured;
+    private String icon;
+    private List<Integer> categoryIds;
+}
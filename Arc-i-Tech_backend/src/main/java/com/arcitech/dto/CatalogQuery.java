@@ -0,0 +1,26 @@
+package com.arcitech.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Criteria for the unified catalog search. Null fields do not filter.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CatalogQuery {
+    Integer categoryId;
+    String type;
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+    Boolean featured;
+    String text;
+    @Builder.Default
+    Sort sort = Sort.FEATURED;
+    int page;
+    int size;
+
+    public enum Sort { FEATURED, NAME, PRICE_ASC, PRICE_DESC }
+}
@@ -0,0 +1,37 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of catalog search results with facet counts. Each facet is counted with every
+ * filter applied except its own, so the counts show what selecting a value would return.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogSearchResultDTO {
+    private long total;
+    private int page;
+    private int size;
+    private List<CatalogItemDTO> items;
+
+    private Map<String, Long> typeCounts;
+    // Child categories of the selected category (top-level categories when none is selected)
+    private List<CategoryCount> categoryCounts;
+    private Map<String, Long> priceRangeCounts;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryCount {
+        private Integer categoryId;
+        private String name;
+        private long count;
+    }
+}
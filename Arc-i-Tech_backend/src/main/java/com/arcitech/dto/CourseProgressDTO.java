@@ -0,0 +1,19 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseProgressDTO {
+    private Long courseId;
+    private Long enrollmentId;
+    private List<Long> completedLessonIds;
+    private int completedLessons;
+    private int totalLessons;
+    private double percentComplete;
+}
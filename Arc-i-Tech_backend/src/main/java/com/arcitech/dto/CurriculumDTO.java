@@ -0,0 +1,53 @@
+package com.arcitech.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Outline of one course: modules with their lessons (titles only; lesson bodies are
+ * fetched separately) and the course's sections. Immutable, so one instance is shared
+ * by every request for the same course version.
+ */
+@Value
+@Builder
+public class CurriculumDTO {
+    Long courseId;
+    Long serviceId;
+    String title;
+    String description;
+    long version;
+    List<Module> modules;
+    List<Section> sections;
+
+    @Value
+    @Builder
+    public static class Module {
+        Long moduleId;
+        String title;
+        Integer orderIndex;
+        List<Lesson> lessons;
+    }
+
+    @Value
+    @Builder
+    public static class Lesson {
+        Long lessonId;
+        String title;
+        Integer orderIndex;
+        boolean hasVideo;
+    }
+
+    @Value
+    @Builder
+    public static class Section {
+        Long sectionId;
+        Long tutorUserId;
+        String scheduleInfo;
+        Integer maxStudents;
+        LocalDate startDate;
+        LocalDate endDate;
+    }
+}
@@ -0,0 +1,22 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page;
+ * {@code size} is the page size that was applied (the request's size after clamping),
+ * not the number of items, which can be smaller on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+    private int size;
+    private long totalCount;
+}
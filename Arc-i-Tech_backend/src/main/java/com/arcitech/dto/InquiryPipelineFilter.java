@@ -0,0 +1,23 @@
+package com.arcitech.dto;
+
+import com.arcitech.model.Inquiry;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria for the inquiry/lead pipeline listing. Immutable so it can be used as
+ * a cache key for the total-count query.
+ */
+@Value
+@Builder
+public class InquiryPipelineFilter {
+    Inquiry.Status status;
+    String leadStatus;
+    Long assignedToUserId;
+    String source;
+    String email;
+    LocalDate createdFrom;
+    LocalDate createdTo;
+}
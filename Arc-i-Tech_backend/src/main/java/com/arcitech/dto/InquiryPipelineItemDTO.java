@@ -0,0 +1,26 @@
+package com.arcitech.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryPipelineItemDTO {
+    private Long inquiryId;
+    private String fullName;
+    private String email;
+    private String company;
+    private String source;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean slaBreached;
+
+    // Lead created from the inquiry, if any
+    private Long leadId;
+    private String leadStatus;
+    private Long assignedToUserId;
+}
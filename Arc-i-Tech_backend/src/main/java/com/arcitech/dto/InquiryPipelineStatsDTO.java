@@ -0,0 +1,43 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Funnel statistics for a date range, computed from the daily stage rollups.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryPipelineStatsDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private List<StageStats> stages;
+
+    // e.g. "NEW->IN_DISCUSSION" -> 0.42; null when the earlier stage saw no inquiries
+    private Map<String, Double> conversionRates;
+
+    // WON / (WON + LOST) within the range
+    private Double winRate;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StageStats {
+        private String stage;
+        private long entered;
+        private long exited;
+        // Inquiries in the stage right now (not limited to the range)
+        private long current;
+        // Median time spent in the stage by inquiries that left it within the range
+        private Double medianHoursInStage;
+        private long measuredExits;
+    }
+}
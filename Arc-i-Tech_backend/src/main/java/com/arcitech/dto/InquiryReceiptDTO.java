@@ -0,0 +1,17 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+/**
+ * Response to a contact-form submission. The inquiry is stored asynchronously, so
+ * there is no id yet.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryReceiptDTO {
+    private String status;
+    private String message;
+}
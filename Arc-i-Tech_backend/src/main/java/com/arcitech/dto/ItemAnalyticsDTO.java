@@ -0,0 +1,52 @@
+package com.arcitech.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Item statistics of one question in one quiz, with per-option distractor statistics and
+ * review flags (TOO_EASY, TOO_HARD, LOW_DISCRIMINATION, NEGATIVE_DISCRIMINATION,
+ * STRONG_DISTRACTOR). Flags are only raised once enough takers answered the question.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemAnalyticsDTO {
+    private Long quizId;
+    private Long questionId;
+    private String questionText;
+    private String topic;
+    private long respondents;
+    private long correct;
+    private long omitted;
+    @JsonProperty("pValue")
+    private Double pValue;
+    private Double discrimination;
+    private Double meanScore;
+    private LocalDateTime computedAt;
+
+    @Builder.Default
+    private List<String> flags = new ArrayList<>();
+    @Builder.Default
+    private List<OptionStats> options = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OptionStats {
+        private Long answerOptionId;
+        private String answerText;
+        private Boolean correct;
+        private long selections;
+        private Double selectionRate;
+        private Double meanScore;
+    }
+}
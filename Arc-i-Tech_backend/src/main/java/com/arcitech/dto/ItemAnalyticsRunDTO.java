@@ -0,0 +1,20 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemAnalyticsRunDTO {
+    private boolean started;
+    private long answerRows;
+    private long responses;
+    private int items;
+    private int options;
+    private long durationMs;
+    private LocalDateTime computedAt;
+}
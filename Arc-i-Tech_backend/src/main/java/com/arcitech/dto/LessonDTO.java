@@ -0,0 +1,18 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LessonDTO {
+    private Long lessonId;
+    private Long moduleId;
+    private Long courseId;
+    private String title;
+    private Integer orderIndex;
+    private String videoUrl;
+    private String content;
+}
@@ -0,0 +1,24 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * What an order created, flattened across instance types: the course for an enrollment,
+ * the mentor and slot for an appointment, the project, or the internship program.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderInstanceDTO {
+    private String type;
+    private Long id;
+    private String title;
+    private String status;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private String detail;
+}
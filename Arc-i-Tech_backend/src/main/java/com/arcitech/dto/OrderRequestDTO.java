@@ -0,0 +1,38 @@
+package com.arcitech.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order placement request. Only the fields for the ordered service's type are used:
+ * sectionId for courses, mentor/start/end/notes for mentorship appointments,
+ * projectName/projectSummary for projects and applicationData for internships.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderRequestDTO {
+    @NotNull
+    private Long serviceId;
+
+    private Long sectionId;
+
+    private Long mentorUserId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    @Size(max = 2000)
+    private String notes;
+
+    @Size(max = 255)
+    private String projectName;
+    @Size(max = 500)
+    private String projectSummary;
+
+    // JSON document stored as-is on the internship application
+    private String applicationData;
+}
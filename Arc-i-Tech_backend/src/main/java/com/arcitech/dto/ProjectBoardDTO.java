@@ -0,0 +1,28 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kanban board of a project. A full snapshot carries every column; a delta (requested
+ * with ?since=version) only carries the tasks that changed after that version.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectBoardDTO {
+    private Long projectId;
+    private long version;
+    private boolean fullSnapshot;
+
+    // Full snapshot: tasks per status, in board order
+    private Map<String, List<TaskDTO>> columns;
+
+    // Delta: tasks created or changed since the requested version
+    private Long sinceVersion;
+    private List<TaskDTO> changedTasks;
+}
@@ -2,6 +2,7 @@ package com.arcitech.dto;
 
 import lombok.Data;
 import java.util.List;
+import java.util.Map;
 
 @Data
 public class ProjectDTO {
@@ -13,4 +14,5 @@ public class ProjectDTO {
     private boolean highlighted;
     private String clientName;
     private List<TaskDTO> tasks;
+    private Map<String, Long> taskStatusCounts;
 }
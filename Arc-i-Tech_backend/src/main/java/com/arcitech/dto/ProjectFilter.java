@@ -0,0 +1,24 @@
+package com.arcitech.dto;
+
+import com.arcitech.model.Project;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria for the project listing. Immutable so it can be used as a cache key
+ * for the total-count query.
+ */
+@Value
+@Builder
+public class ProjectFilter {
+    Project.Status status;
+    Long clientId;
+    Long ownerId;
+    Boolean highlighted;
+    LocalDate createdFrom;
+    LocalDate createdTo;
+
+    public enum SortField { ID, NAME, CREATED_AT }
+}
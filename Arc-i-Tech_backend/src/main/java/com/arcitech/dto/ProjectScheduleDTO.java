@@ -0,0 +1,21 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectScheduleDTO {
+    private Long projectId;
+    private LocalDate projectStart;
+    private LocalDate projectFinish;
+    private int durationDays;
+    private List<Long> topologicalOrder;
+    private List<Long> criticalPath;
+    private List<TaskScheduleDTO> tasks;
+}
@@ -0,0 +1,51 @@
+package com.arcitech.dto;
+
+import com.arcitech.model.Project;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight projection used by the project listing. Populated directly by a JPQL
+ * constructor expression so only the listed columns are selected.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectSummaryDTO {
+    private Long id;
+    private String name;
+    private String summary;
+    private Integer progressPercentage;
+    private String status;
+    private boolean highlighted;
+    private Long clientId;
+    private String clientName;
+    private Long ownerId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Only populated when the caller asks for them (includeTasks / includeTaskCounts)
+    private List<TaskDTO> tasks;
+    private Map<String, Long> taskStatusCounts;
+
+    public ProjectSummaryDTO(Long id, String name, String summary, Integer progressPercentage,
+                             Project.Status status, boolean highlighted, Long clientId, String clientName,
+                             Long ownerId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.summary = summary;
+        this.progressPercentage = progressPercentage;
+        this.status = status != null ? status.name() : null;
+        this.highlighted = highlighted;
+        this.clientId = clientId;
+        this.clientName = clientName;
+        this.ownerId = ownerId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+/**
+ * One user's open work in a single project. Project tasks and intern assignments
+ * are reported as separate rows (source PROJECT_TASK / INTERN_ASSIGNMENT).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectWorkloadDTO {
+    private Long projectId;
+    private String projectName;
+    private String source;
+    private WorkloadCountsDTO counts;
+}
@@ -0,0 +1,15 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionBankItemDTO {
+    private Long questionId;
+    private String questionText;
+    private String questionType;
+    private String topic;
+}
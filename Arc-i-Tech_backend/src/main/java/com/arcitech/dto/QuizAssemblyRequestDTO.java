@@ -0,0 +1,36 @@
+package com.arcitech.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request to generate a quiz from the question bank: how many questions to draw from
+ * each topic, optionally restricted to one question type. A seed makes the draw
+ * repeatable.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAssemblyRequestDTO {
+    @NotBlank
+    private String title;
+    private Long serviceId;
+    private Integer timeLimitMinutes;
+
+    @NotEmpty
+    @Builder.Default
+    private Map<String, Integer> topicQuotas = new LinkedHashMap<>();
+
+    private String questionType;
+    private Long seed;
+
+    // Interleave topics instead of keeping each topic's questions together
+    @Builder.Default
+    private boolean shuffle = true;
+}
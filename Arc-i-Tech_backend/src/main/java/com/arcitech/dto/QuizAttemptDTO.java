@@ -0,0 +1,21 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAttemptDTO {
+    private Long attemptId;
+    private Long quizId;
+    private Long userId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Double finalScore;
+    // Present when the attempt was just started
+    private QuizDTO quiz;
+}
@@ -0,0 +1,43 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A quiz as shown to a taker: questions and options without correctness.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizDTO {
+    private Long quizId;
+    private Long serviceId;
+    private String title;
+    private Integer timeLimitMinutes;
+    private List<Question> questions;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Question {
+        private Long questionId;
+        private String questionText;
+        private String questionType;
+        private String topic;
+        private List<Option> options;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Option {
+        private Long answerOptionId;
+        private String answerText;
+    }
+}
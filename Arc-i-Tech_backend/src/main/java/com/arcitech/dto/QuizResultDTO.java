@@ -0,0 +1,38 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Graded attempt. The score is the percentage of auto-graded (choice) questions answered
+ * correctly; free-text questions are stored ungraded and do not count.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizResultDTO {
+    private Long attemptId;
+    private Long quizId;
+    private double finalScore;
+    private int correct;
+    private int graded;
+    private int totalQuestions;
+    private LocalDateTime submittedAt;
+    private List<QuestionResult> questions;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuestionResult {
+        private Long questionId;
+        // null for free-text questions
+        private Boolean correct;
+        private List<Long> selectedOptionIds;
+        private List<Long> correctOptionIds;
+    }
+}
@@ -0,0 +1,24 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Live state of an open attempt: its deadline (null when untimed) and the answers saved
+ * so far, so a taker can resume after a reload.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSessionDTO {
+    private Long attemptId;
+    private Long quizId;
+    private LocalDateTime startTime;
+    private LocalDateTime deadline;
+    private Long remainingSeconds;
+    private List<QuizSubmissionDTO.Answer> answers;
+}
@@ -0,0 +1,35 @@
+package com.arcitech.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers of one attempt. Choice questions list the selected option ids; free-text
+ * questions carry the text. Unanswered questions may be left out.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSubmissionDTO {
+    @Valid
+    @NotNull
+    @Builder.Default
+    private List<Answer> answers = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Answer {
+        @NotNull
+        private Long questionId;
+        private List<Long> optionIds;
+        private String freeText;
+    }
+}
@@ -0,0 +1,19 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SectionEnrollmentDTO {
+    private Long sectionId;
+    private Long courseId;
+    // ENROLLED, WAITLISTED or NONE
+    private String status;
+    private Long enrollmentId;
+    private Long waitlistPosition;
+    private int seatsTaken;
+    private Integer maxStudents;
+}
@@ -0,0 +1,32 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SectionProgressDTO {
+    private Long sectionId;
+    private Long courseId;
+    private int totalLessons;
+    private double averagePercentComplete;
+    private List<Learner> learners;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Learner {
+        private Long enrollmentId;
+        private Long userId;
+        private String fullName;
+        private String email;
+        private int completedLessons;
+        private double percentComplete;
+    }
+}
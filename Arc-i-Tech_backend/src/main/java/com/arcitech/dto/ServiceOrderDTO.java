@@ -0,0 +1,26 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceOrderDTO {
+    private Long orderId;
+    private Long userId;
+    private Long serviceId;
+    private String serviceName;
+    private String serviceType;
+    private String orderStatus;
+    private BigDecimal priceAtPurchase;
+    private LocalDateTime createdAt;
+    private String instanceType;
+    private Long instanceId;
+    // Filled in by order history; null when the instance no longer exists
+    private OrderInstanceDTO instance;
+}
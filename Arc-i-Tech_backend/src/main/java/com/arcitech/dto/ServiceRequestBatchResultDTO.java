@@ -0,0 +1,35 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch approve/reject. Requests that could not be decided are listed
+ * in {@code errors}; the others are committed together.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceRequestBatchResultDTO {
+    private int requested;
+    private String decision;
+
+    @Builder.Default
+    private List<Long> decidedIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<ItemError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemError {
+        private Long id;
+        private String message;
+    }
+}
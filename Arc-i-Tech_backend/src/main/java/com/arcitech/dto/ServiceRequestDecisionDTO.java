@@ -0,0 +1,23 @@
+package com.arcitech.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceRequestDecisionDTO {
+    @NotEmpty
+    private List<Long> ids;
+
+    @NotNull
+    private Boolean approve;
+
+    // Optional reason, added to each timeline entry
+    private String note;
+}
@@ -0,0 +1,24 @@
+package com.arcitech.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceRequestQueueItemDTO {
+    private Long id;
+    private Long userId;
+    private String userName;
+    private String userEmail;
+    private Long serviceId;
+    private String serviceName;
+    private String status;
+    private String details;
+    private LocalDateTime requestedAt;
+    private Long claimedById;
+    private String claimedByName;
+    private LocalDateTime claimExpiresAt;
+}
@@ -0,0 +1,18 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlaStatusDTO {
+    private int activeTimers;
+    private long escalatedSinceStart;
+    private boolean rebuilt;
+    // Configured limits, e.g. "SERVICE_REQUEST:PENDING" -> "24h"
+    private Map<String, String> limits;
+}
@@ -0,0 +1,11 @@
+package com.arcitech.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class TaskDatesDTO {
+    private LocalDate startDate;
+    private LocalDate dueDate;
+}
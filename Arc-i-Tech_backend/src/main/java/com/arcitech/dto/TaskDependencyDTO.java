@@ -0,0 +1,13 @@
+package com.arcitech.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class TaskDependencyDTO {
+    @NotNull
+    private Long predecessorTaskId;
+    @NotNull
+    private Long successorTaskId;
+    private String dependencyType;
+}
@@ -0,0 +1,35 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One task in the sub-task hierarchy, with progress rolled up over its whole subtree
+ * (the task itself included).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTreeNodeDTO {
+    private Long taskId;
+    private Long parentTaskId;
+    private String title;
+    private String status;
+    private String priority;
+    private Long assigneeUserId;
+    private LocalDate startDate;
+    private LocalDate dueDate;
+    private int depth;
+
+    private int subtreeTasks;
+    private int subtreeDoneTasks;
+    private int percentDone;
+
+    @Builder.Default
+    private List<TaskTreeNodeDTO> children = new ArrayList<>();
+}
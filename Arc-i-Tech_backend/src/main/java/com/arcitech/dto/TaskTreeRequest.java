@@ -0,0 +1,20 @@
+package com.arcitech.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class TaskTreeRequest {
+    private Long parentTaskId;
+    @NotBlank
+    private String title;
+    private String description;
+    private Long milestoneId;
+    private Long assigneeUserId;
+    private String status;
+    private String priority;
+    private LocalDate startDate;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,20 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Workload of every developer (plus anyone holding intern assignments), busiest first.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamWorkloadDTO {
+    private List<WorkloadDTO> members;
+    private int dueSoonDays;
+    private LocalDateTime generatedAt;
+}
@@ -10,8 +10,12 @@ import java.time.LocalDateTime;
 @Builder
 public class TimelineDTO {
     private Long id;
+    private String subjectType;
+    private Long subjectId;
+    // Same as subjectId for service request timelines; kept for existing clients
     private Long serviceRequestId;
     private String event;
     private String details;
+    private Long actorUserId;
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,35 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VideoManifestDTO {
+    private Long lessonId;
+    private String contentType;
+    private long totalBytes;
+    // Byte-range endpoint for the whole file; always usable
+    private String streamUrl;
+    // False until the segmenting job has processed the current upload; segments is then empty
+    private boolean segmented;
+    private String version;
+    private int segmentBytes;
+    private List<Segment> segments;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Segment {
+        private int index;
+        private long offset;
+        private long length;
+        private String url;
+    }
+}
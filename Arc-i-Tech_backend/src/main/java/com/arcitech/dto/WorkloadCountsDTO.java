@@ -0,0 +1,28 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Open-work counters: totals, due windows (overdue / due within the window / no due
+ * date) and breakdowns by priority and status.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkloadCountsDTO {
+    private long openTasks;
+    private long overdue;
+    private long dueSoon;
+    private long noDueDate;
+
+    @Builder.Default
+    private Map<String, Long> byPriority = new LinkedHashMap<>();
+
+    @Builder.Default
+    private Map<String, Long> byStatus = new LinkedHashMap<>();
+}
@@ -0,0 +1,29 @@
+package com.arcitech.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkloadDTO {
+    private Long userId;
+    private String fullName;
+    private String email;
+    private String role;
+
+    // Across all projects and both sources
+    private WorkloadCountsDTO totals;
+
+    // Per-project breakdown; left empty in the team view
+    @Builder.Default
+    private List<ProjectWorkloadDTO> projects = new ArrayList<>();
+
+    private int dueSoonDays;
+    private LocalDateTime generatedAt;
+}
@@ -22,4 +22,8 @@ public class Course {
 
     @Column(columnDefinition = "text")
     private String description;
+
+    // Bumped whenever modules, lessons or sections change; keys the cached curriculum tree
+    @Column(nullable = false)
+    private long curriculumVersion;
 }
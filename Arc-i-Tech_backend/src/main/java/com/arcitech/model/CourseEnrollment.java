@@ -26,5 +26,12 @@ public class CourseEnrollment {
     @Column(columnDefinition = "json")
     private String progress;
 
+    // Completed lessons by progressOrdinal, see LessonBitmap; progressVersion guards concurrent updates
+    @Column(columnDefinition = "varbinary(8193)")
+    private byte[] completedLessons;
+
+    @Column(nullable = false)
+    private int progressVersion;
+
     private String grade;
 }
@@ -25,4 +25,7 @@ public class CourseLesson {
 
     private String videoUrl;
     private Integer orderIndex;
+
+    // Stable position of the lesson in progress bitmaps; assigned on first use, never reused
+    private Integer progressOrdinal;
 }
@@ -24,6 +24,10 @@ public class CourseSection {
     private String scheduleInfo;
 
     private Integer maxStudents;
+
+    // Seats taken; only changed through conditional updates in CourseSectionRepository
+    @Column(nullable = false)
+    private int enrolledCount;
     private LocalDate startDate;
     private LocalDate endDate;
 }
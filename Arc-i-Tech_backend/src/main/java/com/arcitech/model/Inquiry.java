@@ -14,8 +14,12 @@ import java.time.LocalDateTime;
 @Builder
 public class Inquiry {
 
+    // Pooled table ids so queued contact-form submissions are inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inquiry_ids")
+    @TableGenerator(name = "inquiry_ids", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "inquiries", allocationSize = 50)
     private Long inquiryId;
 
     private String fullName;
@@ -34,6 +38,9 @@ public class Inquiry {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Set once the SLA of the current status has been escalated; cleared on status change
+    private LocalDateTime slaEscalatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
@@ -0,0 +1,42 @@
+package com.arcitech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of the inquiry pipeline: how many inquiries entered and left each stage
+ * (Inquiry.Status) on a given day. Written incrementally on every status change, so
+ * funnel statistics never scan the inquiries table.
+ */
+@Entity
+@Table(name = "inquiry_stage_daily")
+@IdClass(InquiryStageDaily.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryStageDaily {
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(length = 32)
+    private String stage;
+
+    private long entered;
+    private long exited;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private String stage;
+    }
+}
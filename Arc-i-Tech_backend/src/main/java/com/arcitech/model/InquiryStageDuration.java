@@ -0,0 +1,45 @@
+package com.arcitech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Daily histogram of time spent in a stage, counted on the day inquiries left it.
+ * Buckets are quarter-octaves of minutes (bucket = floor(4 * log2(1 + minutes))), which
+ * is enough to estimate medians within about 20%.
+ */
+@Entity
+@Table(name = "inquiry_stage_duration_daily")
+@IdClass(InquiryStageDuration.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryStageDuration {
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(length = 32)
+    private String stage;
+
+    @Id
+    private int bucket;
+
+    private long exits;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private String stage;
+        private int bucket;
+    }
+}
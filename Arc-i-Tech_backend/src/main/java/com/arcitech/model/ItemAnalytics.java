@@ -0,0 +1,52 @@
+package com.arcitech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Classical item statistics of one question within one quiz, computed from submitted
+ * attempts by ItemAnalyticsService. Replaced wholesale on every run.
+ */
+@Entity
+@Table(name = "item_analytics")
+@IdClass(ItemAnalytics.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemAnalytics {
+    @Id
+    private Long quizId;
+
+    @Id
+    private Long questionId;
+
+    // Attempts that contained the question (graded ones only)
+    private long respondents;
+    private long correct;
+    private long omitted;
+
+    // Share of respondents answering correctly; higher means easier
+    private Double pValue;
+
+    // Point-biserial correlation between item correctness and attempt score
+    private Double discrimination;
+
+    private Double meanScore;
+
+    private LocalDateTime computedAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long quizId;
+        private Long questionId;
+    }
+}
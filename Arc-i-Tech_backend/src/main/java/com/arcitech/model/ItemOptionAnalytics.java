@@ -0,0 +1,45 @@
+package com.arcitech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * How often each option of a question was chosen within a quiz and by whom (mean attempt
+ * score of the takers who chose it). Distractors that attract strong takers show up here.
+ */
+@Entity
+@Table(name = "item_option_analytics")
+@IdClass(ItemOptionAnalytics.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemOptionAnalytics {
+    @Id
+    private Long quizId;
+
+    @Id
+    private Long questionId;
+
+    @Id
+    private Long answerOptionId;
+
+    private long selections;
+    private Double selectionRate;
+    private Double meanScore;
+    private Boolean isCorrect;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long quizId;
+        private Long questionId;
+        private Long answerOptionId;
+    }
+}
@@ -94,6 +94,13 @@ public class Project {
         this.owner = owner;
     }
 
+    // created_at is NOT NULL so keyset pagination on it never has to deal with null keys
+    @PrePersist
+    void onCreate() {
+        if (this.createdAt == null) this.createdAt = LocalDateTime.now();
+        if (this.updatedAt == null) this.updatedAt = this.createdAt;
+    }
+
     @Transient
     public Long getClientId() {
         return this.client != null ? this.client.getId() : null;
@@ -0,0 +1,41 @@
+package com.arcitech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running completion counters for one project. Task and milestone status transitions
+ * apply deltas to this row so progress never has to be recounted on read.
+ */
+@Entity
+@Table(name = "project_progress")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectProgress {
+    @Id
+    private Long projectId;
+
+    // Project tasks and hierarchical tasks both count as tasks
+    private long totalTasks;
+    private long doneTasks;
+    private long totalMilestones;
+    private long doneMilestones;
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * Every task and every milestone is one unit of work.
+     */
+    @Transient
+    public int getPercentage() {
+        long units = totalTasks + totalMilestones;
+        if (units <= 0) return 0;
+        long done = Math.max(0, Math.min(doneTasks + doneMilestones, units));
+        return (int) Math.round(done * 100.0 / units);
+    }
+}
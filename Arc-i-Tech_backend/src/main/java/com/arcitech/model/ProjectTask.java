@@ -13,8 +13,13 @@ import java.time.LocalDateTime;
 @Builder
 public class ProjectTask {
 
+    // Table-backed pooled ids instead of IDENTITY: Hibernate cannot batch inserts when
+    // it has to read back an auto-increment key after every row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "project_task_ids")
+    @TableGenerator(name = "project_task_ids", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "project_tasks", allocationSize = 50)
     private Long id;
 
     private String title;
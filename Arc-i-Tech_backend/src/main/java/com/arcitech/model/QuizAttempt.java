@@ -22,4 +22,8 @@ public class QuizAttempt {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private Double finalScore;
+
+    // Autosaved answers of an open attempt (JSON), written in batches by QuizSessionService
+    @Column(columnDefinition = "text")
+    private String draftAnswers;
 }
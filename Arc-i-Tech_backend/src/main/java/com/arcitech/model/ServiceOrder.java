@@ -29,6 +29,11 @@ public class ServiceOrder {
 
     private LocalDateTime createdAt;
 
-    private String instanceType; // polymorphic type
+    private String instanceType; // polymorphic type, an InstanceType name
     private Long instanceId; // polymorphic id
+
+    // What an order creates, chosen from the ordered catalog entry's serviceType
+    public enum InstanceType {
+        COURSE_ENROLLMENT, APPOINTMENT, PROJECT, INTERN_APPLICATION
+    }
 }
@@ -38,6 +38,16 @@ public class ServiceRequest {
 
     private LocalDateTime approvedAt;
 
+    // Approval-queue lease: the admin working on this request until claimExpiresAt
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by_id")
+    private User claimedBy;
+
+    private LocalDateTime claimExpiresAt;
+
+    // Set once the pending-approval SLA has been escalated, so restarts don't escalate again
+    private LocalDateTime slaEscalatedAt;
+
     public enum Status {
         PENDING, APPROVED, REJECTED
     }
@@ -21,6 +21,13 @@ public class Task {
     private Long milestoneId;
     private Long parentTaskId;
 
+    // Materialized path of task ids from the root down to this task, e.g. "/12/40/41/".
+    // Every task in a subtree shares its root's path as prefix.
+    @Column(length = 760)
+    private String path;
+
+    private Integer depth;
+
     @Column(nullable = false)
     private String title;
 
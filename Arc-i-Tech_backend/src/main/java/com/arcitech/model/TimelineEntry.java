@@ -1,30 +0,0 @@
-package com.arcitech.model;
-
-import jakarta.persistence.*;
-import lombok.*;
-
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "service_request_timeline")
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class TimelineEntry {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @ManyToOne(optional = false)
-    @JoinColumn(name = "service_request_id")
-    private ServiceRequest serviceRequest;
-
-    private String event;
-
-    @Lob
-    private String details;
-
-    private LocalDateTime timestamp;
-}
@@ -0,0 +1,57 @@
+package com.arcitech.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of an append-only activity timeline. The subject is referenced by type and
+ * id only, so appending never loads the parent and the same table serves service
+ * requests, projects, inquiries and orders. Rows are never updated; entries older than
+ * the retention window are moved to timeline_events_archive month by month.
+ */
+@Entity
+@Immutable
+@Table(name = "timeline_events")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineEvent {
+
+    // Pooled table ids so appends can go out in JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "timeline_event_ids")
+    @TableGenerator(name = "timeline_event_ids", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "timeline_events", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SubjectType subjectType;
+
+    @Column(nullable = false)
+    private Long subjectId;
+
+    @Column(nullable = false, length = 64)
+    private String event;
+
+    @Column(length = 2000)
+    private String details;
+
+    private Long actorUserId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // yyyyMM of createdAt; archival and any future RANGE partitioning key on it
+    @Column(nullable = false)
+    private Integer monthKey;
+
+    public enum SubjectType {
+        SERVICE_REQUEST, PROJECT, INQUIRY, ORDER
+    }
+}
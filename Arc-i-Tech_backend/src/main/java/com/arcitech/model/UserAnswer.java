@@ -12,7 +12,10 @@ import lombok.*;
 @Builder
 public class UserAnswer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_answer_ids")
+    @TableGenerator(name = "user_answer_ids", table = "id_generators",
+            pkColumnName = "gen_name", valueColumnName = "gen_value",
+            pkColumnValue = "user_answers", allocationSize = 50)
     private Long userAnswerId;
 
     private Long attemptId;
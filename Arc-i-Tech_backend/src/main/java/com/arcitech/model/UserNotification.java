@@ -42,6 +42,6 @@ public class UserNotification {
     private ProjectTask task;
 
     public enum Type {
-        CUSTOM, INQUIRY_SUBMITTED, PROJECT_ASSIGNMENT, PROJECT_NOTE, TASK_UPDATED, PROJECT_COMPLETED
+        CUSTOM, INQUIRY_SUBMITTED, PROJECT_ASSIGNMENT, PROJECT_NOTE, TASK_UPDATED, PROJECT_COMPLETED, SLA_BREACHED, WAITLIST_PROMOTED
     }
 }
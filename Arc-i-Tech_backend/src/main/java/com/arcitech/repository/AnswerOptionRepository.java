@@ -0,0 +1,19 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.AnswerOption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnswerOptionRepository extends JpaRepository<AnswerOption, Long> {
+
+    // Options of every question of a quiz, in one query
+    @Query("select o from AnswerOption o where o.questionId in " +
+           "(select qq.id.questionId from QuizQuestion qq where qq.id.quizId = :quizId) " +
+           "order by o.questionId, o.answerOptionId")
+    List<AnswerOption> findByQuizId(@Param("quizId") Long quizId);
+}
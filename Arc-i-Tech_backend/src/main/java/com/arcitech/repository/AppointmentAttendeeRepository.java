@@ -0,0 +1,10 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.AppointmentAttendee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppointmentAttendeeRepository
+        extends JpaRepository<AppointmentAttendee, AppointmentAttendee.AppointmentAttendeeKey> {
+}
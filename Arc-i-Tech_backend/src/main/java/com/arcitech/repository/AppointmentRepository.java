@@ -0,0 +1,20 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.Appointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    @Query("select a.appointmentId as id, u.fullName as title, a.status as status, " +
+           "a.startTime as startsAt, a.endTime as endsAt, a.meetingLink as detail " +
+           "from Appointment a left join User u on u.id = a.mentorUserId " +
+           "where a.appointmentId in :ids")
+    List<OrderInstanceRow> findOrderInstances(@Param("ids") Collection<Long> ids);
+}
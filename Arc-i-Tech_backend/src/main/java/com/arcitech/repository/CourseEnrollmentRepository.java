@@ -0,0 +1,70 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.CourseEnrollment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollment, Long> {
+    boolean existsByUserIdAndCourseId(Long userId, Long courseId);
+
+    Optional<CourseEnrollment> findFirstByUserIdAndSectionId(Long userId, Long sectionId);
+
+    // The user's enrollment in a course, locked so their section changes run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from CourseEnrollment e where e.userId = :userId and e.courseId = :courseId order by e.enrollmentId")
+    List<CourseEnrollment> lockByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Seat counters are kept by the caller; a null sectionId leaves the enrollment without a section
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseEnrollment e set e.sectionId = :sectionId where e.enrollmentId = :enrollmentId")
+    int moveToSection(@Param("enrollmentId") Long enrollmentId, @Param("sectionId") Long sectionId);
+
+    // Order history: one query for every enrollment on a page of orders
+    @Query("select e.enrollmentId as id, c.title as title, e.enrollmentDate as startsAt, e.grade as detail " +
+           "from CourseEnrollment e left join Course c on c.courseId = e.courseId " +
+           "where e.enrollmentId in :ids")
+    List<OrderInstanceRow> findOrderInstances(@Param("ids") Collection<Long> ids);
+
+    @Query("select e.enrollmentId as enrollmentId, e.completedLessons as completedLessons, " +
+           "e.progressVersion as progressVersion from CourseEnrollment e " +
+           "where e.userId = :userId and e.courseId = :courseId order by e.enrollmentId")
+    List<ProgressState> findProgress(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // Compare-and-set on the progress bitmap; 0 rows means someone else updated it first
+    @Modifying
+    @Query("update CourseEnrollment e set e.completedLessons = :completedLessons, " +
+           "e.progressVersion = e.progressVersion + 1 " +
+           "where e.enrollmentId = :enrollmentId and e.progressVersion = :expectedVersion")
+    int updateProgress(@Param("enrollmentId") Long enrollmentId,
+                       @Param("completedLessons") byte[] completedLessons,
+                       @Param("expectedVersion") int expectedVersion);
+
+    @Query("select e.enrollmentId as enrollmentId, e.userId as userId, u.fullName as fullName, u.email as email, " +
+           "e.completedLessons as completedLessons from CourseEnrollment e left join User u on u.id = e.userId " +
+           "where e.sectionId = :sectionId order by u.fullName, e.enrollmentId")
+    List<RosterRow> findRoster(@Param("sectionId") Long sectionId);
+
+    interface ProgressState {
+        Long getEnrollmentId();
+        byte[] getCompletedLessons();
+        int getProgressVersion();
+    }
+
+    interface RosterRow {
+        Long getEnrollmentId();
+        Long getUserId();
+        String getFullName();
+        String getEmail();
+        byte[] getCompletedLessons();
+    }
+}
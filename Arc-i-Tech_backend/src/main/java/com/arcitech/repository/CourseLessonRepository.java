@@ -0,0 +1,60 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.CourseLesson;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseLessonRepository extends JpaRepository<CourseLesson, Long> {
+
+    // Outline rows: everything but the content body
+    @Query("select l.lessonId as lessonId, l.moduleId as moduleId, l.title as title, l.videoUrl as videoUrl, " +
+           "l.orderIndex as orderIndex from CourseLesson l where l.moduleId in :moduleIds " +
+           "order by l.moduleId, l.orderIndex, l.lessonId")
+    List<LessonOutline> findOutlinesByModuleIds(@Param("moduleIds") Collection<Long> moduleIds);
+
+    @Query("select m.courseId from CourseLesson l join CourseModule m on m.moduleId = l.moduleId " +
+           "where l.lessonId = :lessonId")
+    Optional<Long> findCourseIdByLessonId(@Param("lessonId") Long lessonId);
+
+    // Every lesson of a course with its progress ordinal, in curriculum order
+    @Query("select l.lessonId as lessonId, l.progressOrdinal as ordinal from CourseLesson l " +
+           "join CourseModule m on m.moduleId = l.moduleId where m.courseId = :courseId " +
+           "order by m.orderIndex, m.moduleId, l.orderIndex, l.lessonId")
+    List<LessonOrdinal> findOrdinalsByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("update CourseLesson l set l.progressOrdinal = :ordinal where l.lessonId = :lessonId and l.progressOrdinal is null")
+    int assignOrdinal(@Param("lessonId") Long lessonId, @Param("ordinal") int ordinal);
+
+    @Query("select l.videoUrl from CourseLesson l where l.lessonId = :lessonId")
+    Optional<String> findVideoUrl(@Param("lessonId") Long lessonId);
+
+    @Query("select l.lessonId as lessonId, l.videoUrl as videoUrl from CourseLesson l where l.videoUrl is not null")
+    List<LessonVideo> findWithVideo();
+
+    interface LessonVideo {
+        Long getLessonId();
+        String getVideoUrl();
+    }
+
+    interface LessonOrdinal {
+        Long getLessonId();
+        Integer getOrdinal();
+    }
+
+    interface LessonOutline {
+        Long getLessonId();
+        Long getModuleId();
+        String getTitle();
+        String getVideoUrl();
+        Integer getOrderIndex();
+    }
+}
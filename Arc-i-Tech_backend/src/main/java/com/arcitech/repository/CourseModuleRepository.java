@@ -0,0 +1,17 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.CourseModule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseModuleRepository extends JpaRepository<CourseModule, Long> {
+
+    @Query("select m from CourseModule m where m.courseId in :courseIds order by m.courseId, m.orderIndex, m.moduleId")
+    List<CourseModule> findByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+}
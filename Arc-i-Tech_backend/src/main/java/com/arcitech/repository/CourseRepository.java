@@ -0,0 +1,36 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.Course;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseRepository extends JpaRepository<Course, Long> {
+    Optional<Course> findFirstByServiceIdOrderByCourseIdAsc(Long serviceId);
+
+    @Query("select c.courseId as courseId, c.curriculumVersion as version from Course c where c.courseId in :ids")
+    List<CourseVersion> findVersions(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Course c set c.curriculumVersion = c.curriculumVersion + 1 where c.courseId = :courseId")
+    int bumpCurriculumVersion(@Param("courseId") Long courseId);
+
+    // Serializes lesson ordinal assignment within a course
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.courseId = :courseId")
+    Optional<Course> lockById(@Param("courseId") Long courseId);
+
+    interface CourseVersion {
+        Long getCourseId();
+        long getVersion();
+    }
+}
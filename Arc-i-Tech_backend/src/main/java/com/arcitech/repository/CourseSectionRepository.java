@@ -0,0 +1,29 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.CourseSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourseSectionRepository extends JpaRepository<CourseSection, Long> {
+
+    @Query("select s from CourseSection s where s.courseId in :courseIds order by s.courseId, s.startDate, s.sectionId")
+    List<CourseSection> findByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // Takes a seat if one is free; a null maxStudents means unlimited. 0 rows means full.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseSection s set s.enrolledCount = s.enrolledCount + 1 " +
+           "where s.sectionId = :sectionId and (s.maxStudents is null or s.enrolledCount < s.maxStudents)")
+    int reserveSeat(@Param("sectionId") Long sectionId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseSection s set s.enrolledCount = s.enrolledCount - 1 " +
+           "where s.sectionId = :sectionId and s.enrolledCount > 0")
+    int releaseSeat(@Param("sectionId") Long sectionId);
+}
@@ -2,13 +2,97 @@ package com.arcitech.repository;
 
 import com.arcitech.model.Inquiry;
 import com.arcitech.model.Inquiry.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
     List<Inquiry> findByStatus(Status status);
     List<Inquiry> findByEmail(String email);
+
+    // Open SLA clocks: inquiries in a status with an SLA, not yet escalated. The clock
+    // starts at the last status change.
+    @Query("select i.inquiryId as id, i.status as status, coalesce(i.updatedAt, i.createdAt) as startedAt " +
+           "from Inquiry i where i.status in :statuses and i.slaEscalatedAt is null")
+    List<SlaClock> findOpenSlaClocks(@Param("statuses") Collection<Status> statuses);
+
+    @Query("select i.inquiryId as id, i.status as status, coalesce(i.updatedAt, i.createdAt) as startedAt " +
+           "from Inquiry i where i.inquiryId in :ids and i.slaEscalatedAt is null")
+    List<SlaClock> findUnescalated(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Inquiry i set i.slaEscalatedAt = :at where i.inquiryId in :ids")
+    int markSlaEscalated(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    // Pipeline page, newest first, keyset on inquiry id. Nullable parameters disable their filter.
+    // Only the latest lead of an inquiry is joined, so each inquiry is exactly one row.
+    @Query("select i.inquiryId as inquiryId, i.fullName as fullName, i.email as email, i.company as company, " +
+           "i.source as source, i.status as status, i.createdAt as createdAt, i.updatedAt as updatedAt, " +
+           "i.slaEscalatedAt as slaEscalatedAt, l.leadId as leadId, l.status as leadStatus, " +
+           "l.assignedToUserId as assignedToUserId " +
+           "from Inquiry i " + LATEST_LEAD_JOIN +
+           "where i.inquiryId < :beforeId " + PIPELINE_FILTER +
+           "order by i.inquiryId desc")
+    List<PipelineRow> findPipeline(@Param("beforeId") long beforeId,
+                                   @Param("status") Status status,
+                                   @Param("leadStatus") String leadStatus,
+                                   @Param("assignedTo") Long assignedTo,
+                                   @Param("source") String source,
+                                   @Param("email") String email,
+                                   @Param("createdFrom") LocalDateTime createdFrom,
+                                   @Param("createdTo") LocalDateTime createdTo,
+                                   Pageable page);
+
+    @Query("select count(i) from Inquiry i " + LATEST_LEAD_JOIN +
+           "where 1 = 1 " + PIPELINE_FILTER)
+    long countPipeline(@Param("status") Status status,
+                       @Param("leadStatus") String leadStatus,
+                       @Param("assignedTo") Long assignedTo,
+                       @Param("source") String source,
+                       @Param("email") String email,
+                       @Param("createdFrom") LocalDateTime createdFrom,
+                       @Param("createdTo") LocalDateTime createdTo);
+
+    // max(lead_id) per inquiry is answered from idx_leads_inquiry (InnoDB keeps the primary key in it)
+    String LATEST_LEAD_JOIN =
+            "left join Lead l on l.inquiryId = i.inquiryId " +
+            "and l.leadId = (select max(l2.leadId) from Lead l2 where l2.inquiryId = i.inquiryId) ";
+
+    String PIPELINE_FILTER =
+            "and (:status is null or i.status = :status) " +
+            "and (:leadStatus is null or upper(l.status) = upper(:leadStatus)) " +
+            "and (:assignedTo is null or l.assignedToUserId = :assignedTo) " +
+            "and (:source is null or i.source = :source) " +
+            "and (:email is null or i.email = :email) " +
+            "and (:createdFrom is null or i.createdAt >= :createdFrom) " +
+            "and (:createdTo is null or i.createdAt < :createdTo) ";
+
+    interface PipelineRow {
+        Long getInquiryId();
+        String getFullName();
+        String getEmail();
+        String getCompany();
+        String getSource();
+        Status getStatus();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getSlaEscalatedAt();
+        Long getLeadId();
+        String getLeadStatus();
+        Long getAssignedToUserId();
+    }
+
+    interface SlaClock {
+        Long getId();
+        Status getStatus();
+        LocalDateTime getStartedAt();
+    }
 }
@@ -0,0 +1,67 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.InquiryStageDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InquiryStageDailyRepository extends JpaRepository<InquiryStageDaily, InquiryStageDaily.Key> {
+
+    // Atomic upsert, so concurrent transitions on the same day never lose a count
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stage_daily (day, stage, entered, exited) VALUES (:day, :stage, :entered, :exited) " +
+                   "ON DUPLICATE KEY UPDATE entered = entered + VALUES(entered), exited = exited + VALUES(exited)",
+           nativeQuery = true)
+    int add(@Param("day") LocalDate day, @Param("stage") String stage,
+            @Param("entered") long entered, @Param("exited") long exited);
+
+    @Query("select d.stage as stage, sum(d.entered) as entered, sum(d.exited) as exited " +
+           "from InquiryStageDaily d where d.day between :from and :to group by d.stage")
+    List<StageTotals> sumBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // All-time totals; entered - exited is the number currently in each stage
+    @Query("select d.stage as stage, sum(d.entered) as entered, sum(d.exited) as exited " +
+           "from InquiryStageDaily d group by d.stage")
+    List<StageTotals> sumAll();
+
+    @Modifying
+    @Query(value = "DELETE FROM inquiry_stage_daily", nativeQuery = true)
+    int deleteAllRows();
+
+    // Backfill from current rows: creation day enters NEW; inquiries that moved on are
+    // counted as leaving NEW and entering their current stage on their last update.
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stage_daily (day, stage, entered, exited) " +
+                   "SELECT DATE(created_at), 'NEW', COUNT(*), 0 FROM inquiries WHERE created_at IS NOT NULL " +
+                   "GROUP BY DATE(created_at) " +
+                   "ON DUPLICATE KEY UPDATE entered = entered + VALUES(entered)", nativeQuery = true)
+    int backfillCreated();
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stage_daily (day, stage, entered, exited) " +
+                   "SELECT DATE(COALESCE(updated_at, created_at)), status, COUNT(*), 0 FROM inquiries " +
+                   "WHERE status IS NOT NULL AND status <> 'NEW' AND created_at IS NOT NULL " +
+                   "GROUP BY DATE(COALESCE(updated_at, created_at)), status " +
+                   "ON DUPLICATE KEY UPDATE entered = entered + VALUES(entered)", nativeQuery = true)
+    int backfillCurrentStage();
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stage_daily (day, stage, entered, exited) " +
+                   "SELECT DATE(COALESCE(updated_at, created_at)), 'NEW', 0, COUNT(*) FROM inquiries " +
+                   "WHERE status IS NOT NULL AND status <> 'NEW' AND created_at IS NOT NULL " +
+                   "GROUP BY DATE(COALESCE(updated_at, created_at)) " +
+                   "ON DUPLICATE KEY UPDATE exited = exited + VALUES(exited)", nativeQuery = true)
+    int backfillLeftNew();
+
+    interface StageTotals {
+        String getStage();
+        Long getEntered();
+        Long getExited();
+    }
+}
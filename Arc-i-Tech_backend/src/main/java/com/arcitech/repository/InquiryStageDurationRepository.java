@@ -0,0 +1,39 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.InquiryStageDuration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InquiryStageDurationRepository
+        extends JpaRepository<InquiryStageDuration, InquiryStageDuration.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stage_duration_daily (day, stage, bucket, exits) " +
+                   "VALUES (:day, :stage, :bucket, :exits) " +
+                   "ON DUPLICATE KEY UPDATE exits = exits + VALUES(exits)",
+           nativeQuery = true)
+    int add(@Param("day") LocalDate day, @Param("stage") String stage,
+            @Param("bucket") int bucket, @Param("exits") long exits);
+
+    @Query("select d.stage as stage, d.bucket as bucket, sum(d.exits) as exits " +
+           "from InquiryStageDuration d where d.day between :from and :to " +
+           "group by d.stage, d.bucket order by d.stage, d.bucket")
+    List<BucketTotals> sumBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM inquiry_stage_duration_daily", nativeQuery = true)
+    int deleteAllRows();
+
+    interface BucketTotals {
+        String getStage();
+        Integer getBucket();
+        Long getExits();
+    }
+}
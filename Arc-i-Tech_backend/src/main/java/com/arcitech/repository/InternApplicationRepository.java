@@ -0,0 +1,20 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.InternApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InternApplicationRepository extends JpaRepository<InternApplication, Long> {
+    boolean existsByUserIdAndProgramId(Long userId, Long programId);
+
+    @Query("select a.applicationId as id, p.title as title, a.status as status, a.submittedAt as startsAt " +
+           "from InternApplication a left join InternshipProgram p on p.programId = a.programId " +
+           "where a.applicationId in :ids")
+    List<OrderInstanceRow> findOrderInstances(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,56 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.InternAssignment;
+import com.arcitech.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InternAssignmentRepository extends JpaRepository<InternAssignment, Long> {
+    List<InternAssignment> findByUserId(Long userId);
+
+    // Open assigned tasks of one intern, aggregated per project/priority/status
+    @Query("select p.projectId as projectId, p.name as projectName, t.priority as priority, t.status as status, " +
+           "count(a) as openCount, " +
+           "sum(case when t.dueDate < :today then 1 else 0 end) as overdue, " +
+           "sum(case when t.dueDate >= :today and t.dueDate < :soon then 1 else 0 end) as dueSoon, " +
+           "sum(case when t.dueDate is null then 1 else 0 end) as noDueDate " +
+           "from InternAssignment a join Task t on t.taskId = a.taskId left join Project p on p.projectId = t.projectId " +
+           "where a.userId = :userId and (t.status is null or upper(t.status) not in ('DONE', 'COMPLETED')) " +
+           "group by p.projectId, p.name, t.priority, t.status")
+    List<ProjectRow> aggregateOpenByUser(@Param("userId") Long userId,
+                                         @Param("today") LocalDate today,
+                                         @Param("soon") LocalDate soon);
+
+    // Same counters for every intern of a role at once, one group per user/priority/status
+    @Query("select a.userId as userId, t.priority as priority, t.status as status, " +
+           "count(a) as openCount, " +
+           "sum(case when t.dueDate < :today then 1 else 0 end) as overdue, " +
+           "sum(case when t.dueDate >= :today and t.dueDate < :soon then 1 else 0 end) as dueSoon, " +
+           "sum(case when t.dueDate is null then 1 else 0 end) as noDueDate " +
+           "from InternAssignment a join Task t on t.taskId = a.taskId join User u on u.id = a.userId " +
+           "where u.role = :role " +
+           "and (t.status is null or upper(t.status) not in ('DONE', 'COMPLETED')) " +
+           "group by a.userId, t.priority, t.status")
+    List<UserRow> aggregateOpenByRole(@Param("role") User.Role role,
+                                      @Param("today") LocalDate today,
+                                      @Param("soon") LocalDate soon);
+
+    interface ProjectRow extends WorkloadCounts {
+        Long getProjectId();
+        String getProjectName();
+        String getPriority();
+        String getStatus();
+    }
+
+    interface UserRow extends WorkloadCounts {
+        Long getUserId();
+        String getPriority();
+        String getStatus();
+    }
+}
@@ -0,0 +1,13 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.InternshipProgram;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InternshipProgramRepository extends JpaRepository<InternshipProgram, Long> {
+    // A service may run several cohorts; orders go to the latest one
+    Optional<InternshipProgram> findFirstByServiceIdOrderByProgramIdDesc(Long serviceId);
+}
@@ -0,0 +1,12 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.ItemAnalytics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ItemAnalyticsRepository extends JpaRepository<ItemAnalytics, ItemAnalytics.Key> {
+    List<ItemAnalytics> findByQuizIdOrderByQuestionId(Long quizId);
+}
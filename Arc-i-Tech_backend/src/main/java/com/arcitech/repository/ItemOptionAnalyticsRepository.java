@@ -0,0 +1,12 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.ItemOptionAnalytics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ItemOptionAnalyticsRepository extends JpaRepository<ItemOptionAnalytics, ItemOptionAnalytics.Key> {
+    List<ItemOptionAnalytics> findByQuizIdOrderByQuestionIdAscAnswerOptionIdAsc(Long quizId);
+}
@@ -0,0 +1,24 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.Milestone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
+    List<Milestone> findByProjectId(Long projectId);
+
+    @Query("select m.projectId as projectId, count(m) as total, " +
+           "sum(case when upper(m.status) in ('DONE', 'COMPLETED') then 1 else 0 end) as done " +
+           "from Milestone m where m.projectId is not null group by m.projectId")
+    List<ProjectCounts> countDoneByProject();
+
+    @Query("select m.projectId as projectId, count(m) as total, " +
+           "sum(case when upper(m.status) in ('DONE', 'COMPLETED') then 1 else 0 end) as done " +
+           "from Milestone m where m.projectId = :projectId group by m.projectId")
+    List<ProjectCounts> countDoneByProjectId(@Param("projectId") Long projectId);
+}
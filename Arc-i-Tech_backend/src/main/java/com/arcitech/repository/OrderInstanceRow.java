@@ -0,0 +1,16 @@
+package com.arcitech.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of whatever an order created, shared by the per-type order instance queries.
+ * Queries leave out the aliases that do not apply to their type; those read as null.
+ */
+public interface OrderInstanceRow {
+    Long getId();
+    String getTitle();
+    Object getStatus();
+    LocalDateTime getStartsAt();
+    LocalDateTime getEndsAt();
+    String getDetail();
+}
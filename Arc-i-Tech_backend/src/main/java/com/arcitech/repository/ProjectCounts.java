@@ -0,0 +1,10 @@
+package com.arcitech.repository;
+
+/**
+ * Per-project total/done counts returned by the progress reconciliation queries.
+ */
+public interface ProjectCounts {
+    Long getProjectId();
+    long getTotal();
+    Long getDone();
+}
@@ -0,0 +1,47 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.ProjectProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProjectProgressRepository extends JpaRepository<ProjectProgress, Long> {
+
+    // Atomic in the database, so concurrent transitions never lose an update
+    @Modifying
+    @Query("update ProjectProgress p set p.totalTasks = p.totalTasks + :totalTasks, " +
+           "p.doneTasks = p.doneTasks + :doneTasks, " +
+           "p.totalMilestones = p.totalMilestones + :totalMilestones, " +
+           "p.doneMilestones = p.doneMilestones + :doneMilestones, " +
+           "p.updatedAt = :now where p.projectId = :projectId")
+    int applyDelta(@Param("projectId") Long projectId,
+                   @Param("totalTasks") long totalTasks,
+                   @Param("doneTasks") long doneTasks,
+                   @Param("totalMilestones") long totalMilestones,
+                   @Param("doneMilestones") long doneMilestones,
+                   @Param("now") LocalDateTime now);
+
+    // Compare-and-set used by reconciliation: only overwrites counters nobody touched
+    // since they were read, so a concurrent delta is never lost.
+    @Modifying
+    @Query("update ProjectProgress p set p.totalTasks = :totalTasks, p.doneTasks = :doneTasks, " +
+           "p.totalMilestones = :totalMilestones, p.doneMilestones = :doneMilestones, p.updatedAt = :now " +
+           "where p.projectId = :projectId and p.totalTasks = :expectedTotalTasks " +
+           "and p.doneTasks = :expectedDoneTasks and p.totalMilestones = :expectedTotalMilestones " +
+           "and p.doneMilestones = :expectedDoneMilestones")
+    int replaceIfUnchanged(@Param("projectId") Long projectId,
+                           @Param("expectedTotalTasks") long expectedTotalTasks,
+                           @Param("expectedDoneTasks") long expectedDoneTasks,
+                           @Param("expectedTotalMilestones") long expectedTotalMilestones,
+                           @Param("expectedDoneMilestones") long expectedDoneMilestones,
+                           @Param("totalTasks") long totalTasks,
+                           @Param("doneTasks") long doneTasks,
+                           @Param("totalMilestones") long totalMilestones,
+                           @Param("doneMilestones") long doneMilestones,
+                           @Param("now") LocalDateTime now);
+}
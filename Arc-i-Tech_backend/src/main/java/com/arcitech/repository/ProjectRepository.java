@@ -3,14 +3,16 @@ package com.arcitech.repository;
 import com.arcitech.model.Project;
 import com.arcitech.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
     // Use explicit JPQL queries to avoid Spring Data parsing issues caused by
     // entity/property name discrepancies or transient helpers.
     @Query("select p from Project p where p.client = :client")
@@ -23,4 +25,15 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("select p from Project p where p.client.id = :clientId")
     List<Project> findByClientId(@Param("clientId") Long clientId);
+
+    @Query("select p.projectId from Project p")
+    List<Long> findAllProjectIds();
+
+    @Modifying
+    @Query("update Project p set p.progressPercentage = :progress where p.projectId = :projectId")
+    int updateProgress(@Param("projectId") Long projectId, @Param("progress") Integer progress);
+
+    @Query("select p.projectId as id, p.name as title, p.status as status, p.createdAt as startsAt, " +
+           "p.summary as detail from Project p where p.projectId in :ids")
+    List<OrderInstanceRow> findOrderInstances(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,24 @@
+package com.arcitech.repository;
+
+import com.arcitech.dto.ProjectFilter;
+import com.arcitech.dto.ProjectSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Dynamic listing queries for projects that cannot be expressed as a single static @Query.
+ */
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} project summaries matching the filter, ordered by the sort field
+     * with the project id as tie-breaker, starting strictly after the given keyset position.
+     *
+     * @param afterValue sort value of the last row of the previous page, or null for the first page
+     * @param afterId    id of the last row of the previous page, or null for the first page
+     */
+    List<ProjectSummaryDTO> findSummaries(ProjectFilter filter, ProjectFilter.SortField sort, boolean ascending,
+                                          Object afterValue, Long afterId, int limit);
+
+    long countByFilter(ProjectFilter filter);
+}
@@ -0,0 +1,104 @@
+package com.arcitech.repository;
+
+import com.arcitech.dto.ProjectFilter;
+import com.arcitech.dto.ProjectSummaryDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProjectSummaryDTO> findSummaries(ProjectFilter filter, ProjectFilter.SortField sort, boolean ascending,
+                                                 Object afterValue, Long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(
+                "select new com.arcitech.dto.ProjectSummaryDTO(" +
+                "p.projectId, p.name, p.summary, p.progressPercentage, p.status, p.highlighted, " +
+                "c.id, c.email, o.id, p.createdAt, p.updatedAt) " +
+                "from Project p left join p.client c left join p.owner o where 1 = 1");
+        appendFilter(jpql, params, filter);
+
+        String key = sortExpression(sort);
+        String cmp = ascending ? ">" : "<";
+        String dir = ascending ? "asc" : "desc";
+        if (afterId != null) {
+            if (sort == ProjectFilter.SortField.ID) {
+                jpql.append(" and p.projectId ").append(cmp).append(" :afterId");
+            } else {
+                jpql.append(" and (").append(key).append(' ').append(cmp).append(" :afterValue or (")
+                        .append(key).append(" = :afterValue and p.projectId ").append(cmp).append(" :afterId))");
+                params.put("afterValue", afterValue);
+            }
+            params.put("afterId", afterId);
+        }
+        if (sort != ProjectFilter.SortField.ID) {
+            jpql.append(" order by ").append(key).append(' ').append(dir).append(", p.projectId ").append(dir);
+        } else {
+            jpql.append(" order by p.projectId ").append(dir);
+        }
+
+        TypedQuery<ProjectSummaryDTO> query = entityManager.createQuery(jpql.toString(), ProjectSummaryDTO.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countByFilter(ProjectFilter filter) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("select count(p) from Project p where 1 = 1");
+        appendFilter(jpql, params, filter);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    // Only filters that are actually set end up in the query, so the optimizer can use
+    // the matching index instead of evaluating "(:x is null or ...)" for every row.
+    private void appendFilter(StringBuilder jpql, Map<String, Object> params, ProjectFilter filter) {
+        if (filter == null) return;
+        if (filter.getStatus() != null) {
+            jpql.append(" and p.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getClientId() != null) {
+            jpql.append(" and p.client.id = :clientId");
+            params.put("clientId", filter.getClientId());
+        }
+        if (filter.getOwnerId() != null) {
+            jpql.append(" and p.owner.id = :ownerId");
+            params.put("ownerId", filter.getOwnerId());
+        }
+        if (filter.getHighlighted() != null) {
+            jpql.append(" and p.highlighted = :highlighted");
+            params.put("highlighted", filter.getHighlighted());
+        }
+        if (filter.getCreatedFrom() != null) {
+            jpql.append(" and p.createdAt >= :createdFrom");
+            params.put("createdFrom", filter.getCreatedFrom().atStartOfDay());
+        }
+        if (filter.getCreatedTo() != null) {
+            jpql.append(" and p.createdAt < :createdTo");
+            params.put("createdTo", filter.getCreatedTo().plusDays(1).atStartOfDay());
+        }
+    }
+
+    private String sortExpression(ProjectFilter.SortField sort) {
+        switch (sort) {
+            case NAME:
+                return "p.name";
+            case CREATED_AT:
+                return "p.createdAt";
+            default:
+                return "p.projectId";
+        }
+    }
+}
@@ -4,8 +4,12 @@ import com.arcitech.model.ProjectTask;
 import com.arcitech.model.Project;
 import com.arcitech.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +17,74 @@ public interface ProjectTaskRepository extends JpaRepository<ProjectTask, Long>
     List<ProjectTask> findByProject(Project project);
     List<ProjectTask> findByAssignee(User assignee);
     List<ProjectTask> findByStatus(ProjectTask.Status status);
+
+    // Loads the tasks of a whole page of projects in one round trip; assignees stay lazy.
+    @Query("select t from ProjectTask t where t.project.projectId in :projectIds order by t.project.projectId, t.id")
+    List<ProjectTask> findByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    // Tasks targeted by a bulk update, with the assignee fetched so building the DTOs stays one query
+    @Query("select t from ProjectTask t left join fetch t.assignee where t.id in :ids")
+    List<ProjectTask> findAllByIdWithAssignee(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.project.projectId as projectId, t.status as status, count(t) as taskCount " +
+           "from ProjectTask t where t.project.projectId in :projectIds " +
+           "group by t.project.projectId, t.status")
+    List<StatusCount> countByProjectIdsGroupByStatus(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("select t.project.projectId as projectId, count(t) as total, " +
+           "sum(case when t.status = com.arcitech.model.ProjectTask.Status.DONE then 1 else 0 end) as done " +
+           "from ProjectTask t where t.project is not null group by t.project.projectId")
+    List<ProjectCounts> countDoneByProject();
+
+    @Query("select t.project.projectId as projectId, count(t) as total, " +
+           "sum(case when t.status = com.arcitech.model.ProjectTask.Status.DONE then 1 else 0 end) as done " +
+           "from ProjectTask t where t.project.projectId = :projectId group by t.project.projectId")
+    List<ProjectCounts> countDoneByProjectId(@Param("projectId") Long projectId);
+
+    // Open tasks of one assignee, aggregated per project/priority/status with due-window counts
+    @Query("select p.projectId as projectId, p.name as projectName, t.priority as priority, t.status as status, " +
+           "count(t) as openCount, " +
+           "sum(case when t.dueDate < :now then 1 else 0 end) as overdue, " +
+           "sum(case when t.dueDate >= :now and t.dueDate < :soon then 1 else 0 end) as dueSoon, " +
+           "sum(case when t.dueDate is null then 1 else 0 end) as noDueDate " +
+           "from ProjectTask t left join t.project p " +
+           "where t.assignee.id = :userId " +
+           "and (t.status is null or t.status <> com.arcitech.model.ProjectTask.Status.DONE) " +
+           "group by p.projectId, p.name, t.priority, t.status")
+    List<AssigneeProjectRow> aggregateOpenByAssignee(@Param("userId") Long userId,
+                                                     @Param("now") LocalDateTime now,
+                                                     @Param("soon") LocalDateTime soon);
+
+    // Same counters for every user of a role in a single pass, one group per user/priority/status
+    @Query("select u.id as userId, t.priority as priority, t.status as status, " +
+           "count(t) as openCount, " +
+           "sum(case when t.dueDate < :now then 1 else 0 end) as overdue, " +
+           "sum(case when t.dueDate >= :now and t.dueDate < :soon then 1 else 0 end) as dueSoon, " +
+           "sum(case when t.dueDate is null then 1 else 0 end) as noDueDate " +
+           "from ProjectTask t join t.assignee u " +
+           "where u.role = :role " +
+           "and (t.status is null or t.status <> com.arcitech.model.ProjectTask.Status.DONE) " +
+           "group by u.id, t.priority, t.status")
+    List<AssigneeRow> aggregateOpenByRole(@Param("role") User.Role role,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("soon") LocalDateTime soon);
+
+    interface AssigneeProjectRow extends WorkloadCounts {
+        Long getProjectId();
+        String getProjectName();
+        ProjectTask.Priority getPriority();
+        ProjectTask.Status getStatus();
+    }
+
+    interface AssigneeRow extends WorkloadCounts {
+        Long getUserId();
+        ProjectTask.Priority getPriority();
+        ProjectTask.Status getStatus();
+    }
+
+    interface StatusCount {
+        Long getProjectId();
+        ProjectTask.Status getStatus();
+        long getTaskCount();
+    }
 }
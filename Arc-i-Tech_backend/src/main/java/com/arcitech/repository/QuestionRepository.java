@@ -0,0 +1,30 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.Question;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    // Questions of a quiz in presentation order
+    @Query("select q from QuizQuestion qq join Question q on q.questionId = qq.id.questionId " +
+           "where qq.id.quizId = :quizId order by qq.orderIndex, q.questionId")
+    List<Question> findByQuizId(@Param("quizId") Long quizId);
+
+    // Lightweight rows for the in-memory question bank index
+    @Query("select q.questionId as questionId, q.topic as topic, q.questionType as questionType, " +
+           "q.questionText as questionText from Question q")
+    List<BankRow> findBankRows();
+
+    interface BankRow {
+        Long getQuestionId();
+        String getTopic();
+        String getQuestionType();
+        String getQuestionText();
+    }
+}
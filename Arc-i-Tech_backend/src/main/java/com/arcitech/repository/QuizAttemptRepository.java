@@ -0,0 +1,38 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.QuizAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
+
+    // Closes an open attempt with its score; 0 rows means it was already submitted
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update QuizAttempt a set a.endTime = :endTime, a.finalScore = :score " +
+           "where a.attemptId = :attemptId and a.endTime is null")
+    int complete(@Param("attemptId") Long attemptId, @Param("endTime") LocalDateTime endTime,
+                 @Param("score") Double score);
+
+    // Open attempts of timed quizzes, reloaded into live sessions after a restart
+    @Query("select a.attemptId as attemptId, a.userId as userId, a.quizId as quizId, a.startTime as startTime, " +
+           "q.timeLimitMinutes as timeLimitMinutes, a.draftAnswers as draftAnswers " +
+           "from QuizAttempt a join Quiz q on q.quizId = a.quizId " +
+           "where a.endTime is null and q.timeLimitMinutes > 0")
+    List<OpenAttempt> findOpenTimedAttempts();
+
+    interface OpenAttempt {
+        Long getAttemptId();
+        Long getUserId();
+        Long getQuizId();
+        LocalDateTime getStartTime();
+        Integer getTimeLimitMinutes();
+        String getDraftAnswers();
+    }
+}
@@ -0,0 +1,9 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.QuizQuestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, QuizQuestion.QuizQuestionKey> {
+}
@@ -0,0 +1,33 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.SectionWaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SectionWaitlistRepository extends JpaRepository<SectionWaitlistEntry, Long> {
+
+    Optional<SectionWaitlistEntry> findBySectionIdAndUserId(Long sectionId, Long userId);
+
+    Optional<SectionWaitlistEntry> findFirstBySectionIdOrderByWaitlistIdAsc(Long sectionId);
+
+    // 1-based queue position of an entry
+    @Query("select count(w) from SectionWaitlistEntry w where w.sectionId = :sectionId and w.waitlistId <= :waitlistId")
+    long positionOf(@Param("sectionId") Long sectionId, @Param("waitlistId") Long waitlistId);
+
+    // A user waits for at most one section per course; clears their spots in the course's sections
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from SectionWaitlistEntry w where w.userId = :userId and w.sectionId in " +
+           "(select s.sectionId from CourseSection s where s.courseId = :courseId)")
+    int removeForCourse(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    // 0 rows means a concurrent promotion or drop already took the entry
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from SectionWaitlistEntry w where w.waitlistId = :waitlistId")
+    int remove(@Param("waitlistId") Long waitlistId);
+}
@@ -0,0 +1,10 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.ServiceCategoryMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ServiceCategoryMapRepository
+        extends JpaRepository<ServiceCategoryMap, ServiceCategoryMap.ServiceCategoryMapKey> {
+}
@@ -0,0 +1,9 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.ServiceCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory, Integer> {
+}
@@ -1,7 +1,18 @@
 package com.arcitech.repository;
 
 import com.arcitech.model.ServiceOrder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, Long> {
+
+    // Order history, newest first; keyset on orderId (served by idx_service_orders_user_order)
+    @Query("select o from ServiceOrder o where o.userId = :userId and o.orderId < :beforeId order by o.orderId desc")
+    List<ServiceOrder> findHistory(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    long countByUserId(Long userId);
 }
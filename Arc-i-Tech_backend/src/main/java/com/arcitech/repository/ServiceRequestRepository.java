@@ -2,13 +2,103 @@ package com.arcitech.repository;
 
 import com.arcitech.model.ServiceRequest;
 import com.arcitech.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long> {
     List<ServiceRequest> findByUser(User user);
     List<ServiceRequest> findByStatus(ServiceRequest.Status status);
+    long countByStatus(ServiceRequest.Status status);
+
+    @EntityGraph(attributePaths = {"user", "service", "approvedBy"})
+    List<ServiceRequest> findWithDetailsByStatusOrderByIdAsc(ServiceRequest.Status status);
+
+    // Approval queue page in id order, joined in one statement. unclaimedOnly keeps items
+    // nobody holds a live lease on; claimedById keeps the items that admin currently holds.
+    @Query("select r.id as id, u.id as userId, u.fullName as userName, u.email as userEmail, " +
+           "s.id as serviceId, s.name as serviceName, r.status as status, r.details as details, " +
+           "r.requestedAt as requestedAt, c.id as claimedById, c.fullName as claimedByName, " +
+           "r.claimExpiresAt as claimExpiresAt " +
+           "from ServiceRequest r join r.user u join r.service s left join r.claimedBy c " +
+           "where r.status = :status and r.id > :afterId " +
+           "and (:unclaimedOnly = false or c.id is null or r.claimExpiresAt < :now) " +
+           "and (:claimedById is null or (c.id = :claimedById and r.claimExpiresAt >= :now)) " +
+           "order by r.id")
+    List<QueueRow> findQueue(@Param("status") ServiceRequest.Status status,
+                             @Param("afterId") long afterId,
+                             @Param("unclaimedOnly") boolean unclaimedOnly,
+                             @Param("claimedById") Long claimedById,
+                             @Param("now") LocalDateTime now,
+                             Pageable page);
+
+    @Query("select r.id from ServiceRequest r " +
+           "where r.status = com.arcitech.model.ServiceRequest.Status.PENDING " +
+           "and (r.claimedBy is null or r.claimExpiresAt < :now) order by r.id")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable page);
+
+    // Rows about to be decided, locked in id order so concurrent decisions serialize without deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ServiceRequest r where r.id in :ids order by r.id")
+    List<ServiceRequest> lockAllById(@Param("ids") Collection<Long> ids);
+
+    // Takes the lease only where nobody else holds a live one; the returned row count
+    // tells the caller how many it actually got.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ServiceRequest r set r.claimedBy = :admin, r.claimExpiresAt = :expiresAt " +
+           "where r.id in :ids and r.status = com.arcitech.model.ServiceRequest.Status.PENDING " +
+           "and (r.claimedBy is null or r.claimExpiresAt < :now or r.claimedBy = :admin)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("admin") User admin,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ServiceRequest r set r.claimedBy = null, r.claimExpiresAt = null " +
+           "where r.id in :ids and r.claimedBy = :admin")
+    int release(@Param("ids") Collection<Long> ids, @Param("admin") User admin);
+
+    // Open SLA clocks: pending requests not yet escalated
+    @Query("select r.id as id, r.requestedAt as startedAt from ServiceRequest r " +
+           "where r.status = com.arcitech.model.ServiceRequest.Status.PENDING and r.slaEscalatedAt is null")
+    List<SlaClock> findOpenSlaClocks();
+
+    @Query("select r.id from ServiceRequest r where r.id in :ids " +
+           "and r.status = com.arcitech.model.ServiceRequest.Status.PENDING and r.slaEscalatedAt is null")
+    List<Long> findUnescalatedPending(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update ServiceRequest r set r.slaEscalatedAt = :at where r.id in :ids")
+    int markSlaEscalated(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    interface SlaClock {
+        Long getId();
+        LocalDateTime getStartedAt();
+    }
+
+    interface QueueRow {
+        Long getId();
+        Long getUserId();
+        String getUserName();
+        String getUserEmail();
+        Long getServiceId();
+        String getServiceName();
+        ServiceRequest.Status getStatus();
+        String getDetails();
+        LocalDateTime getRequestedAt();
+        Long getClaimedById();
+        String getClaimedByName();
+        LocalDateTime getClaimExpiresAt();
+    }
 }
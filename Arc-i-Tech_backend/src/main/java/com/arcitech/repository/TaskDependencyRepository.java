@@ -0,0 +1,27 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    // Only the two id columns are needed to build the scheduling graph
+    @Query("select d.predecessorTaskId as predecessorTaskId, d.successorTaskId as successorTaskId " +
+           "from TaskDependency d where d.successorTaskId in " +
+           "(select t.taskId from Task t where t.projectId = :projectId)")
+    List<Edge> findEdgesByProjectId(@Param("projectId") Long projectId);
+
+    Optional<TaskDependency> findByPredecessorTaskIdAndSuccessorTaskId(Long predecessorTaskId, Long successorTaskId);
+
+    interface Edge {
+        Long getPredecessorTaskId();
+        Long getSuccessorTaskId();
+    }
+}
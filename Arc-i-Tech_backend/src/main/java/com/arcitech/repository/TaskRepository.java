@@ -0,0 +1,51 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.Task;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskRepository extends JpaRepository<Task, Long> {
+    List<Task> findByProjectId(Long projectId);
+
+    List<Task> findByProjectIdOrderByPath(Long projectId);
+
+    long countByProjectIdAndPathIsNull(Long projectId);
+
+    @Query("select distinct t.projectId from Task t where t.path is null")
+    List<Long> findProjectIdsWithoutPath();
+
+    // Prefix match on the materialized path: one range scan over idx_tasks_project_path
+    // The pattern is passed pre-built ("/12/40/%") so the database sees a constant prefix.
+    @Query("select t from Task t where t.projectId = :projectId and t.path like :pathPattern order by t.path")
+    List<Task> findSubtree(@Param("projectId") Long projectId, @Param("pathPattern") String pathPattern);
+
+    @Query("select max(length(t.path)) from Task t where t.projectId = :projectId and t.path like :pathPattern")
+    Integer maxPathLength(@Param("projectId") Long projectId, @Param("pathPattern") String pathPattern);
+
+    // Re-roots a whole subtree after a move without loading it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.path = concat(:newPrefix, substring(t.path, :oldPrefixLength + 1)), " +
+           "t.depth = t.depth + :depthDelta " +
+           "where t.projectId = :projectId and t.path like :oldPattern")
+    int movePaths(@Param("projectId") Long projectId,
+                  @Param("oldPattern") String oldPattern,
+                  @Param("oldPrefixLength") int oldPrefixLength,
+                  @Param("newPrefix") String newPrefix,
+                  @Param("depthDelta") int depthDelta);
+
+    @Query("select t.projectId as projectId, count(t) as total, " +
+           "sum(case when upper(t.status) in ('DONE', 'COMPLETED') then 1 else 0 end) as done " +
+           "from Task t where t.projectId is not null group by t.projectId")
+    List<ProjectCounts> countDoneByProject();
+
+    @Query("select t.projectId as projectId, count(t) as total, " +
+           "sum(case when upper(t.status) in ('DONE', 'COMPLETED') then 1 else 0 end) as done " +
+           "from Task t where t.projectId = :projectId group by t.projectId")
+    List<ProjectCounts> countDoneByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,52 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.TimelineEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TimelineEventRepository extends JpaRepository<TimelineEvent, Long> {
+
+    // Served by idx_timeline_events_subject (subject_type, subject_id, created_at, id)
+    @Query("select e.id as id, e.event as event, e.details as details, e.actorUserId as actorUserId, " +
+           "e.createdAt as createdAt from TimelineEvent e " +
+           "where e.subjectType = :subjectType and e.subjectId = :subjectId order by e.createdAt, e.id")
+    List<TimelineRow> findBySubject(@Param("subjectType") TimelineEvent.SubjectType subjectType,
+                                    @Param("subjectId") Long subjectId);
+
+    @Query(value = "SELECT id AS id, event AS event, details AS details, actor_user_id AS actorUserId, " +
+                   "created_at AS createdAt FROM timeline_events_archive " +
+                   "WHERE subject_type = :subjectType AND subject_id = :subjectId ORDER BY created_at, id",
+           nativeQuery = true)
+    List<TimelineRow> findArchivedBySubject(@Param("subjectType") String subjectType,
+                                            @Param("subjectId") Long subjectId);
+
+    // --- Month-based archival, one chunk of ids at a time ---
+    @Query(value = "SELECT id FROM timeline_events WHERE month_key < :monthKey ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findIdsBeforeMonth(@Param("monthKey") int monthKey, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline_events_archive SELECT * FROM timeline_events WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM timeline_events WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    interface TimelineRow {
+        Long getId();
+        String getEvent();
+        String getDetails();
+        Long getActorUserId();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -0,0 +1,12 @@
+package com.arcitech.repository;
+
+import com.arcitech.model.UserAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
+    List<UserAnswer> findByAttemptIdOrderByQuestionId(Long attemptId);
+}
@@ -2,11 +2,20 @@ package com.arcitech.repository;
 
 import com.arcitech.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
+    List<User> findByEmailIn(Collection<String> emails);
+    List<User> findByRole(User.Role role);
+
+    @Query("select u.id from User u where u.role in :roles and u.active = true")
+    List<Long> findActiveIdsByRoleIn(@Param("roles") Collection<User.Role> roles);
 }
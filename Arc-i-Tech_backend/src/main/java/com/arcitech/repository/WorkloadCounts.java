@@ -0,0 +1,12 @@
+package com.arcitech.repository;
+
+/**
+ * Open-work counters shared by the workload aggregate queries. Due-window sums are
+ * relative to the "now" and "soon" bounds the query was run with.
+ */
+public interface WorkloadCounts {
+    Long getOpenCount();
+    Long getOverdue();
+    Long getDueSoon();
+    Long getNoDueDate();
+}
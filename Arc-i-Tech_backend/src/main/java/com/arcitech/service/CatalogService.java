@@ -0,0 +1,180 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.CatalogCategoryNodeDTO;
+import com.arcitech.dto.CatalogItemDTO;
+import com.arcitech.dto.CatalogQuery;
+import com.arcitech.dto.CatalogSearchResultDTO;
+import com.arcitech.model.ServiceCatalog;
+import com.arcitech.model.ServiceCategory;
+import com.arcitech.model.ServiceCategoryMap;
+import com.arcitech.model.ServiceEntity;
+import com.arcitech.model.ServiceOffering;
+import com.arcitech.repository.ServiceCatalogRepository;
+import com.arcitech.repository.ServiceCategoryMapRepository;
+import com.arcitech.repository.ServiceCategoryRepository;
+import com.arcitech.repository.ServiceOfferingRepository;
+import com.arcitech.repository.ServiceRepository;
+import com.arcitech.service.catalog.CatalogIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Unified catalog over services, the typed service catalog and marketing offerings.
+ *
+ * All three tables plus the category hierarchy are loaded into a {@link CatalogIndex}
+ * and every search is answered from it. The index is rebuilt after catalog writes made
+ * through the application and on the same interval as the catalog snapshot; readers
+ * keep using the previous index until the new one is swapped in.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ServiceRepository serviceRepository;
+    private final ServiceCatalogRepository catalogRepository;
+    private final ServiceOfferingRepository offeringRepository;
+    private final ServiceCategoryRepository categoryRepository;
+    private final ServiceCategoryMapRepository categoryMapRepository;
+    private final ObjectMapper objectMapper;
+    private final List<BigDecimal> priceBands;
+    private volatile CatalogIndex index;
+
+    public CatalogService(ServiceRepository serviceRepository,
+                          ServiceCatalogRepository catalogRepository,
+                          ServiceOfferingRepository offeringRepository,
+                          ServiceCategoryRepository categoryRepository,
+                          ServiceCategoryMapRepository categoryMapRepository,
+                          ObjectMapper objectMapper,
+                          @Value("${app.catalog.price-bands:1000,5000,10000,50000}") List<BigDecimal> priceBands) {
+        this.serviceRepository = serviceRepository;
+        this.catalogRepository = catalogRepository;
+        this.offeringRepository = offeringRepository;
+        this.categoryRepository = categoryRepository;
+        this.categoryMapRepository = categoryMapRepository;
+        this.objectMapper = objectMapper;
+        this.priceBands = List.copyOf(priceBands);
+    }
+
+    public CatalogSearchResultDTO search(CatalogQuery query) {
+        if (query.getPage() < 0) throw new IllegalArgumentException("page must not be negative");
+        if (query.getMinPrice() != null && query.getMaxPrice() != null
+                && query.getMinPrice().compareTo(query.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        CatalogQuery bounded = query.toBuilder()
+                .size(Math.max(1, Math.min(query.getSize(), MAX_PAGE_SIZE)))
+                .build();
+        return getIndex().search(bounded);
+    }
+
+    public List<CatalogCategoryNodeDTO> getCategoryTree() {
+        return getIndex().getTree();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:300000}",
+               initialDelayString = "${app.catalog.refresh-interval-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public synchronized CatalogIndex rebuild() {
+        List<ServiceCategory> categories = categoryRepository.findAll();
+        Map<String, Integer> categoryByName = new HashMap<>();
+        categories.stream()
+                .sorted(Comparator.comparing(ServiceCategory::getCategoryId))
+                .forEach(c -> categoryByName.putIfAbsent(normalize(c.getName()), c.getCategoryId()));
+
+        // service_category_map links typed catalog entries to categories
+        Map<Long, List<Integer>> mapped = new HashMap<>();
+        for (ServiceCategoryMap m : categoryMapRepository.findAll()) {
+            if (m.getId() == null) continue;
+            mapped.computeIfAbsent(m.getId().getServiceId(), k -> new ArrayList<>()).add(m.getId().getCategoryId());
+        }
+
+        List<CatalogItemDTO> items = new ArrayList<>();
+        for (ServiceEntity s : serviceRepository.findAll()) {
+            items.add(CatalogItemDTO.builder()
+                    .source("SERVICE")
+                    .sourceId(s.getId())
+                    .name(s.getName())
+                    .description(s.getDescription())
+                    .type("SERVICE")
+                    .categoryIds(byName(categoryByName, s.getCategory()))
+                    .build());
+        }
+        for (ServiceCatalog c : catalogRepository.findAll()) {
+            if (!c.isPublic()) continue;
+            items.add(CatalogItemDTO.builder()
+                    .source("CATALOG")
+                    .sourceId(c.getServiceId())
+                    .name(c.getName())
+                    .description(c.getDescription())
+                    .type(c.getServiceType())
+                    .price(c.getBasePrice())
+                    .featured(isFeatured(c.getDisplayAttributes()))
+                    .categoryIds(List.copyOf(mapped.getOrDefault(c.getServiceId(), List.of())))
+                    .build());
+        }
+        for (ServiceOffering o : offeringRepository.findAll()) {
+            items.add(CatalogItemDTO.builder()
+                    .source("OFFERING")
+                    .sourceId(o.getId())
+                    .name(o.getName())
+                    .description(o.getShortDescription())
+                    .type("OFFERING")
+                    .price(o.getStartingPrice())
+                    .featured(o.isFeatured())
+                    .icon(o.getIcon())
+                    .categoryIds(byName(categoryByName, o.getCategory()))
+                    .build());
+        }
+
+        CatalogIndex next = CatalogIndex.build(categories, items, priceBands);
+        index = next;
+        logger.info("Catalog index rebuilt: {} items, {} categories", next.size(), next.categoryCount());
+        return next;
+    }
+
+    private CatalogIndex getIndex() {
+        CatalogIndex current = index;
+        return current != null ? current : rebuild();
+    }
+
+    // display_attributes is free-form JSON; only a top-level "featured": true is recognised
+    private boolean isFeatured(String displayAttributes) {
+        if (displayAttributes == null || displayAttributes.isBlank()) return false;
+        try {
+            JsonNode node = objectMapper.readTree(displayAttributes);
+            return node != null && node.path("featured").asBoolean(false);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static List<Integer> byName(Map<String, Integer> categoryByName, String category) {
+        Integer id = category != null ? categoryByName.get(normalize(category)) : null;
+        return id != null ? List.of(id) : List.of();
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,185 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.CurriculumDTO;
+import com.arcitech.dto.LessonDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.Course;
+import com.arcitech.model.CourseLesson;
+import com.arcitech.model.CourseModule;
+import com.arcitech.model.CourseSection;
+import com.arcitech.repository.CourseEnrollmentRepository;
+import com.arcitech.repository.CourseLessonRepository;
+import com.arcitech.repository.CourseModuleRepository;
+import com.arcitech.repository.CourseRepository;
+import com.arcitech.repository.CourseSectionRepository;
+import com.arcitech.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Course curriculum trees.
+ *
+ * A tree is assembled level by level with one IN query each (courses, modules, lessons,
+ * sections), so any number of courses costs at most five queries including the version
+ * check. Built trees are immutable and cached per course; an entry is reused only while
+ * the course's curriculumVersion is unchanged. Lesson bodies are not part of the tree
+ * and are read one lesson at a time when opened.
+ */
+@Service
+public class CurriculumService {
+
+    private static final int MAX_COURSES = 50;
+
+    private final CourseRepository courseRepository;
+    private final CourseModuleRepository moduleRepository;
+    private final CourseLessonRepository lessonRepository;
+    private final CourseSectionRepository sectionRepository;
+    private final CourseEnrollmentRepository enrollmentRepository;
+    private final TtlCache<Long, CurriculumDTO> trees;
+
+    public CurriculumService(CourseRepository courseRepository,
+                             CourseModuleRepository moduleRepository,
+                             CourseLessonRepository lessonRepository,
+                             CourseSectionRepository sectionRepository,
+                             CourseEnrollmentRepository enrollmentRepository,
+                             @Value("${app.curriculum.cache-ttl-ms:3600000}") long cacheTtlMillis,
+                             @Value("${app.curriculum.cache-max-courses:2000}") int cacheMaxCourses) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.lessonRepository = lessonRepository;
+        this.sectionRepository = sectionRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.trees = new TtlCache<>(cacheTtlMillis, cacheMaxCourses);
+    }
+
+    public CurriculumDTO getCurriculum(Long courseId) {
+        List<CurriculumDTO> trees = getCurricula(List.of(courseId));
+        if (trees.isEmpty()) throw new ResourceNotFoundException("Course not found");
+        return trees.get(0);
+    }
+
+    /**
+     * Trees of the given courses in request order; unknown ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<CurriculumDTO> getCurricula(Collection<Long> courseIds) {
+        List<Long> ids = courseIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.size() > MAX_COURSES) throw new IllegalArgumentException("At most " + MAX_COURSES + " courses per request");
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Long> versions = courseRepository.findVersions(ids).stream()
+                .collect(Collectors.toMap(CourseRepository.CourseVersion::getCourseId, CourseRepository.CourseVersion::getVersion));
+        Map<Long, CurriculumDTO> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (!versions.containsKey(id)) continue;
+            CurriculumDTO cached = trees.getIfPresent(id).orElse(null);
+            if (cached != null && cached.getVersion() == versions.get(id)) result.put(id, cached);
+            else missing.add(id);
+        }
+        if (!missing.isEmpty()) {
+            for (CurriculumDTO tree : build(missing)) {
+                trees.put(tree.getCourseId(), tree);
+                result.put(tree.getCourseId(), tree);
+            }
+        }
+        return ids.stream().map(result::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Marks a course's curriculum as changed; call after editing its modules, lessons or
+     * sections so cached trees (on every node) are rebuilt.
+     */
+    @Transactional
+    public void curriculumChanged(Long courseId) {
+        if (courseRepository.bumpCurriculumVersion(courseId) == 0) throw new ResourceNotFoundException("Course not found");
+        trees.invalidate(courseId);
+    }
+
+    /**
+     * Full lesson including its body. Admins may open any lesson; everyone else must be
+     * enrolled in the lesson's course.
+     */
+    public LessonDTO getLesson(Long lessonId, Long userId, boolean admin) {
+        CourseLesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson not found"));
+        Long courseId = checkAccess(lessonId, userId, admin);
+        return LessonDTO.builder()
+                .lessonId(lesson.getLessonId())
+                .moduleId(lesson.getModuleId())
+                .courseId(courseId)
+                .title(lesson.getTitle())
+                .orderIndex(lesson.getOrderIndex())
+                .videoUrl(lesson.getVideoUrl())
+                .content(lesson.getContent())
+                .build();
+    }
+
+    /**
+     * The lesson's video URL under the same access rule as {@link #getLesson}, without
+     * loading the lesson body; empty when the lesson has no video.
+     */
+    public Optional<String> getLessonVideoUrl(Long lessonId, Long userId, boolean admin) {
+        checkAccess(lessonId, userId, admin);
+        return lessonRepository.findVideoUrl(lessonId);
+    }
+
+    // Returns the lesson's course; not enrolled is indistinguishable from a missing lesson
+    private Long checkAccess(Long lessonId, Long userId, boolean admin) {
+        Long courseId = lessonRepository.findCourseIdByLessonId(lessonId).orElse(null);
+        if (!admin && (courseId == null || !enrollmentRepository.existsByUserIdAndCourseId(userId, courseId))) {
+            throw new ResourceNotFoundException("Lesson not found");
+        }
+        return courseId;
+    }
+
+    private List<CurriculumDTO> build(List<Long> courseIds) {
+        List<Course> courses = courseRepository.findAllById(courseIds);
+        List<CourseModule> modules = moduleRepository.findByCourseIds(courseIds);
+        List<CourseLessonRepository.LessonOutline> lessons = modules.isEmpty() ? List.of()
+                : lessonRepository.findOutlinesByModuleIds(modules.stream().map(CourseModule::getModuleId).collect(Collectors.toList()));
+        List<CourseSection> sections = sectionRepository.findByCourseIds(courseIds);
+
+        // Queries are ordered, so grouping into linked maps keeps orderIndex order
+        Map<Long, List<CurriculumDTO.Lesson>> lessonsByModule = lessons.stream().collect(Collectors.groupingBy(
+                CourseLessonRepository.LessonOutline::getModuleId, LinkedHashMap::new,
+                Collectors.mapping(l -> CurriculumDTO.Lesson.builder()
+                        .lessonId(l.getLessonId())
+                        .title(l.getTitle())
+                        .orderIndex(l.getOrderIndex())
+                        .hasVideo(l.getVideoUrl() != null && !l.getVideoUrl().isBlank())
+                        .build(), Collectors.toList())));
+        Map<Long, List<CurriculumDTO.Module>> modulesByCourse = modules.stream().collect(Collectors.groupingBy(
+                CourseModule::getCourseId, LinkedHashMap::new,
+                Collectors.mapping(m -> CurriculumDTO.Module.builder()
+                        .moduleId(m.getModuleId())
+                        .title(m.getTitle())
+                        .orderIndex(m.getOrderIndex())
+                        .lessons(List.copyOf(lessonsByModule.getOrDefault(m.getModuleId(), List.of())))
+                        .build(), Collectors.toList())));
+        Map<Long, List<CurriculumDTO.Section>> sectionsByCourse = sections.stream().collect(Collectors.groupingBy(
+                CourseSection::getCourseId, LinkedHashMap::new,
+                Collectors.mapping(s -> CurriculumDTO.Section.builder()
+                        .sectionId(s.getSectionId())
+                        .tutorUserId(s.getTutorUserId())
+                        .scheduleInfo(s.getScheduleInfo())
+                        .maxStudents(s.getMaxStudents())
+                        .startDate(s.getStartDate())
+                        .endDate(s.getEndDate())
+                        .build(), Collectors.toList())));
+
+        return courses.stream().map(c -> CurriculumDTO.builder()
+                .courseId(c.getCourseId())
+                .serviceId(c.getServiceId())
+                .title(c.getTitle())
+                .description(c.getDescription())
+                .version(c.getCurriculumVersion())
+                .modules(List.copyOf(modulesByCourse.getOrDefault(c.getCourseId(), List.of())))
+                .sections(List.copyOf(sectionsByCourse.getOrDefault(c.getCourseId(), List.of())))
+                .build()).collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,9 @@ package com.arcitech.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 public interface FileStorageService {
     /**
      * Store a file and return its URL
@@ -9,4 +12,18 @@ public interface FileStorageService {
      * @return The URL where the file can be accessed
      */
     String store(MultipartFile file);
-}
\ No newline at end of file
+
+    /**
+     * Local path of a file previously returned by {@link #store}
+     * @param url The URL returned by store
+     * @return The file, or empty if the URL is not in this storage or the file is gone
+     */
+    Optional<Path> resolve(String url);
+
+    /**
+     * Directory for files derived from stored ones (e.g. video segments), created on demand
+     * @param name Subdirectory name inside the storage root
+     * @return The directory
+     */
+    Path derivedDirectory(String name);
+}
@@ -0,0 +1,151 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.InquiryDTO;
+import com.arcitech.model.Inquiry;
+import com.arcitech.util.TokenBucketRateLimiter;
+import com.arcitech.util.TtlCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Front door of the public contact form.
+ *
+ * Submissions are rate limited per client IP and per email (token buckets), identical
+ * email + message pairs within the dedupe window are collapsed, and accepted inquiries
+ * are put on a bounded queue that a background flush writes in batches. A burst of
+ * submissions therefore costs one short insert transaction per batch instead of one
+ * connection per request, and a full queue is reported rather than blocking callers.
+ *
+ * Queued inquiries not yet flushed are lost if the process dies; the queue is drained
+ * on a clean shutdown.
+ */
+@Service
+public class InquiryIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InquiryIntakeService.class);
+    private static final int FLUSH_BATCH = 500;
+
+    public enum Outcome { ACCEPTED, DUPLICATE, RATE_LIMITED, QUEUE_FULL }
+
+    public record Result(Outcome outcome, long retryAfterMillis) {
+        static Result of(Outcome outcome) {
+            return new Result(outcome, 0);
+        }
+    }
+
+    private final InquiryService inquiryService;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    // 64-bit digests of (email, message) seen within the dedupe window
+    private final TtlCache<Long, Object> recentDigests;
+    private final BlockingQueue<Inquiry> queue;
+
+    public InquiryIntakeService(InquiryService inquiryService,
+                                @Value("${app.inquiries.ip-limit:10}") int ipLimit,
+                                @Value("${app.inquiries.ip-period-ms:600000}") long ipPeriodMs,
+                                @Value("${app.inquiries.email-limit:3}") int emailLimit,
+                                @Value("${app.inquiries.email-period-ms:3600000}") long emailPeriodMs,
+                                @Value("${app.inquiries.dedupe-window-ms:600000}") long dedupeWindowMs,
+                                @Value("${app.inquiries.queue-capacity:10000}") int queueCapacity) {
+        this.inquiryService = inquiryService;
+        this.ipLimiter = new TokenBucketRateLimiter(ipLimit, ipPeriodMs, 100_000);
+        this.emailLimiter = new TokenBucketRateLimiter(emailLimit, emailPeriodMs, 100_000);
+        this.recentDigests = new TtlCache<>(dedupeWindowMs, 100_000);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public Result submit(InquiryDTO dto, String clientIp) {
+        long wait = ipLimiter.tryAcquire(clientIp != null ? clientIp : "unknown");
+        if (wait > 0) return new Result(Outcome.RATE_LIMITED, wait);
+
+        String email = dto.getEmail() != null ? dto.getEmail().trim().toLowerCase(Locale.ROOT) : "";
+        long digest = digest(email, dto.getMessage());
+        Object marker = new Object();
+        if (recentDigests.putIfAbsent(digest, marker) != marker) return Result.of(Outcome.DUPLICATE);
+
+        wait = emailLimiter.tryAcquire(email);
+        if (wait > 0) {
+            recentDigests.invalidate(digest);
+            return new Result(Outcome.RATE_LIMITED, wait);
+        }
+
+        if (!queue.offer(inquiryService.newInquiry(dto))) {
+            recentDigests.invalidate(digest);
+            return Result.of(Outcome.QUEUE_FULL);
+        }
+        return Result.of(Outcome.ACCEPTED);
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inquiries.flush-interval-ms:200}")
+    public void flush() {
+        List<Inquiry> batch = new ArrayList<>(FLUSH_BATCH);
+        while (queue.drainTo(batch, FLUSH_BATCH) > 0) {
+            try {
+                inquiryService.saveBatch(batch);
+            } catch (RuntimeException e) {
+                // Isolate the bad row(s) instead of losing the whole batch
+                logger.warn("Inquiry batch of {} failed, retrying one by one", batch.size(), e);
+                for (Inquiry inquiry : batch) {
+                    // The rolled-back insert left a generated id behind; with it set, save()
+                    // would merge a row that does not exist instead of inserting it.
+                    inquiry.setInquiryId(null);
+                    try {
+                        inquiryService.saveBatch(List.of(inquiry));
+                    } catch (RuntimeException single) {
+                        logger.error("Dropping inquiry from {}: {}", maskEmail(inquiry.getEmail()), single.getMessage());
+                    }
+                }
+            }
+            batch.clear();
+        }
+        ipLimiter.evictIdle();
+        emailLimiter.evictIdle();
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        if (!queue.isEmpty()) {
+            logger.info("Flushing {} queued inquiries before shutdown", queue.size());
+            flush();
+        }
+    }
+
+    // j***@example.com: enough to correlate with a support request, not enough to harvest
+    static String maskEmail(String email) {
+        if (email == null) return "unknown";
+        int at = email.indexOf('@');
+        if (at <= 0) return "***";
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
+    private static long digest(String email, String message) {
+        String normalized = message == null ? "" : message.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(email.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(sha.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.InquiryPipelineFilter;
+import com.arcitech.dto.InquiryPipelineItemDTO;
+import com.arcitech.dto.InquiryPipelineStatsDTO;
+import com.arcitech.model.Inquiry;
+import com.arcitech.repository.InquiryRepository;
+import com.arcitech.repository.InquiryStageDailyRepository;
+import com.arcitech.repository.InquiryStageDurationRepository;
+import com.arcitech.util.TtlCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * CRM view over inquiries and their leads: a filtered, keyset-paginated pipeline listing
+ * and funnel statistics.
+ *
+ * Statistics are read from daily rollups (entered/exited per stage, plus a histogram of
+ * time spent in a stage) that are updated in the same transaction as every inquiry
+ * creation, status change and deletion, so they never scan the inquiries table.
+ */
+@Service
+@RequiredArgsConstructor
+public class InquiryPipelineService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String[][] FUNNEL = {
+            {"NEW", "IN_DISCUSSION"}, {"IN_DISCUSSION", "QUOTED"}, {"QUOTED", "WON"}
+    };
+
+    private final InquiryRepository inquiryRepository;
+    private final InquiryStageDailyRepository stageDailyRepository;
+    private final InquiryStageDurationRepository stageDurationRepository;
+
+    private final TtlCache<InquiryPipelineFilter, Long> countCache = new TtlCache<>(60_000, 1_000);
+    private final TtlCache<String, InquiryPipelineStatsDTO> statsCache = new TtlCache<>(60_000, 1_000);
+
+    // --- Listing ---
+
+    public CursorPageDTO<InquiryPipelineItemDTO> getPipeline(InquiryPipelineFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                beforeId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        LocalDateTime createdFrom = filter.getCreatedFrom() != null ? filter.getCreatedFrom().atStartOfDay() : null;
+        LocalDateTime createdTo = filter.getCreatedTo() != null ? filter.getCreatedTo().plusDays(1).atStartOfDay() : null;
+
+        List<InquiryRepository.PipelineRow> rows = inquiryRepository.findPipeline(beforeId,
+                filter.getStatus(), filter.getLeadStatus(), filter.getAssignedToUserId(), filter.getSource(),
+                filter.getEmail(), createdFrom, createdTo, PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = String.valueOf(rows.get(limit - 1).getInquiryId());
+        }
+
+        long total = countCache.get(filter, f -> inquiryRepository.countPipeline(
+                f.getStatus(), f.getLeadStatus(), f.getAssignedToUserId(), f.getSource(), f.getEmail(),
+                createdFrom, createdTo));
+
+        return CursorPageDTO.<InquiryPipelineItemDTO>builder()
+                .items(rows.stream().map(this::toItem).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .size(limit)
+                .totalCount(total)
+                .build();
+    }
+
+    // --- Funnel statistics ---
+
+    public InquiryPipelineStatsDTO getStats(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) throw new IllegalArgumentException("from must not be after to");
+        return statsCache.get(start + "|" + end, k -> computeStats(start, end));
+    }
+
+    private InquiryPipelineStatsDTO computeStats(LocalDate from, LocalDate to) {
+        Map<String, long[]> range = new HashMap<>();
+        for (InquiryStageDailyRepository.StageTotals t : stageDailyRepository.sumBetween(from, to)) {
+            range.put(t.getStage(), new long[]{nz(t.getEntered()), nz(t.getExited())});
+        }
+        Map<String, Long> current = new HashMap<>();
+        for (InquiryStageDailyRepository.StageTotals t : stageDailyRepository.sumAll()) {
+            current.put(t.getStage(), Math.max(0, nz(t.getEntered()) - nz(t.getExited())));
+        }
+        Map<String, TreeMap<Integer, Long>> histograms = new HashMap<>();
+        for (InquiryStageDurationRepository.BucketTotals b : stageDurationRepository.sumBetween(from, to)) {
+            histograms.computeIfAbsent(b.getStage(), k -> new TreeMap<>()).put(b.getBucket(), nz(b.getExits()));
+        }
+
+        List<InquiryPipelineStatsDTO.StageStats> stages = new ArrayList<>();
+        for (Inquiry.Status status : Inquiry.Status.values()) {
+            String stage = status.name();
+            long[] counts = range.getOrDefault(stage, new long[2]);
+            TreeMap<Integer, Long> histogram = histograms.getOrDefault(stage, new TreeMap<>());
+            stages.add(InquiryPipelineStatsDTO.StageStats.builder()
+                    .stage(stage)
+                    .entered(counts[0])
+                    .exited(counts[1])
+                    .current(current.getOrDefault(stage, 0L))
+                    .medianHoursInStage(medianHours(histogram))
+                    .measuredExits(histogram.values().stream().mapToLong(Long::longValue).sum())
+                    .build());
+        }
+
+        Map<String, Double> conversion = new LinkedHashMap<>();
+        for (String[] step : FUNNEL) {
+            conversion.put(step[0] + "->" + step[1],
+                    ratio(range.getOrDefault(step[1], new long[2])[0], range.getOrDefault(step[0], new long[2])[0]));
+        }
+        long won = range.getOrDefault("WON", new long[2])[0];
+        long lost = range.getOrDefault("LOST", new long[2])[0];
+
+        return InquiryPipelineStatsDTO.builder()
+                .from(from)
+                .to(to)
+                .stages(stages)
+                .conversionRates(conversion)
+                .winRate(ratio(won, won + lost))
+                .build();
+    }
+
+    // --- Rollup maintenance (called inside the caller's transaction) ---
+
+    public void recordCreated(Collection<Inquiry> inquiries) {
+        Map<LocalDate, Long> perDay = new HashMap<>();
+        for (Inquiry inquiry : inquiries) {
+            LocalDateTime at = inquiry.getCreatedAt() != null ? inquiry.getCreatedAt() : LocalDateTime.now();
+            perDay.merge(at.toLocalDate(), 1L, Long::sum);
+        }
+        perDay.forEach((day, count) -> stageDailyRepository.add(day, Inquiry.Status.NEW.name(), count, 0));
+    }
+
+    public void recordTransition(Inquiry.Status from, LocalDateTime enteredFromAt, Inquiry.Status to,
+                                 LocalDateTime at) {
+        if (from == to) return;
+        LocalDate day = at.toLocalDate();
+        if (from != null) {
+            stageDailyRepository.add(day, from.name(), 0, 1);
+            if (enteredFromAt != null && !enteredFromAt.isAfter(at)) {
+                stageDurationRepository.add(day, from.name(),
+                        bucketOf(Duration.between(enteredFromAt, at).toMinutes()), 1);
+            }
+        }
+        if (to != null) stageDailyRepository.add(day, to.name(), 1, 0);
+    }
+
+    public void recordDeleted(Inquiry.Status status) {
+        if (status != null) stageDailyRepository.add(LocalDate.now(), status.name(), 0, 1);
+    }
+
+    /**
+     * Rebuilds the stage rollups from the inquiries currently stored. Intermediate stages
+     * and time-in-stage history cannot be recovered, so only creation and the current
+     * stage are counted and duration histograms start empty.
+     */
+    @Transactional
+    public void rebuildRollups() {
+        stageDailyRepository.deleteAllRows();
+        stageDurationRepository.deleteAllRows();
+        stageDailyRepository.backfillCreated();
+        stageDailyRepository.backfillLeftNew();
+        stageDailyRepository.backfillCurrentStage();
+        statsCache.invalidateAll();
+    }
+
+    // --- Histogram helpers: quarter-octave buckets of minutes ---
+
+    static int bucketOf(long minutes) {
+        return (int) Math.floor(4 * Math.log(1 + Math.max(0, minutes)) / Math.log(2));
+    }
+
+    private static double bucketStartMinutes(int bucket) {
+        return Math.pow(2, bucket / 4.0) - 1;
+    }
+
+    // Interpolates linearly inside the bucket that holds the middle observation
+    private static Double medianHours(TreeMap<Integer, Long> histogram) {
+        long total = histogram.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) return null;
+        double half = total / 2.0;
+        long seen = 0;
+        for (Map.Entry<Integer, Long> e : histogram.entrySet()) {
+            if (seen + e.getValue() >= half) {
+                double lo = bucketStartMinutes(e.getKey());
+                double hi = bucketStartMinutes(e.getKey() + 1);
+                double minutes = lo + (hi - lo) * ((half - seen) / e.getValue());
+                return Math.round(minutes / 60.0 * 100) / 100.0;
+            }
+            seen += e.getValue();
+        }
+        return null;
+    }
+
+    private static Double ratio(long numerator, long denominator) {
+        if (denominator <= 0) return null;
+        return Math.round(numerator * 10_000.0 / denominator) / 10_000.0;
+    }
+
+    private static long nz(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private InquiryPipelineItemDTO toItem(InquiryRepository.PipelineRow row) {
+        return InquiryPipelineItemDTO.builder()
+                .inquiryId(row.getInquiryId())
+                .fullName(row.getFullName())
+                .email(row.getEmail())
+                .company(row.getCompany())
+                .source(row.getSource())
+                .status(row.getStatus() != null ? row.getStatus().name() : null)
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .slaBreached(row.getSlaEscalatedAt() != null)
+                .leadId(row.getLeadId())
+                .leadStatus(row.getLeadStatus())
+                .assignedToUserId(row.getAssignedToUserId())
+                .build();
+    }
+}
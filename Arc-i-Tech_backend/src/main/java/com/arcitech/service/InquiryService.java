@@ -2,9 +2,13 @@ package com.arcitech.service;
 
 import com.arcitech.dto.InquiryDTO;
 import com.arcitech.model.Inquiry;
+import com.arcitech.model.TimelineEvent;
 import com.arcitech.repository.InquiryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,39 +19,75 @@ import java.util.stream.Collectors;
 public class InquiryService {
 
     private final InquiryRepository inquiryRepository;
+    private final SlaService slaService;
+    private final InquiryPipelineService pipelineService;
 
-    public Inquiry createInquiry(InquiryDTO dto) {
-        Inquiry inquiry = Inquiry.builder()
+    // Unsaved NEW inquiry from a contact-form submission
+    public Inquiry newInquiry(InquiryDTO dto) {
+        LocalDateTime now = LocalDateTime.now();
+        return Inquiry.builder()
                 .fullName(dto.getFullName())
                 .email(dto.getEmail())
                 .message(dto.getMessage())
                 .status(Inquiry.Status.NEW)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
+                .createdAt(now)
+                .updatedAt(now)
                 .build();
+    }
 
-        return inquiryRepository.save(inquiry);
+    // Inserts queued inquiries in one transaction (JDBC-batched) and starts their SLA clocks
+    // once it commits, so a failed batch leaves no clocks behind for ids that were never written
+    @Transactional
+    public void saveBatch(List<Inquiry> inquiries) {
+        List<Inquiry> saved = inquiryRepository.saveAll(inquiries);
+        pipelineService.recordCreated(saved);
+        Runnable track = () -> {
+            for (Inquiry inquiry : saved) {
+                slaService.trackInquiry(inquiry.getId(), inquiry.getStatus(), inquiry.getCreatedAt());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            track.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                track.run();
+            }
+        });
     }
 
     public List<InquiryDTO> getAllInquiries() {
         return inquiryRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
     }
 
+    @Transactional
     public InquiryDTO updateInquiryStatus(Long id, String status) {
         Inquiry inquiry = inquiryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found"));
 
+        // updatedAt only moves on status changes, so it marks when the old stage was entered
+        Inquiry.Status previous = inquiry.getStatus();
+        LocalDateTime enteredPrevious = inquiry.getUpdatedAt() != null ? inquiry.getUpdatedAt() : inquiry.getCreatedAt();
+        LocalDateTime now = LocalDateTime.now();
         inquiry.setStatus(Inquiry.Status.valueOf(status));
-        inquiry.setUpdatedAt(LocalDateTime.now());
+        inquiry.setUpdatedAt(now);
+        pipelineService.recordTransition(previous, enteredPrevious, inquiry.getStatus(), now);
+        inquiry.setSlaEscalatedAt(null);
         Inquiry updated = inquiryRepository.save(inquiry);
+        slaService.trackInquiry(updated.getId(), updated.getStatus(), updated.getUpdatedAt());
 
         return toDTO(updated);
     }
 
+    @Transactional
     public void deleteInquiry(Long id) {
-        if (!inquiryRepository.existsById(id))
-            throw new RuntimeException("Inquiry not found");
-        inquiryRepository.deleteById(id);
+        Inquiry inquiry = inquiryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Inquiry not found"));
+        pipelineService.recordDeleted(inquiry.getStatus());
+        inquiryRepository.delete(inquiry);
+        slaService.stop(TimelineEvent.SubjectType.INQUIRY, id);
     }
 
     private InquiryDTO toDTO(Inquiry inquiry) {
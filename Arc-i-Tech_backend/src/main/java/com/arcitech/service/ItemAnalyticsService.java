@@ -0,0 +1,298 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.ItemAnalyticsDTO;
+import com.arcitech.dto.ItemAnalyticsRunDTO;
+import com.arcitech.model.AnswerOption;
+import com.arcitech.model.ItemAnalytics;
+import com.arcitech.model.ItemOptionAnalytics;
+import com.arcitech.model.Question;
+import com.arcitech.repository.AnswerOptionRepository;
+import com.arcitech.repository.ItemAnalyticsRepository;
+import com.arcitech.repository.ItemOptionAnalyticsRepository;
+import com.arcitech.repository.QuestionRepository;
+import com.arcitech.service.quiz.ItemStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assessment item analytics.
+ *
+ * A run streams every answer of every submitted attempt through a forward-only JDBC
+ * cursor (MySQL row streaming), ordered so that the rows of one attempt's question are
+ * adjacent. Nothing is loaded into the persistence context and memory is bounded by the
+ * number of items and options, not answers. The per-item results (difficulty, point-
+ * biserial discrimination, option choice statistics) replace the summary tables in one
+ * transaction; the API only reads those tables.
+ */
+@Service
+public class ItemAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemAnalyticsService.class);
+
+    // Free-text answers (is_correct null) are not graded and therefore not analysed
+    private static final String ANSWER_STREAM_SQL =
+            "select a.quiz_id, ua.attempt_id, a.final_score, ua.question_id, ua.answer_option_id, ua.is_correct " +
+            "from user_answers ua join quiz_attempts a on a.attempt_id = ua.attempt_id " +
+            "where a.end_time is not null and a.final_score is not null and ua.is_correct is not null " +
+            "order by ua.attempt_id, ua.question_id";
+
+    private static final int WRITE_CHUNK = 1000;
+
+    // Review thresholds
+    private static final double TOO_EASY = 0.9;
+    private static final double TOO_HARD = 0.2;
+    private static final double LOW_DISCRIMINATION = 0.2;
+
+    private record ItemKey(long quizId, long questionId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemAnalyticsRepository itemRepository;
+    private final ItemOptionAnalyticsRepository optionRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerOptionRepository answerOptionRepository;
+    private final long minRespondents;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ItemAnalyticsService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ItemAnalyticsRepository itemRepository,
+                                ItemOptionAnalyticsRepository optionRepository,
+                                QuestionRepository questionRepository,
+                                AnswerOptionRepository answerOptionRepository,
+                                @Value("${app.analytics.items.min-respondents:30}") long minRespondents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.itemRepository = itemRepository;
+        this.optionRepository = optionRepository;
+        this.questionRepository = questionRepository;
+        this.answerOptionRepository = answerOptionRepository;
+        this.minRespondents = minRespondents;
+    }
+
+    @Scheduled(cron = "${app.analytics.items.cron:0 30 4 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    /**
+     * Recomputes all item statistics. Returns {@code started = false} when a run is
+     * already in progress.
+     */
+    public ItemAnalyticsRunDTO run() {
+        if (!running.compareAndSet(false, true)) return ItemAnalyticsRunDTO.builder().started(false).build();
+        try {
+            return compute();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ItemAnalyticsRunDTO compute() {
+        long started = System.currentTimeMillis();
+        Map<ItemKey, ItemStatistics> items = new HashMap<>();
+        Aggregator aggregator = new Aggregator(items);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ANSWER_STREAM_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J streams rows one at a time instead of buffering the whole result
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, aggregator);
+        aggregator.finishGroup();
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Boolean> optionCorrect = loadOptionCorrectness(items);
+        int options = persist(items, optionCorrect, now);
+
+        ItemAnalyticsRunDTO result = ItemAnalyticsRunDTO.builder()
+                .started(true)
+                .answerRows(aggregator.rows)
+                .responses(aggregator.responses)
+                .items(items.size())
+                .options(options)
+                .durationMs(System.currentTimeMillis() - started)
+                .computedAt(now)
+                .build();
+        logger.info("Item analytics: {} answer rows, {} responses, {} items in {} ms",
+                result.getAnswerRows(), result.getResponses(), result.getItems(), result.getDurationMs());
+        return result;
+    }
+
+    // Folds the rows of one (attempt, question) into a single response
+    private static final class Aggregator implements RowCallbackHandler {
+        final Map<ItemKey, ItemStatistics> items;
+        long rows;
+        long responses;
+
+        long attemptId = -1;
+        long questionId = -1;
+        long quizId;
+        double score;
+        boolean correct;
+        long[] chosen = new long[8];
+        int chosenCount;
+
+        Aggregator(Map<ItemKey, ItemStatistics> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            rows++;
+            long attempt = rs.getLong(2);
+            long question = rs.getLong(4);
+            if (attempt != attemptId || question != questionId) {
+                finishGroup();
+                attemptId = attempt;
+                questionId = question;
+                quizId = rs.getLong(1);
+                score = rs.getDouble(3);
+                correct = rs.getBoolean(6);
+                chosenCount = 0;
+            }
+            long option = rs.getLong(5);
+            if (!rs.wasNull()) {
+                if (chosenCount == chosen.length) chosen = Arrays.copyOf(chosen, chosen.length * 2);
+                chosen[chosenCount++] = option;
+            }
+        }
+
+        void finishGroup() {
+            if (attemptId < 0) return;
+            items.computeIfAbsent(new ItemKey(quizId, questionId), k -> new ItemStatistics())
+                    .add(correct, score, chosen, chosenCount);
+            responses++;
+            attemptId = -1;
+        }
+    }
+
+    private Map<Long, Boolean> loadOptionCorrectness(Map<ItemKey, ItemStatistics> items) {
+        List<Long> ids = items.values().stream()
+                .flatMap(s -> s.options().keySet().stream())
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Boolean> correct = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i += WRITE_CHUNK) {
+            for (AnswerOption o : answerOptionRepository.findAllById(ids.subList(i, Math.min(ids.size(), i + WRITE_CHUNK)))) {
+                correct.put(o.getAnswerOptionId(), Boolean.TRUE.equals(o.getIsCorrect()));
+            }
+        }
+        return correct;
+    }
+
+    private int persist(Map<ItemKey, ItemStatistics> items, Map<Long, Boolean> optionCorrect, LocalDateTime now) {
+        List<Object[]> itemRows = new ArrayList<>(items.size());
+        List<Object[]> optionRows = new ArrayList<>();
+        Timestamp computedAt = Timestamp.valueOf(now);
+        items.forEach((key, stats) -> {
+            itemRows.add(new Object[]{key.quizId(), key.questionId(), stats.respondents(), stats.correct(),
+                    stats.omitted(), stats.pValue(), stats.discrimination(), stats.meanScore(), computedAt});
+            stats.options().forEach((optionId, sums) -> optionRows.add(new Object[]{
+                    key.quizId(), key.questionId(), optionId, sums.selections(),
+                    (double) sums.selections() / stats.respondents(), sums.meanScore(), optionCorrect.get(optionId)}));
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from item_option_analytics");
+            jdbcTemplate.update("delete from item_analytics");
+            for (int i = 0; i < itemRows.size(); i += WRITE_CHUNK) {
+                jdbcTemplate.batchUpdate("insert into item_analytics (quiz_id, question_id, respondents, correct, omitted, " +
+                        "p_value, discrimination, mean_score, computed_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        itemRows.subList(i, Math.min(itemRows.size(), i + WRITE_CHUNK)));
+            }
+            for (int i = 0; i < optionRows.size(); i += WRITE_CHUNK) {
+                jdbcTemplate.batchUpdate("insert into item_option_analytics (quiz_id, question_id, answer_option_id, " +
+                        "selections, selection_rate, mean_score, is_correct) values (?, ?, ?, ?, ?, ?, ?)",
+                        optionRows.subList(i, Math.min(optionRows.size(), i + WRITE_CHUNK)));
+            }
+        });
+        return optionRows.size();
+    }
+
+    // --- Reads ---
+
+    public List<ItemAnalyticsDTO> getQuizAnalytics(Long quizId) {
+        List<ItemAnalytics> items = itemRepository.findByQuizIdOrderByQuestionId(quizId);
+        if (items.isEmpty()) return List.of();
+        Map<Long, List<ItemOptionAnalytics>> optionsByQuestion = optionRepository
+                .findByQuizIdOrderByQuestionIdAscAnswerOptionIdAsc(quizId).stream()
+                .collect(Collectors.groupingBy(ItemOptionAnalytics::getQuestionId));
+        Map<Long, Question> questions = questionRepository.findAllById(
+                        items.stream().map(ItemAnalytics::getQuestionId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Question::getQuestionId, Function.identity()));
+        Map<Long, String> optionTexts = answerOptionRepository.findByQuizId(quizId).stream()
+                .collect(Collectors.toMap(AnswerOption::getAnswerOptionId,
+                        o -> o.getAnswerText() != null ? o.getAnswerText() : ""));
+
+        List<ItemAnalyticsDTO> result = new ArrayList<>(items.size());
+        for (ItemAnalytics item : items) {
+            Question question = questions.get(item.getQuestionId());
+            ItemAnalyticsDTO dto = ItemAnalyticsDTO.builder()
+                    .quizId(item.getQuizId())
+                    .questionId(item.getQuestionId())
+                    .questionText(question != null ? question.getQuestionText() : null)
+                    .topic(question != null ? question.getTopic() : null)
+                    .respondents(item.getRespondents())
+                    .correct(item.getCorrect())
+                    .omitted(item.getOmitted())
+                    .pValue(item.getPValue())
+                    .discrimination(item.getDiscrimination())
+                    .meanScore(item.getMeanScore())
+                    .computedAt(item.getComputedAt())
+                    .build();
+            for (ItemOptionAnalytics o : optionsByQuestion.getOrDefault(item.getQuestionId(), List.of())) {
+                dto.getOptions().add(ItemAnalyticsDTO.OptionStats.builder()
+                        .answerOptionId(o.getAnswerOptionId())
+                        .answerText(optionTexts.get(o.getAnswerOptionId()))
+                        .correct(o.getIsCorrect())
+                        .selections(o.getSelections())
+                        .selectionRate(o.getSelectionRate())
+                        .meanScore(o.getMeanScore())
+                        .build());
+            }
+            dto.setFlags(flags(dto));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private List<String> flags(ItemAnalyticsDTO item) {
+        List<String> flags = new ArrayList<>();
+        if (item.getRespondents() < minRespondents) return flags;
+        Double p = item.getPValue();
+        if (p != null && p > TOO_EASY) flags.add("TOO_EASY");
+        if (p != null && p < TOO_HARD) flags.add("TOO_HARD");
+        Double r = item.getDiscrimination();
+        if (r != null && r < 0) flags.add("NEGATIVE_DISCRIMINATION");
+        else if (r != null && r < LOW_DISCRIMINATION) flags.add("LOW_DISCRIMINATION");
+
+        // A wrong option chosen by takers who score better than those choosing a right one
+        double bestCorrectMean = item.getOptions().stream()
+                .filter(o -> Boolean.TRUE.equals(o.getCorrect()) && o.getMeanScore() != null)
+                .mapToDouble(ItemAnalyticsDTO.OptionStats::getMeanScore).max().orElse(Double.NaN);
+        boolean strongDistractor = !Double.isNaN(bestCorrectMean) && item.getOptions().stream()
+                .anyMatch(o -> !Boolean.TRUE.equals(o.getCorrect()) && o.getMeanScore() != null
+                        && o.getMeanScore() > bestCorrectMean);
+        if (strongDistractor) flags.add("STRONG_DISTRACTOR");
+        return flags;
+    }
+}
@@ -0,0 +1,176 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.CourseProgressDTO;
+import com.arcitech.dto.SectionProgressDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.CourseSection;
+import com.arcitech.repository.CourseEnrollmentRepository;
+import com.arcitech.repository.CourseLessonRepository;
+import com.arcitech.repository.CourseRepository;
+import com.arcitech.repository.CourseSectionRepository;
+import com.arcitech.service.course.LessonBitmap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Lesson completion per enrollment.
+ *
+ * Each lesson gets a stable ordinal within its course the first time progress touches
+ * it, and an enrollment stores the ordinals it has completed as a {@link LessonBitmap}.
+ * Marking a lesson is a compare-and-set on the enrollment's progress version, so two
+ * tabs completing different lessons never lose each other's update. Roster percentages
+ * are bitmap cardinalities intersected with the course's current lessons, so deleted
+ * lessons stop counting without rewriting anyone's progress.
+ */
+@Service
+public class LessonProgressService {
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private final CourseRepository courseRepository;
+    private final CourseLessonRepository lessonRepository;
+    private final CourseSectionRepository sectionRepository;
+    private final CourseEnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public LessonProgressService(CourseRepository courseRepository,
+                                 CourseLessonRepository lessonRepository,
+                                 CourseSectionRepository sectionRepository,
+                                 CourseEnrollmentRepository enrollmentRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.sectionRepository = sectionRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public CourseProgressDTO markLesson(Long userId, Long lessonId, boolean completed) {
+        Long courseId = lessonRepository.findCourseIdByLessonId(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson not found"));
+        if (!enrollmentRepository.existsByUserIdAndCourseId(userId, courseId)) {
+            throw new ResourceNotFoundException("Lesson not found");
+        }
+        CourseLessons lessons = loadLessons(courseId);
+        Integer ordinal = lessons.ordinals().get(lessonId);
+        if (ordinal == null) {
+            lessons = assignOrdinals(courseId);
+            ordinal = lessons.ordinals().get(lessonId);
+        }
+
+        // Each attempt reads and writes in its own short transaction so a retry sees the winner's bits
+        int bit = ordinal;
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Boolean applied = transactionTemplate.execute(status -> {
+                CourseEnrollmentRepository.ProgressState state = findState(userId, courseId);
+                LessonBitmap current = LessonBitmap.decode(state.getCompletedLessons());
+                LessonBitmap next = completed ? current.with(bit) : current.without(bit);
+                return next.equals(current)
+                        || enrollmentRepository.updateProgress(state.getEnrollmentId(), next.encode(), state.getProgressVersion()) == 1;
+            });
+            if (Boolean.TRUE.equals(applied)) return getProgress(userId, courseId);
+        }
+        throw new IllegalStateException("Progress is being updated concurrently, try again");
+    }
+
+    public CourseProgressDTO getProgress(Long userId, Long courseId) {
+        CourseEnrollmentRepository.ProgressState state = findState(userId, courseId);
+        CourseLessons lessons = loadLessons(courseId);
+        LessonBitmap done = LessonBitmap.decode(state.getCompletedLessons());
+
+        List<Long> completedIds = new ArrayList<>();
+        for (Map.Entry<Long, Integer> e : lessons.ordinals().entrySet()) {
+            if (done.contains(e.getValue())) completedIds.add(e.getKey());
+        }
+        return CourseProgressDTO.builder()
+                .courseId(courseId)
+                .enrollmentId(state.getEnrollmentId())
+                .completedLessonIds(completedIds)
+                .completedLessons(completedIds.size())
+                .totalLessons(lessons.total())
+                .percentComplete(percent(completedIds.size(), lessons.total()))
+                .build();
+    }
+
+    /**
+     * Completion for everyone enrolled in a section, in one roster query. Visible to the
+     * section's tutor and to admins.
+     */
+    public SectionProgressDTO getSectionProgress(Long sectionId, Long viewerId, boolean admin) {
+        CourseSection section = sectionRepository.findById(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Section not found"));
+        if (!admin && !viewerId.equals(section.getTutorUserId())) {
+            throw new ResourceNotFoundException("Section not found");
+        }
+        CourseLessons lessons = loadLessons(section.getCourseId());
+
+        List<SectionProgressDTO.Learner> learners = new ArrayList<>();
+        double percentSum = 0;
+        for (CourseEnrollmentRepository.RosterRow row : enrollmentRepository.findRoster(sectionId)) {
+            int done = LessonBitmap.decode(row.getCompletedLessons()).cardinalityAnd(lessons.live());
+            double pct = percent(done, lessons.total());
+            percentSum += pct;
+            learners.add(SectionProgressDTO.Learner.builder()
+                    .enrollmentId(row.getEnrollmentId())
+                    .userId(row.getUserId())
+                    .fullName(row.getFullName())
+                    .email(row.getEmail())
+                    .completedLessons(done)
+                    .percentComplete(pct)
+                    .build());
+        }
+        return SectionProgressDTO.builder()
+                .sectionId(sectionId)
+                .courseId(section.getCourseId())
+                .totalLessons(lessons.total())
+                .averagePercentComplete(learners.isEmpty() ? 0 : Math.round(percentSum / learners.size() * 10) / 10.0)
+                .learners(learners)
+                .build();
+    }
+
+    private CourseEnrollmentRepository.ProgressState findState(Long userId, Long courseId) {
+        List<CourseEnrollmentRepository.ProgressState> states = enrollmentRepository.findProgress(userId, courseId);
+        if (states.isEmpty()) throw new ResourceNotFoundException("Enrollment not found");
+        return states.get(0);
+    }
+
+    // Numbers the course's unnumbered lessons after the highest existing ordinal, in curriculum order
+    private CourseLessons assignOrdinals(Long courseId) {
+        return transactionTemplate.execute(status -> {
+            courseRepository.lockById(courseId).orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+            List<CourseLessonRepository.LessonOrdinal> rows = lessonRepository.findOrdinalsByCourseId(courseId);
+            int next = rows.stream().map(CourseLessonRepository.LessonOrdinal::getOrdinal)
+                    .filter(Objects::nonNull).mapToInt(Integer::intValue).max().orElse(-1) + 1;
+            for (CourseLessonRepository.LessonOrdinal row : rows) {
+                if (row.getOrdinal() != null) continue;
+                if (next > LessonBitmap.MAX_ORDINAL) throw new IllegalStateException("Course has too many lessons to track");
+                lessonRepository.assignOrdinal(row.getLessonId(), next++);
+            }
+            return loadLessons(courseId);
+        });
+    }
+
+    private CourseLessons loadLessons(Long courseId) {
+        List<CourseLessonRepository.LessonOrdinal> rows = lessonRepository.findOrdinalsByCourseId(courseId);
+        Map<Long, Integer> ordinals = new LinkedHashMap<>();
+        for (CourseLessonRepository.LessonOrdinal row : rows) {
+            if (row.getOrdinal() != null) ordinals.put(row.getLessonId(), row.getOrdinal());
+        }
+        LessonBitmap live = LessonBitmap.of(ordinals.values().stream().mapToInt(Integer::intValue).toArray());
+        return new CourseLessons(ordinals, live, rows.size());
+    }
+
+    private static double percent(int done, int total) {
+        return total == 0 ? 0 : Math.round(done * 1000.0 / total) / 10.0;
+    }
+
+    // Current lessons of a course: lessonId -> ordinal, the ordinals as a mask, and the lesson count
+    private record CourseLessons(Map<Long, Integer> ordinals, LessonBitmap live, int total) {}
+}
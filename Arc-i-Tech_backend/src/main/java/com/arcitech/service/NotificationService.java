@@ -10,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -50,6 +52,24 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
+    // Same notification to many users, without loading them; inserted with one saveAll
+    public void sendToUsers(Collection<Long> userIds, NotificationDTO dto) {
+        if (userIds.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        List<UserNotification> notifications = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            notifications.add(UserNotification.builder()
+                    .title(dto.getTitle())
+                    .message(dto.getMessage())
+                    .readFlag(false)
+                    .type(UserNotification.Type.valueOf(dto.getType()))
+                    .createdAt(now)
+                    .recipient(userRepository.getReferenceById(userId))
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
     private NotificationDTO toDTO(UserNotification entity) {
         NotificationDTO dto = new NotificationDTO();
         dto.setId(entity.getId());
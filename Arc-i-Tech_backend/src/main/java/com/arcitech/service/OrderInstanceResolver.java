@@ -0,0 +1,85 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.OrderInstanceDTO;
+import com.arcitech.model.ServiceOrder;
+import com.arcitech.repository.AppointmentRepository;
+import com.arcitech.repository.CourseEnrollmentRepository;
+import com.arcitech.repository.InternApplicationRepository;
+import com.arcitech.repository.OrderInstanceRow;
+import com.arcitech.repository.ProjectRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Resolves the polymorphic instanceType/instanceId of orders. Orders are grouped by
+ * type and each type is loaded with a single IN query, so a page costs at most one
+ * query per instance type however the orders are mixed.
+ */
+@Component
+public class OrderInstanceResolver {
+
+    private final Map<ServiceOrder.InstanceType, Function<Collection<Long>, List<OrderInstanceRow>>> loaders =
+            new EnumMap<>(ServiceOrder.InstanceType.class);
+
+    public OrderInstanceResolver(CourseEnrollmentRepository enrollmentRepository,
+                                 AppointmentRepository appointmentRepository,
+                                 ProjectRepository projectRepository,
+                                 InternApplicationRepository applicationRepository) {
+        loaders.put(ServiceOrder.InstanceType.COURSE_ENROLLMENT, enrollmentRepository::findOrderInstances);
+        loaders.put(ServiceOrder.InstanceType.APPOINTMENT, appointmentRepository::findOrderInstances);
+        loaders.put(ServiceOrder.InstanceType.PROJECT, projectRepository::findOrderInstances);
+        loaders.put(ServiceOrder.InstanceType.INTERN_APPLICATION, applicationRepository::findOrderInstances);
+    }
+
+    /**
+     * Returns the instance of each order keyed by orderId. Orders whose instance is missing
+     * or whose type is unknown are left out.
+     */
+    public Map<Long, OrderInstanceDTO> resolve(Collection<ServiceOrder> orders) {
+        Map<ServiceOrder.InstanceType, Set<Long>> idsByType = new EnumMap<>(ServiceOrder.InstanceType.class);
+        for (ServiceOrder order : orders) {
+            ServiceOrder.InstanceType type = typeOf(order);
+            if (type != null) idsByType.computeIfAbsent(type, t -> new HashSet<>()).add(order.getInstanceId());
+        }
+
+        Map<ServiceOrder.InstanceType, Map<Long, OrderInstanceDTO>> loaded = new EnumMap<>(ServiceOrder.InstanceType.class);
+        idsByType.forEach((type, ids) -> {
+            Map<Long, OrderInstanceDTO> byId = new HashMap<>();
+            for (OrderInstanceRow row : loaders.get(type).apply(ids)) {
+                byId.put(row.getId(), toDTO(type, row));
+            }
+            loaded.put(type, byId);
+        });
+
+        Map<Long, OrderInstanceDTO> result = new HashMap<>();
+        for (ServiceOrder order : orders) {
+            ServiceOrder.InstanceType type = typeOf(order);
+            OrderInstanceDTO instance = type != null ? loaded.get(type).get(order.getInstanceId()) : null;
+            if (instance != null) result.put(order.getOrderId(), instance);
+        }
+        return result;
+    }
+
+    private static ServiceOrder.InstanceType typeOf(ServiceOrder order) {
+        if (order.getInstanceType() == null || order.getInstanceId() == null) return null;
+        try {
+            return ServiceOrder.InstanceType.valueOf(order.getInstanceType());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static OrderInstanceDTO toDTO(ServiceOrder.InstanceType type, OrderInstanceRow row) {
+        return OrderInstanceDTO.builder()
+                .type(type.name())
+                .id(row.getId())
+                .title(row.getTitle())
+                .status(row.getStatus() != null ? row.getStatus().toString() : null)
+                .startsAt(row.getStartsAt())
+                .endsAt(row.getEndsAt())
+                .detail(row.getDetail())
+                .build();
+    }
+}
@@ -0,0 +1,343 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.OrderInstanceDTO;
+import com.arcitech.dto.OrderRequestDTO;
+import com.arcitech.dto.ProjectDTO;
+import com.arcitech.dto.ServiceOrderDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.*;
+import com.arcitech.repository.*;
+import com.arcitech.util.TtlCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Order placement. An order snapshots the catalog price and creates the thing that was
+ * bought (course enrollment, mentorship appointment, project or internship application)
+ * in the same transaction.
+ *
+ * Client retries are deduplicated by idempotency key: the first request for a key
+ * registers a pending result in a TTL cache before touching the database, concurrent
+ * retries wait for that result and later ones get it straight from the cache.
+ */
+@Service
+public class OrderService {
+
+    public static final String STATUS_PLACED = "PLACED";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    public enum Outcome { CREATED, REPLAYED, IN_PROGRESS }
+
+    public record Result(Outcome outcome, ServiceOrderDTO order) {}
+
+    // The request fingerprint guards against a key being reused for a different order
+    private record Pending(String fingerprint, CompletableFuture<ServiceOrderDTO> result) {}
+
+    private final ServiceCatalogRepository catalogRepository;
+    private final ServiceOrderRepository orderRepository;
+    private final CourseRepository courseRepository;
+    private final CourseEnrollmentRepository enrollmentRepository;
+    private final SectionEnrollmentService sectionEnrollmentService;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentAttendeeRepository attendeeRepository;
+    private final InternshipProgramRepository programRepository;
+    private final InternApplicationRepository applicationRepository;
+    private final UserRepository userRepository;
+    private final ProjectService projectService;
+    private final OrderInstanceResolver instanceResolver;
+    private final TimelineService timelineService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TtlCache<String, Pending> idempotencyKeys;
+    private final long waitMillis;
+
+    public OrderService(ServiceCatalogRepository catalogRepository,
+                        ServiceOrderRepository orderRepository,
+                        CourseRepository courseRepository,
+                        CourseEnrollmentRepository enrollmentRepository,
+                        SectionEnrollmentService sectionEnrollmentService,
+                        AppointmentRepository appointmentRepository,
+                        AppointmentAttendeeRepository attendeeRepository,
+                        InternshipProgramRepository programRepository,
+                        InternApplicationRepository applicationRepository,
+                        UserRepository userRepository,
+                        ProjectService projectService,
+                        OrderInstanceResolver instanceResolver,
+                        TimelineService timelineService,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.orders.idempotency-ttl-ms:86400000}") long idempotencyTtlMillis,
+                        @Value("${app.orders.idempotency-max-keys:100000}") int idempotencyMaxKeys,
+                        @Value("${app.orders.idempotency-wait-ms:10000}") long waitMillis) {
+        this.catalogRepository = catalogRepository;
+        this.orderRepository = orderRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.sectionEnrollmentService = sectionEnrollmentService;
+        this.appointmentRepository = appointmentRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.programRepository = programRepository;
+        this.applicationRepository = applicationRepository;
+        this.userRepository = userRepository;
+        this.projectService = projectService;
+        this.instanceResolver = instanceResolver;
+        this.timelineService = timelineService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idempotencyKeys = new TtlCache<>(idempotencyTtlMillis, idempotencyMaxKeys);
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Places an order. Without an idempotency key every call creates an order. With one,
+     * only the first call does; repeats with the same key and body return that order
+     * (IN_PROGRESS if it is still being placed), and a different body is rejected.
+     */
+    public Result placeOrder(Long userId, OrderRequestDTO request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new Result(Outcome.CREATED, transactionTemplate.execute(status -> place(userId, request)));
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = userId + ":" + idempotencyKey;
+        Pending mine = new Pending(fingerprint(request), new CompletableFuture<>());
+        Pending live = idempotencyKeys.putIfAbsent(key, mine);
+        if (live != mine) return replay(live, mine.fingerprint());
+
+        try {
+            ServiceOrderDTO order = transactionTemplate.execute(status -> place(userId, request));
+            mine.result().complete(order);
+            return new Result(Outcome.CREATED, order);
+        } catch (RuntimeException e) {
+            // Failed attempts are not remembered, so the client can retry with the same key
+            idempotencyKeys.invalidate(key);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * A user's orders, newest first, with the catalog entry and the created instance of
+     * each. The page costs one query for the orders, one for their services and one per
+     * instance type present on it.
+     */
+    public CursorPageDTO<ServiceOrderDTO> getHistory(Long userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                beforeId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<ServiceOrder> orders = orderRepository.findHistory(userId, beforeId, PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            orders = orders.subList(0, limit);
+            nextCursor = String.valueOf(orders.get(limit - 1).getOrderId());
+        }
+
+        Map<Long, ServiceCatalog> services = catalogRepository.findAllById(
+                        orders.stream().map(ServiceOrder::getServiceId).distinct().collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(ServiceCatalog::getServiceId, Function.identity()));
+        Map<Long, OrderInstanceDTO> instances = instanceResolver.resolve(orders);
+
+        List<ServiceOrderDTO> items = orders.stream().map(o -> {
+            ServiceOrderDTO dto = toDTO(o, services.get(o.getServiceId()));
+            dto.setInstance(instances.get(o.getOrderId()));
+            return dto;
+        }).collect(Collectors.toList());
+        return CursorPageDTO.<ServiceOrderDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .size(limit)
+                .totalCount(orderRepository.countByUserId(userId))
+                .build();
+    }
+
+    private Result replay(Pending live, String fingerprint) {
+        if (!live.fingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different order");
+        }
+        try {
+            return new Result(Outcome.REPLAYED, live.result().get(waitMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return new Result(Outcome.IN_PROGRESS, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(Outcome.IN_PROGRESS, null);
+        }
+    }
+
+    private ServiceOrderDTO place(Long userId, OrderRequestDTO request) {
+        ServiceCatalog service = catalogRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+        if (!service.isPublic()) throw new IllegalArgumentException("Service is not available for ordering");
+        LocalDateTime now = LocalDateTime.now();
+
+        ServiceOrder.InstanceType instanceType;
+        Long instanceId;
+        String type = service.getServiceType() != null ? service.getServiceType().toUpperCase(Locale.ROOT) : "";
+        switch (type) {
+            case "COURSE" -> {
+                instanceType = ServiceOrder.InstanceType.COURSE_ENROLLMENT;
+                instanceId = enroll(userId, service, request, now);
+            }
+            case "MENTORSHIP" -> {
+                instanceType = ServiceOrder.InstanceType.APPOINTMENT;
+                instanceId = book(userId, service, request);
+            }
+            case "PROJECT" -> {
+                instanceType = ServiceOrder.InstanceType.PROJECT;
+                instanceId = startProject(userId, service, request);
+            }
+            case "INTERNSHIP" -> {
+                instanceType = ServiceOrder.InstanceType.INTERN_APPLICATION;
+                instanceId = apply(userId, service, request, now);
+            }
+            default -> throw new IllegalArgumentException("Services of type " + service.getServiceType() + " cannot be ordered");
+        }
+
+        ServiceOrder order = orderRepository.save(ServiceOrder.builder()
+                .userId(userId)
+                .serviceId(service.getServiceId())
+                .orderStatus(STATUS_PLACED)
+                .priceAtPurchase(service.getBasePrice() != null ? service.getBasePrice() : BigDecimal.ZERO)
+                .createdAt(now)
+                .instanceType(instanceType.name())
+                .instanceId(instanceId)
+                .build());
+
+        timelineService.append(TimelineEvent.SubjectType.ORDER, order.getOrderId(), STATUS_PLACED,
+                "Ordered " + service.getName() + " at " + order.getPriceAtPurchase().toPlainString(), userId);
+        return toDTO(order, service);
+    }
+
+    private Long enroll(Long userId, ServiceCatalog service, OrderRequestDTO request, LocalDateTime now) {
+        Course course = courseRepository.findFirstByServiceIdOrderByCourseIdAsc(service.getServiceId())
+                .orElseThrow(() -> new IllegalArgumentException("No course is linked to this service"));
+        if (enrollmentRepository.existsByUserIdAndCourseId(userId, course.getCourseId())) {
+            throw new IllegalArgumentException("Already enrolled in this course");
+        }
+        if (request.getSectionId() != null) {
+            // Paid orders never wait: a full section fails the order and rolls the seat back
+            sectionEnrollmentService.reserveSeat(request.getSectionId(), course.getCourseId());
+        }
+        return enrollmentRepository.save(CourseEnrollment.builder()
+                .userId(userId)
+                .courseId(course.getCourseId())
+                .sectionId(request.getSectionId())
+                .enrollmentDate(now)
+                .build()).getEnrollmentId();
+    }
+
+    private Long book(Long userId, ServiceCatalog service, OrderRequestDTO request) {
+        if (request.getMentorUserId() == null || request.getStartTime() == null) {
+            throw new IllegalArgumentException("mentorUserId and startTime are required for mentorship orders");
+        }
+        LocalDateTime end = request.getEndTime() != null ? request.getEndTime() : request.getStartTime().plusHours(1);
+        if (!end.isAfter(request.getStartTime())) throw new IllegalArgumentException("endTime must be after startTime");
+        if (!userRepository.existsById(request.getMentorUserId())) throw new ResourceNotFoundException("Mentor not found");
+
+        Appointment appointment = appointmentRepository.save(Appointment.builder()
+                .serviceId(service.getServiceId())
+                .mentorUserId(request.getMentorUserId())
+                .startTime(request.getStartTime())
+                .endTime(end)
+                .status("Scheduled")
+                .notes(request.getNotes())
+                .build());
+        attendeeRepository.save(new AppointmentAttendee(
+                new AppointmentAttendee.AppointmentAttendeeKey(appointment.getAppointmentId(), userId)));
+        return appointment.getAppointmentId();
+    }
+
+    private Long startProject(Long userId, ServiceCatalog service, OrderRequestDTO request) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        ProjectDTO project = new ProjectDTO();
+        project.setName(request.getProjectName() != null && !request.getProjectName().isBlank()
+                ? request.getProjectName() : service.getName());
+        project.setSummary(request.getProjectSummary());
+        project.setStatus(Project.Status.PLANNING.name());
+        project.setClientName(user.getEmail());
+        return projectService.createProject(project).getId();
+    }
+
+    private Long apply(Long userId, ServiceCatalog service, OrderRequestDTO request, LocalDateTime now) {
+        InternshipProgram program = programRepository.findFirstByServiceIdOrderByProgramIdDesc(service.getServiceId())
+                .orElseThrow(() -> new IllegalArgumentException("No internship program is linked to this service"));
+        LocalDate today = now.toLocalDate();
+        if ((program.getApplicationStartDate() != null && today.isBefore(program.getApplicationStartDate()))
+                || (program.getApplicationEndDate() != null && today.isAfter(program.getApplicationEndDate()))) {
+            throw new IllegalArgumentException("Applications for this program are closed");
+        }
+        if (applicationRepository.existsByUserIdAndProgramId(userId, program.getProgramId())) {
+            throw new IllegalArgumentException("Already applied to this program");
+        }
+        if (request.getApplicationData() != null) {
+            try {
+                objectMapper.readTree(request.getApplicationData());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("applicationData must be valid JSON");
+            }
+        }
+        return applicationRepository.save(InternApplication.builder()
+                .programId(program.getProgramId())
+                .userId(userId)
+                .status("Pending")
+                .applicationData(request.getApplicationData())
+                .submittedAt(now)
+                .build()).getApplicationId();
+    }
+
+    private String fingerprint(OrderRequestDTO request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid order request");
+        }
+    }
+
+    static ServiceOrderDTO toDTO(ServiceOrder order, ServiceCatalog service) {
+        return ServiceOrderDTO.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getUserId())
+                .serviceId(order.getServiceId())
+                .serviceName(service != null ? service.getName() : null)
+                .serviceType(service != null ? service.getServiceType() : null)
+                .orderStatus(order.getOrderStatus())
+                .priceAtPurchase(order.getPriceAtPurchase())
+                .createdAt(order.getCreatedAt())
+                .instanceType(order.getInstanceType())
+                .instanceId(order.getInstanceId())
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.ProjectBoardDTO;
+import com.arcitech.dto.TaskDTO;
+import com.arcitech.model.ProjectTask;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serves project Kanban boards from an in-memory snapshot per project.
+ *
+ * A board is loaded from the database once (one task query plus one assignee query) and
+ * from then on patched in place from {@link ProjectTaskChangedEvent}s after the change
+ * commits. Each patch bumps the board version, which doubles as the ETag, and is kept
+ * in a short change log so clients can ask for only what changed since their version.
+ * Changes that cannot be patched in (a deleted project, edits to its task tree) drop the
+ * board instead, so the next request reloads it.
+ */
+@Service
+public class ProjectBoardService {
+
+    // How many changes per board are remembered for delta responses
+    private static final int CHANGE_LOG_SIZE = 256;
+    // Boards nobody looked at for this long are dropped and reloaded on demand
+    private static final long IDLE_EVICTION_MS = 30 * 60 * 1000L;
+
+    private static final Comparator<TaskDTO> BOARD_ORDER = Comparator
+            .comparingInt((TaskDTO t) -> -priorityRank(t.getPriority()))
+            .thenComparing(TaskDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ProjectService projectService;
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    // Bumped per project stripe on every change, so a load that overlapped a change is not cached
+    private final AtomicLongArray changeStamps = new AtomicLongArray(64);
+
+    public ProjectBoardService(ProjectService projectService) {
+        this.projectService = projectService;
+    }
+
+    /**
+     * Version of the board as it stands; also counts as an access, so boards that clients
+     * only revalidate with If-None-Match stay loaded.
+     */
+    public long currentVersion(Long projectId) {
+        Board board = boardFor(projectId);
+        board.lastAccess = System.currentTimeMillis();
+        return board.version();
+    }
+
+    /**
+     * Full board, or only the changes after {@code sinceVersion} when the change log still
+     * covers it. Falls back to a full snapshot when the client is too far behind.
+     */
+    public ProjectBoardDTO getBoard(Long projectId, Long sinceVersion) {
+        Board board = boardFor(projectId);
+        synchronized (board) {
+            board.lastAccess = System.currentTimeMillis();
+            if (sinceVersion != null) {
+                List<TaskDTO> changed = board.changesSince(sinceVersion);
+                if (changed != null) {
+                    return ProjectBoardDTO.builder()
+                            .projectId(projectId)
+                            .version(board.version)
+                            .fullSnapshot(false)
+                            .sinceVersion(sinceVersion)
+                            .changedTasks(changed)
+                            .build();
+                }
+            }
+            return board.snapshot(projectId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(ProjectTaskChangedEvent event) {
+        // Unloaded boards are skipped; they will read the committed row when first
+        // requested. A load already in flight notices the stamp and is not cached.
+        changeStamps.incrementAndGet(stripe(event.projectId()));
+        boards.computeIfPresent(event.projectId(), (id, board) -> {
+            synchronized (board) {
+                board.apply(event.task());
+            }
+            return board;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        evict(event.projectId());
+    }
+
+    public void evict(Long projectId) {
+        changeStamps.incrementAndGet(stripe(projectId));
+        boards.remove(projectId);
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void evictIdleBoards() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICTION_MS;
+        boards.values().removeIf(board -> board.lastAccess < cutoff);
+    }
+
+    private Board boardFor(Long projectId) {
+        Board board = boards.get(projectId);
+        if (board != null) return board;
+
+        // Loaded outside the map so a slow query does not block other projects in the same bin
+        long stamp = changeStamps.get(stripe(projectId));
+        Board loaded = new Board(projectService.getTasksForProject(projectId));
+        Board existing = boards.putIfAbsent(projectId, loaded);
+        if (existing != null) return existing;
+        // A change committed while we were reading may be missing from this copy; serve it
+        // for this request but let the next one load again.
+        if (changeStamps.get(stripe(projectId)) != stamp) boards.remove(projectId, loaded);
+        return loaded;
+    }
+
+    private int stripe(Long projectId) {
+        return (int) (projectId & (changeStamps.length() - 1));
+    }
+
+    private static int priorityRank(String priority) {
+        if (priority == null) return -1;
+        try {
+            return ProjectTask.Priority.valueOf(priority).ordinal();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static final class Board {
+        private final Map<Long, TaskDTO> tasks = new HashMap<>();
+        // Seeded from the clock so a reloaded board never reuses versions (and ETags)
+        // handed out by an earlier copy of the same board.
+        private long version = System.currentTimeMillis();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        // Ring buffer of (version, task id) for the most recent changes
+        private final long[] logVersions = new long[CHANGE_LOG_SIZE];
+        private final long[] logTaskIds = new long[CHANGE_LOG_SIZE];
+        private int logSize;
+        private int logHead;
+
+        // Rebuilt lazily after a change, shared by all readers of the same version
+        private ProjectBoardDTO cachedSnapshot;
+
+        Board(List<TaskDTO> initial) {
+            for (TaskDTO task : initial) tasks.put(task.getId(), task);
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        void apply(TaskDTO task) {
+            tasks.put(task.getId(), task);
+            version++;
+            logVersions[logHead] = version;
+            logTaskIds[logHead] = task.getId();
+            logHead = (logHead + 1) % CHANGE_LOG_SIZE;
+            if (logSize < CHANGE_LOG_SIZE) logSize++;
+            cachedSnapshot = null;
+        }
+
+        /**
+         * @return tasks changed after the given version, or null if the log no longer reaches back that far
+         */
+        List<TaskDTO> changesSince(long since) {
+            if (since == version) return List.of();
+            if (since > version) return null;
+            long oldestLogged = logSize == 0 ? version + 1 : logVersions[(logHead - logSize + CHANGE_LOG_SIZE) % CHANGE_LOG_SIZE];
+            if (since + 1 < oldestLogged) return null;
+
+            Map<Long, TaskDTO> changed = new LinkedHashMap<>();
+            for (int k = 0; k < logSize; k++) {
+                int slot = (logHead - logSize + k + CHANGE_LOG_SIZE) % CHANGE_LOG_SIZE;
+                if (logVersions[slot] > since) changed.put(logTaskIds[slot], tasks.get(logTaskIds[slot]));
+            }
+            return new ArrayList<>(changed.values());
+        }
+
+        ProjectBoardDTO snapshot(Long projectId) {
+            if (cachedSnapshot == null) {
+                Map<String, List<TaskDTO>> columns = new LinkedHashMap<>();
+                for (ProjectTask.Status status : ProjectTask.Status.values()) columns.put(status.name(), new ArrayList<>());
+                for (TaskDTO task : tasks.values()) {
+                    List<TaskDTO> column = columns.get(task.getStatus());
+                    if (column != null) column.add(task);
+                }
+                columns.values().forEach(column -> column.sort(BOARD_ORDER));
+                columns.replaceAll((status, column) -> List.copyOf(column));
+                cachedSnapshot = ProjectBoardDTO.builder()
+                        .projectId(projectId)
+                        .version(version)
+                        .fullSnapshot(true)
+                        .columns(columns)
+                        .build();
+            }
+            return cachedSnapshot;
+        }
+    }
+}
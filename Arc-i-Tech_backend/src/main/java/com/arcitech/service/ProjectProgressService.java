@@ -0,0 +1,204 @@
+package com.arcitech.service;
+
+import com.arcitech.model.ProjectProgress;
+import com.arcitech.repository.MilestoneRepository;
+import com.arcitech.repository.ProjectCounts;
+import com.arcitech.repository.ProjectProgressRepository;
+import com.arcitech.repository.ProjectRepository;
+import com.arcitech.repository.ProjectTaskRepository;
+import com.arcitech.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps Project.progressPercentage derived from task and milestone status.
+ *
+ * Every status transition applies a delta to the project's {@link ProjectProgress}
+ * counters and rewrites the percentage from them, so progress is always an O(1) read.
+ * A periodic reconciliation recounts everything and fixes counters that drifted
+ * (e.g. rows changed directly in the database).
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectProgressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectProgressService.class);
+
+    private final ProjectProgressRepository progressRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectTaskRepository projectTaskRepository;
+    private final TaskRepository taskRepository;
+    private final MilestoneRepository milestoneRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Status strings (tasks, milestones) that count as finished work.
+     */
+    public static boolean isDone(String status) {
+        return status != null && ("DONE".equalsIgnoreCase(status) || "COMPLETED".equalsIgnoreCase(status));
+    }
+
+    /**
+     * Starts a new project at zero, replacing any leftover counters for the same id.
+     */
+    @Transactional
+    public void initialize(Long projectId) {
+        progressRepository.save(ProjectProgress.builder()
+                .projectId(projectId)
+                .updatedAt(LocalDateTime.now())
+                .build());
+        projectRepository.updateProgress(projectId, 0);
+    }
+
+    @Transactional
+    public void taskAdded(Long projectId, boolean done) {
+        apply(projectId, 1, done ? 1 : 0, 0, 0);
+    }
+
+    @Transactional
+    public void taskRemoved(Long projectId, boolean wasDone) {
+        apply(projectId, -1, wasDone ? -1 : 0, 0, 0);
+    }
+
+    @Transactional
+    public void taskStatusChanged(Long projectId, boolean wasDone, boolean isDone) {
+        if (wasDone != isDone) apply(projectId, 0, isDone ? 1 : -1, 0, 0);
+    }
+
+    /**
+     * Applies the net effect of a bulk import/update in one counter update.
+     */
+    @Transactional
+    public void tasksChanged(Long projectId, long totalDelta, long doneDelta) {
+        if (totalDelta != 0 || doneDelta != 0) apply(projectId, totalDelta, doneDelta, 0, 0);
+    }
+
+    @Transactional
+    public void milestoneStatusChanged(Long projectId, boolean wasDone, boolean isDone) {
+        if (wasDone != isDone) apply(projectId, 0, 0, 0, isDone ? 1 : -1);
+    }
+
+    @Transactional
+    public void delete(Long projectId) {
+        if (progressRepository.existsById(projectId)) progressRepository.deleteById(projectId);
+    }
+
+    private void apply(Long projectId, long totalTasks, long doneTasks, long totalMilestones, long doneMilestones) {
+        int updated = progressRepository.applyDelta(projectId, totalTasks, doneTasks,
+                totalMilestones, doneMilestones, LocalDateTime.now());
+        if (updated == 0) {
+            // No counter row yet (project predates progress tracking): count once from scratch.
+            reconcile(projectId);
+            return;
+        }
+        // The bulk update bypassed the persistence context, so a counter row loaded earlier in
+        // this transaction would still hold the old values; refresh it instead of clearing
+        // the whole context under the caller.
+        progressRepository.findById(projectId).ifPresent(p -> {
+            entityManager.refresh(p);
+            projectRepository.updateProgress(projectId, p.getPercentage());
+        });
+    }
+
+    /**
+     * Recounts a single project and rewrites its counters and percentage.
+     */
+    @Transactional
+    public void reconcile(Long projectId) {
+        long[] actual = new long[4];
+        addCounts(projectTaskRepository.countDoneByProjectId(projectId), actual, 0);
+        addCounts(taskRepository.countDoneByProjectId(projectId), actual, 0);
+        addCounts(milestoneRepository.countDoneByProjectId(projectId), actual, 2);
+
+        ProjectProgress progress = progressRepository.findById(projectId)
+                .orElseGet(() -> ProjectProgress.builder().projectId(projectId).build());
+        progress.setTotalTasks(actual[0]);
+        progress.setDoneTasks(actual[1]);
+        progress.setTotalMilestones(actual[2]);
+        progress.setDoneMilestones(actual[3]);
+        progress.setUpdatedAt(LocalDateTime.now());
+        progressRepository.save(progress);
+        projectRepository.updateProgress(projectId, progress.getPercentage());
+    }
+
+    /**
+     * Recounts all projects with three GROUP BY queries and repairs drifted counters.
+     * Counters that changed while the recount ran are left alone until the next pass.
+     */
+    @Scheduled(fixedDelayString = "${app.progress.reconcile-interval-ms:600000}",
+               initialDelayString = "${app.progress.reconcile-initial-delay-ms:60000}")
+    @Transactional
+    public void reconcileAll() {
+        Map<Long, ProjectProgress> stored = new HashMap<>();
+        for (ProjectProgress p : progressRepository.findAll()) stored.put(p.getProjectId(), p);
+
+        Map<Long, long[]> actual = new HashMap<>();
+        collect(projectTaskRepository.countDoneByProject(), actual, 0);
+        collect(taskRepository.countDoneByProject(), actual, 0);
+        collect(milestoneRepository.countDoneByProject(), actual, 2);
+
+        Set<Long> projectIds = new HashSet<>(stored.keySet());
+        projectIds.addAll(actual.keySet());
+        projectIds.retainAll(new HashSet<>(projectRepository.findAllProjectIds()));
+
+        int repaired = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Long projectId : projectIds) {
+            long[] counts = actual.getOrDefault(projectId, new long[4]);
+            ProjectProgress current = stored.get(projectId);
+            if (current == null) {
+                reconcile(projectId);
+                repaired++;
+                continue;
+            }
+            if (current.getTotalTasks() == counts[0] && current.getDoneTasks() == counts[1]
+                    && current.getTotalMilestones() == counts[2] && current.getDoneMilestones() == counts[3]) {
+                continue;
+            }
+            int updated = progressRepository.replaceIfUnchanged(projectId,
+                    current.getTotalTasks(), current.getDoneTasks(),
+                    current.getTotalMilestones(), current.getDoneMilestones(),
+                    counts[0], counts[1], counts[2], counts[3], now);
+            if (updated == 1) {
+                ProjectProgress fixed = ProjectProgress.builder()
+                        .projectId(projectId)
+                        .totalTasks(counts[0]).doneTasks(counts[1])
+                        .totalMilestones(counts[2]).doneMilestones(counts[3])
+                        .build();
+                projectRepository.updateProgress(projectId, fixed.getPercentage());
+                repaired++;
+            }
+        }
+        if (repaired > 0) logger.info("Progress reconciliation repaired {} project(s)", repaired);
+    }
+
+    private static void collect(List<ProjectCounts> rows, Map<Long, long[]> into, int offset) {
+        for (ProjectCounts row : rows) {
+            long[] counts = into.computeIfAbsent(row.getProjectId(), k -> new long[4]);
+            counts[offset] += row.getTotal();
+            counts[offset + 1] += row.getDone() != null ? row.getDone() : 0;
+        }
+    }
+
+    private static void addCounts(List<ProjectCounts> rows, long[] into, int offset) {
+        for (ProjectCounts row : rows) {
+            into[offset] += row.getTotal();
+            into[offset + 1] += row.getDone() != null ? row.getDone() : 0;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.ProjectScheduleDTO;
+import com.arcitech.dto.TaskDatesDTO;
+import com.arcitech.dto.TaskDependencyDTO;
+import com.arcitech.dto.TaskScheduleDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.Task;
+import com.arcitech.model.TaskDependency;
+import com.arcitech.repository.TaskDependencyRepository;
+import com.arcitech.repository.TaskRepository;
+import com.arcitech.service.schedule.TaskGraph;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Project scheduling on top of {@link TaskGraph}: topological order, critical path,
+ * slack and cascading date changes for the tasks of a project.
+ *
+ * One graph per project is kept in memory after the first request and updated in place
+ * when dependencies or task dates change through this service. Task changes made
+ * elsewhere arrive as {@link TasksChangedEvent}s and drop the graph once they commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectScheduleService {
+
+    private static final String DEFAULT_DEPENDENCY_TYPE = "FINISH_TO_START";
+
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository dependencyRepository;
+
+    private final Map<Long, TaskGraph> graphs = new ConcurrentHashMap<>();
+
+    @Transactional(readOnly = true)
+    public ProjectScheduleDTO getSchedule(Long projectId) {
+        TaskGraph graph = graphFor(projectId);
+        synchronized (graph) {
+            return toDTO(projectId, graph);
+        }
+    }
+
+    @Transactional
+    public ProjectScheduleDTO addDependency(Long projectId, TaskDependencyDTO dto) {
+        TaskGraph graph = graphFor(projectId);
+        synchronized (graph) {
+            if (graph.wouldCreateCycle(dto.getPredecessorTaskId(), dto.getSuccessorTaskId())) {
+                throw new IllegalArgumentException("Dependency would create a cycle");
+            }
+            if (dependencyRepository.findByPredecessorTaskIdAndSuccessorTaskId(
+                    dto.getPredecessorTaskId(), dto.getSuccessorTaskId()).isEmpty()) {
+                dependencyRepository.save(TaskDependency.builder()
+                        .predecessorTaskId(dto.getPredecessorTaskId())
+                        .successorTaskId(dto.getSuccessorTaskId())
+                        .dependencyType(dto.getDependencyType() != null ? dto.getDependencyType() : DEFAULT_DEPENDENCY_TYPE)
+                        .build());
+            }
+            evictOnRollback(projectId);
+            graph.addDependency(dto.getPredecessorTaskId(), dto.getSuccessorTaskId());
+            return toDTO(projectId, graph);
+        }
+    }
+
+    @Transactional
+    public ProjectScheduleDTO removeDependency(Long projectId, Long predecessorTaskId, Long successorTaskId) {
+        TaskGraph graph = graphFor(projectId);
+        synchronized (graph) {
+            // Validate against this project's graph before touching the database
+            if (!graph.contains(predecessorTaskId) || !graph.contains(successorTaskId)) {
+                throw new IllegalArgumentException("Both tasks must belong to this project");
+            }
+            TaskDependency dependency = dependencyRepository
+                    .findByPredecessorTaskIdAndSuccessorTaskId(predecessorTaskId, successorTaskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Dependency not found"));
+            dependencyRepository.delete(dependency);
+            evictOnRollback(projectId);
+            graph.removeDependency(predecessorTaskId, successorTaskId);
+            return toDTO(projectId, graph);
+        }
+    }
+
+    /**
+     * Changes one task's dates and pushes every dependent task that can no longer start
+     * on its stored date forward, persisting all moved tasks in one batch.
+     */
+    @Transactional
+    public ProjectScheduleDTO updateTaskDates(Long projectId, Long taskId, TaskDatesDTO dto) {
+        TaskGraph graph = graphFor(projectId);
+        synchronized (graph) {
+            Task task = taskRepository.findById(taskId)
+                    .filter(t -> projectId.equals(t.getProjectId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            task.setStartDate(dto.getStartDate());
+            task.setDueDate(dto.getDueDate());
+
+            evictOnRollback(projectId);
+            graph.updateTaskDates(taskId, dto.getStartDate(), dto.getDueDate());
+
+            long[] moved = graph.propagateDates();
+            List<Task> changed = new ArrayList<>();
+            changed.add(task);
+            if (moved.length > 0) {
+                List<Long> ids = new ArrayList<>(moved.length);
+                for (long id : moved) ids.add(id);
+                for (Task t : taskRepository.findAllById(ids)) {
+                    t.setStartDate(graph.earliestStart(t.getTaskId()));
+                    t.setDueDate(graph.earliestFinish(t.getTaskId()));
+                    if (t.getTaskId().equals(taskId)) {
+                        task.setStartDate(t.getStartDate());
+                        task.setDueDate(t.getDueDate());
+                    } else {
+                        changed.add(t);
+                    }
+                }
+            }
+            taskRepository.saveAll(changed);
+            return toDTO(projectId, graph);
+        }
+    }
+
+    /**
+     * Drops the cached graph, e.g. after tasks were added or removed outside this service.
+     */
+    public void evict(Long projectId) {
+        graphs.remove(projectId);
+    }
+
+    // After commit (or rollback) so a concurrent reload cannot cache the pre-change rows
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        evict(event.projectId());
+    }
+
+    private TaskGraph graphFor(Long projectId) {
+        return graphs.computeIfAbsent(projectId, this::loadGraph);
+    }
+
+    private TaskGraph loadGraph(Long projectId) {
+        List<Task> tasks = taskRepository.findByProjectId(projectId);
+        int n = tasks.size();
+        long[] ids = new long[n];
+        LocalDate[] starts = new LocalDate[n];
+        LocalDate[] dues = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            Task t = tasks.get(i);
+            ids[i] = t.getTaskId();
+            starts[i] = t.getStartDate();
+            dues[i] = t.getDueDate();
+        }
+
+        List<TaskDependencyRepository.Edge> edges = dependencyRepository.findEdgesByProjectId(projectId);
+        long[] from = new long[edges.size()];
+        long[] to = new long[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            from[e] = edges.get(e).getPredecessorTaskId();
+            to[e] = edges.get(e).getSuccessorTaskId();
+        }
+        return TaskGraph.build(ids, starts, dues, from, to);
+    }
+
+    // The graph is mutated before commit; if the transaction rolls back it no longer
+    // matches the database, so it is rebuilt on the next request.
+    private void evictOnRollback(Long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) graphs.remove(projectId);
+            }
+        });
+    }
+
+    private ProjectScheduleDTO toDTO(Long projectId, TaskGraph graph) {
+        long[] order = graph.topologicalOrder();
+        long[] critical = graph.criticalPath();
+        List<TaskScheduleDTO> tasks = new ArrayList<>(order.length);
+        for (long id : order) {
+            int slack = graph.slackDays(id);
+            tasks.add(TaskScheduleDTO.builder()
+                    .taskId(id)
+                    .earliestStart(graph.earliestStart(id))
+                    .earliestFinish(graph.earliestFinish(id))
+                    .latestStart(graph.latestStart(id))
+                    .latestFinish(graph.latestFinish(id))
+                    .slackDays(slack)
+                    .critical(slack == 0)
+                    .build());
+        }
+        return ProjectScheduleDTO.builder()
+                .projectId(projectId)
+                .projectStart(graph.projectStart())
+                .projectFinish(graph.projectFinish())
+                .durationDays(graph.makespanDays())
+                .topologicalOrder(Arrays.stream(order).boxed().toList())
+                .criticalPath(Arrays.stream(critical).boxed().toList())
+                .tasks(tasks)
+                .build();
+    }
+}
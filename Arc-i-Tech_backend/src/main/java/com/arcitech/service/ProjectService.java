@@ -1,19 +1,38 @@
 package com.arcitech.service;
 
+import com.arcitech.dto.CursorPageDTO;
 import com.arcitech.dto.ProjectDTO;
+import com.arcitech.dto.ProjectFilter;
+import com.arcitech.dto.ProjectSummaryDTO;
 import com.arcitech.dto.TaskDTO;
+import com.arcitech.model.Milestone;
 import com.arcitech.model.Project;
 import com.arcitech.model.ProjectTask;
+import com.arcitech.model.TimelineEvent;
 import com.arcitech.model.User;
+import com.arcitech.repository.MilestoneRepository;
 import com.arcitech.repository.ProjectRepository;
 import com.arcitech.repository.ProjectTaskRepository;
 import com.arcitech.repository.UserRepository;
+import com.arcitech.util.TtlCache;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,17 +42,80 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final ProjectTaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final ProjectProgressService progressService;
+    private final TimelineService timelineService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<ProjectDTO> getAllProjects() {
-        return projectRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Total counts per filter combination; evicted on every project write.
+    private final TtlCache<ProjectFilter, Long> projectCountCache = new TtlCache<>(60_000, 1_000);
+
+    /**
+     * Keyset-paginated project listing. Rows are read through a column projection and
+     * the total count comes from a separate, cached count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProjectSummaryDTO> listProjects(ProjectFilter filter, ProjectFilter.SortField sort,
+                                                         boolean ascending, String cursor, int size,
+                                                         boolean includeTasks, boolean includeTaskCounts) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ProjectFilter.SortField sortField = sort != null ? sort : ProjectFilter.SortField.ID;
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String decoded = decodeCursor(cursor);
+            int sep = decoded.lastIndexOf('|');
+            try {
+                afterId = Long.parseLong(decoded.substring(sep + 1));
+                afterValue = parseSortValue(sortField, decoded.substring(0, Math.max(sep, 0)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to find out whether another page exists.
+        List<ProjectSummaryDTO> rows = projectRepository.findSummaries(
+                filter, sortField, ascending, afterValue, afterId, limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = encodeCursor(sortField, rows.get(limit - 1));
+        }
+
+        if (!rows.isEmpty() && (includeTasks || includeTaskCounts)) {
+            List<Long> ids = rows.stream().map(ProjectSummaryDTO::getId).collect(Collectors.toList());
+            Map<Long, List<TaskDTO>> tasks = includeTasks ? loadTasks(ids) : Map.of();
+            Map<Long, Map<String, Long>> counts = includeTaskCounts ? loadTaskStatusCounts(ids) : Map.of();
+            for (ProjectSummaryDTO row : rows) {
+                if (includeTasks) row.setTasks(tasks.getOrDefault(row.getId(), List.of()));
+                if (includeTaskCounts) row.setTaskStatusCounts(counts.getOrDefault(row.getId(), Map.of()));
+            }
+        }
+
+        long total = projectCountCache.get(filter, projectRepository::countByFilter);
+        return CursorPageDTO.<ProjectSummaryDTO>builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .size(limit)
+                .totalCount(total)
+                .build();
     }
 
+    @Transactional(readOnly = true)
     public ProjectDTO getProjectById(Long id) {
-        return projectRepository.findById(id)
+        ProjectDTO dto = projectRepository.findById(id)
                 .map(this::toDTO)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
+        List<Long> ids = List.of(id);
+        dto.setTasks(loadTasks(ids).getOrDefault(id, List.of()));
+        dto.setTaskStatusCounts(loadTaskStatusCounts(ids).getOrDefault(id, Map.of()));
+        return dto;
     }
 
+    @Transactional
     public Project createProject(ProjectDTO dto) {
         User client = userRepository.findByEmail(dto.getClientName())
                 .orElseThrow(() -> new RuntimeException("Client not found"));
@@ -41,7 +123,7 @@ public class ProjectService {
         Project project = Project.builder()
                 .name(dto.getName())
                 .summary(dto.getSummary())
-                .progressPercentage(dto.getProgressPercentage())
+                .progressPercentage(0)
                 .status(Project.Status.valueOf(dto.getStatus()))
                 .highlighted(dto.isHighlighted())
                 .createdAt(LocalDateTime.now())
@@ -49,23 +131,36 @@ public class ProjectService {
                 .client(client)
                 .build();
 
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        progressService.initialize(saved.getId());
+        timelineService.append(TimelineEvent.SubjectType.PROJECT, saved.getId(), "CREATED",
+                "Project " + saved.getName() + " created with status " + saved.getStatus(), null);
+        projectCountCache.invalidateAll();
+        return saved;
     }
 
+    // progressPercentage is derived from task/milestone status and is not editable here
     public Project updateProject(Long id, ProjectDTO dto) {
         Project existing = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
+        Project.Status oldStatus = existing.getStatus();
         existing.setName(dto.getName());
         existing.setSummary(dto.getSummary());
-        existing.setProgressPercentage(dto.getProgressPercentage());
         existing.setStatus(Project.Status.valueOf(dto.getStatus()));
         existing.setHighlighted(dto.isHighlighted());
         existing.setUpdatedAt(LocalDateTime.now());
 
-        return projectRepository.save(existing);
+        Project saved = projectRepository.save(existing);
+        if (oldStatus != saved.getStatus()) {
+            timelineService.append(TimelineEvent.SubjectType.PROJECT, id, "STATUS_CHANGED",
+                    "Status changed from " + oldStatus + " to " + saved.getStatus(), null);
+        }
+        projectCountCache.invalidateAll();
+        return saved;
     }
 
+    @Transactional
     public TaskDTO addTaskToProject(Long projectId, TaskDTO dto) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
@@ -85,13 +180,94 @@ public class ProjectService {
                 .build();
 
         ProjectTask saved = taskRepository.save(task);
-        return toTaskDTO(saved);
+        progressService.taskAdded(projectId, saved.getStatus() == ProjectTask.Status.DONE);
+        TaskDTO result = toTaskDTO(saved);
+        eventPublisher.publishEvent(new ProjectTaskChangedEvent(projectId, result));
+        return result;
+    }
+
+    @Transactional
+    public TaskDTO updateTaskStatus(Long projectId, Long taskId, String status) {
+        ProjectTask task = taskRepository.findById(taskId)
+                .filter(t -> t.getProject() != null && projectId.equals(t.getProject().getProjectId()))
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+
+        boolean wasDone = task.getStatus() == ProjectTask.Status.DONE;
+        task.setStatus(ProjectTask.Status.valueOf(status));
+        task.setUpdatedAt(LocalDateTime.now());
+        ProjectTask saved = taskRepository.save(task);
+        progressService.taskStatusChanged(projectId, wasDone, saved.getStatus() == ProjectTask.Status.DONE);
+        TaskDTO result = toTaskDTO(saved);
+        eventPublisher.publishEvent(new ProjectTaskChangedEvent(projectId, result));
+        return result;
+    }
+
+    @Transactional
+    public void updateMilestoneStatus(Long projectId, Long milestoneId, String status) {
+        Milestone milestone = milestoneRepository.findById(milestoneId)
+                .filter(m -> projectId.equals(m.getProjectId()))
+                .orElseThrow(() -> new RuntimeException("Milestone not found"));
+
+        boolean wasDone = ProjectProgressService.isDone(milestone.getStatus());
+        milestone.setStatus(status);
+        milestoneRepository.save(milestone);
+        progressService.milestoneStatusChanged(projectId, wasDone, ProjectProgressService.isDone(status));
+    }
+
+    /**
+     * All tasks of one project with assignees resolved in one extra query.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTasksForProject(Long projectId) {
+        if (!projectRepository.existsById(projectId)) throw new RuntimeException("Project not found");
+        return loadTasks(List.of(projectId)).getOrDefault(projectId, List.of());
     }
 
     public void deleteProject(Long id) {
         if (!projectRepository.existsById(id))
             throw new RuntimeException("Project not found");
         projectRepository.deleteById(id);
+        progressService.delete(id);
+        // The timeline outlives the project so its history can still be audited
+        timelineService.append(TimelineEvent.SubjectType.PROJECT, id, "DELETED", "Project deleted", null);
+        eventPublisher.publishEvent(new TasksChangedEvent(id));
+        projectCountCache.invalidateAll();
+    }
+
+    // --- Keyset cursor helpers ---
+    private String encodeCursor(ProjectFilter.SortField sort, ProjectSummaryDTO last) {
+        String value;
+        switch (sort) {
+            case NAME:
+                value = last.getName();
+                break;
+            case CREATED_AT:
+                value = last.getCreatedAt().toString();
+                break;
+            default:
+                value = "";
+        }
+        String raw = value + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private Object parseSortValue(ProjectFilter.SortField sort, String value) {
+        switch (sort) {
+            case NAME:
+                return value;
+            case CREATED_AT:
+                return LocalDateTime.parse(value);
+            default:
+                return null;
+        }
     }
 
     // --- Helper mappers ---
@@ -104,20 +280,71 @@ public class ProjectService {
         dto.setStatus(project.getStatus().name());
         dto.setHighlighted(project.isHighlighted());
         dto.setClientName(project.getClient() != null ? project.getClient().getEmail() : null);
-        dto.setTasks(project.getTasks() != null
-                ? project.getTasks().stream().map(this::toTaskDTO).collect(Collectors.toList())
-                : null);
         return dto;
     }
 
+    // --- Batch loaders (fixed number of queries regardless of page size) ---
+
+    /**
+     * Loads the tasks of all given projects with one IN query, then resolves every
+     * distinct assignee with one more query, and groups the result per project id.
+     */
+    private Map<Long, List<TaskDTO>> loadTasks(Collection<Long> projectIds) {
+        List<ProjectTask> tasks = taskRepository.findByProjectIds(projectIds);
+        if (tasks.isEmpty()) return Map.of();
+
+        // getId() on the lazy proxy returns the foreign key without initializing it
+        Set<Long> assigneeIds = new HashSet<>();
+        for (ProjectTask task : tasks) {
+            if (task.getAssignee() != null) assigneeIds.add(task.getAssignee().getId());
+        }
+        Map<Long, String> assigneeEmails = new HashMap<>();
+        if (!assigneeIds.isEmpty()) {
+            for (User user : userRepository.findAllById(assigneeIds)) {
+                assigneeEmails.put(user.getId(), user.getEmail());
+            }
+        }
+
+        Map<Long, List<TaskDTO>> byProject = new LinkedHashMap<>();
+        for (ProjectTask task : tasks) {
+            String assigneeEmail = task.getAssignee() != null ? assigneeEmails.get(task.getAssignee().getId()) : null;
+            // getProjectId() is the identifier getter, so the project proxy is not initialized either
+            byProject.computeIfAbsent(task.getProject().getProjectId(), k -> new ArrayList<>())
+                    .add(toTaskDTO(task, assigneeEmail));
+        }
+        return byProject;
+    }
+
+    private Map<Long, Map<String, Long>> loadTaskStatusCounts(Collection<Long> projectIds) {
+        Map<Long, Map<ProjectTask.Status, Long>> grouped = new HashMap<>();
+        for (ProjectTaskRepository.StatusCount row : taskRepository.countByProjectIdsGroupByStatus(projectIds)) {
+            if (row.getStatus() == null) continue;
+            grouped.computeIfAbsent(row.getProjectId(), k -> new EnumMap<>(ProjectTask.Status.class))
+                    .put(row.getStatus(), row.getTaskCount());
+        }
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        grouped.forEach((projectId, counts) -> {
+            Map<String, Long> named = new LinkedHashMap<>();
+            for (ProjectTask.Status status : ProjectTask.Status.values()) {
+                named.put(status.name(), counts.getOrDefault(status, 0L));
+            }
+            result.put(projectId, named);
+        });
+        return result;
+    }
+
     private TaskDTO toTaskDTO(ProjectTask task) {
+        return toTaskDTO(task, task.getAssignee() != null ? task.getAssignee().getEmail() : null);
+    }
+
+    static TaskDTO toTaskDTO(ProjectTask task, String assigneeEmail) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
         dto.setDescription(task.getDescription());
         dto.setPriority(task.getPriority().name());
         dto.setStatus(task.getStatus().name());
-        dto.setAssigneeName(task.getAssignee() != null ? task.getAssignee().getEmail() : null);
+        dto.setAssigneeName(assigneeEmail);
         return dto;
     }
 }
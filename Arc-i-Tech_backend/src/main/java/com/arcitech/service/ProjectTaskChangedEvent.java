@@ -0,0 +1,10 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.TaskDTO;
+
+/**
+ * Published by {@link ProjectService} whenever a project task is created or changed.
+ * Carries the task as it was saved so listeners never have to read it back.
+ */
+public record ProjectTaskChangedEvent(Long projectId, TaskDTO task) {
+}
@@ -0,0 +1,247 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.BulkTaskResultDTO;
+import com.arcitech.dto.TaskDTO;
+import com.arcitech.model.Project;
+import com.arcitech.model.ProjectTask;
+import com.arcitech.model.User;
+import com.arcitech.repository.ProjectRepository;
+import com.arcitech.repository.ProjectTaskRepository;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk creation and update of project tasks from a JSON array or a CSV upload.
+ *
+ * Every row is validated before anything is written; invalid rows are reported and
+ * skipped instead of failing the whole import. All assignees are resolved with one
+ * IN query and all updated tasks loaded with one more, and inserts are flushed in
+ * JDBC batches.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectTaskImportService {
+
+    private static final int MAX_ROWS = 5000;
+    // Keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int FLUSH_EVERY = 50;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectTaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ProjectProgressService progressService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Rows with an id update that task; rows without one create a new task.
+     */
+    @Transactional
+    public BulkTaskResultDTO importTasks(Long projectId, List<TaskDTO> rows) {
+        return importRows(projectId, rows, new HashMap<>());
+    }
+
+    /**
+     * CSV with a header row. Recognised columns (any order, case-insensitive): id, title,
+     * description, priority, status and assignee (or assigneeEmail / assigneeName).
+     */
+    @Transactional
+    public BulkTaskResultDTO importCsv(Long projectId, Reader csv) throws IOException {
+        List<TaskDTO> rows = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        try (CsvReader reader = new CsvReader(csv)) {
+            List<String> header = reader.readRecord();
+            if (header == null) throw new IllegalArgumentException("CSV is empty");
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            if (!columns.containsKey("title")) throw new IllegalArgumentException("CSV header must contain a title column");
+
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+                if (rows.size() >= MAX_ROWS) throw new IllegalArgumentException("At most " + MAX_ROWS + " rows per import");
+                rows.add(toTaskDTO(record, columns, rows.size() + 1, parseErrors));
+            }
+        }
+        return importRows(projectId, rows, parseErrors);
+    }
+
+    private BulkTaskResultDTO importRows(Long projectId, List<TaskDTO> rows, Map<Integer, String> errors) {
+        if (rows.size() > MAX_ROWS) throw new IllegalArgumentException("At most " + MAX_ROWS + " rows per import");
+        if (!projectRepository.existsById(projectId)) throw new RuntimeException("Project not found");
+        Project project = projectRepository.getReferenceById(projectId);
+
+        // --- Resolve everything the rows refer to in two queries ---
+        Set<String> emails = new HashSet<>();
+        Set<Long> updateIds = new HashSet<>();
+        for (TaskDTO row : rows) {
+            if (row == null) continue;
+            if (!isBlank(row.getAssigneeName())) emails.add(emailKey(row.getAssigneeName()));
+            if (row.getId() != null) updateIds.add(row.getId());
+        }
+        // Keyed by lower-cased email: the IN lookup runs under MySQL's case-insensitive collation
+        Map<String, User> usersByEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (User u : userRepository.findByEmailIn(emails)) usersByEmail.put(emailKey(u.getEmail()), u);
+        }
+        Map<Long, ProjectTask> existing = new HashMap<>();
+        if (!updateIds.isEmpty()) {
+            for (ProjectTask t : taskRepository.findAllByIdWithAssignee(updateIds)) {
+                if (t.getProject() != null && projectId.equals(t.getProject().getProjectId())) existing.put(t.getId(), t);
+            }
+        }
+
+        // --- Validate up front; invalid rows are only reported ---
+        BulkTaskResultDTO result = BulkTaskResultDTO.builder().received(rows.size()).build();
+        List<ProjectTask> creates = new ArrayList<>();
+        List<TaskDTO> changed = new ArrayList<>();
+        long doneDelta = 0;
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            TaskDTO row = rows.get(i);
+            String error = errors.get(rowNumber);
+            if (error == null) error = validate(row, existing, usersByEmail);
+            if (error != null) {
+                result.getErrors().add(new BulkTaskResultDTO.RowError(rowNumber, error));
+                continue;
+            }
+
+            User assignee = isBlank(row.getAssigneeName()) ? null : usersByEmail.get(emailKey(row.getAssigneeName()));
+            if (row.getId() != null) {
+                ProjectTask task = existing.get(row.getId());
+                boolean wasDone = task.getStatus() == ProjectTask.Status.DONE;
+                if (!isBlank(row.getTitle())) task.setTitle(row.getTitle());
+                if (row.getDescription() != null) task.setDescription(row.getDescription());
+                if (!isBlank(row.getPriority())) task.setPriority(ProjectTask.Priority.valueOf(row.getPriority().trim()));
+                if (!isBlank(row.getStatus())) task.setStatus(ProjectTask.Status.valueOf(row.getStatus().trim()));
+                if (assignee != null) task.setAssignee(assignee);
+                task.setUpdatedAt(now);
+                boolean isDone = task.getStatus() == ProjectTask.Status.DONE;
+                if (wasDone != isDone) doneDelta += isDone ? 1 : -1;
+                changed.add(ProjectService.toTaskDTO(task, emailOf(task, assignee)));
+                result.getTaskIds().add(task.getId());
+                result.setUpdated(result.getUpdated() + 1);
+            } else {
+                ProjectTask task = ProjectTask.builder()
+                        .title(row.getTitle().trim())
+                        .description(row.getDescription())
+                        .priority(isBlank(row.getPriority())
+                                ? ProjectTask.Priority.MEDIUM : ProjectTask.Priority.valueOf(row.getPriority().trim()))
+                        .status(isBlank(row.getStatus())
+                                ? ProjectTask.Status.TODO : ProjectTask.Status.valueOf(row.getStatus().trim()))
+                        .assignee(assignee)
+                        .project(project)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build();
+                if (task.getStatus() == ProjectTask.Status.DONE) doneDelta++;
+                creates.add(task);
+            }
+        }
+
+        // --- Write: updates are flushed with the first batch, inserts go out in batches ---
+        for (int i = 0; i < creates.size(); i++) {
+            ProjectTask task = creates.get(i);
+            entityManager.persist(task);
+            changed.add(ProjectService.toTaskDTO(task, task.getAssignee() != null ? task.getAssignee().getEmail() : null));
+            result.getTaskIds().add(task.getId());
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        result.setCreated(creates.size());
+        result.setFailed(result.getErrors().size());
+
+        progressService.tasksChanged(projectId, creates.size(), doneDelta);
+        for (TaskDTO task : changed) eventPublisher.publishEvent(new ProjectTaskChangedEvent(projectId, task));
+        return result;
+    }
+
+    private String validate(TaskDTO row, Map<Long, ProjectTask> existing, Map<String, User> usersByEmail) {
+        if (row == null) return "Empty row";
+        if (row.getId() != null && !existing.containsKey(row.getId())) return "Task " + row.getId() + " not found in this project";
+        if (row.getId() == null && isBlank(row.getTitle())) return "Title is required";
+        if (!isBlank(row.getPriority()) && !isEnumValue(ProjectTask.Priority.class, row.getPriority())) {
+            return "Invalid priority '" + row.getPriority() + "'";
+        }
+        if (!isBlank(row.getStatus()) && !isEnumValue(ProjectTask.Status.class, row.getStatus())) {
+            return "Invalid status '" + row.getStatus() + "'";
+        }
+        if (!isBlank(row.getAssigneeName()) && !usersByEmail.containsKey(emailKey(row.getAssigneeName()))) {
+            return "Assignee not found: " + row.getAssigneeName();
+        }
+        return null;
+    }
+
+    private TaskDTO toTaskDTO(List<String> record, Map<String, Integer> columns, int rowNumber,
+                              Map<Integer, String> parseErrors) {
+        TaskDTO dto = new TaskDTO();
+        String id = field(record, columns, "id");
+        if (!isBlank(id)) {
+            try {
+                dto.setId(Long.parseLong(id.trim()));
+            } catch (NumberFormatException e) {
+                parseErrors.put(rowNumber, "Invalid id '" + id + "'");
+            }
+        }
+        dto.setTitle(field(record, columns, "title"));
+        dto.setDescription(field(record, columns, "description"));
+        dto.setPriority(field(record, columns, "priority"));
+        dto.setStatus(field(record, columns, "status"));
+        String assignee = field(record, columns, "assignee");
+        if (assignee == null) assignee = field(record, columns, "assigneeemail");
+        if (assignee == null) assignee = field(record, columns, "assigneename");
+        dto.setAssigneeName(assignee);
+        return dto;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailOf(ProjectTask task, User newAssignee) {
+        if (newAssignee != null) return newAssignee.getEmail();
+        return task.getAssignee() != null ? task.getAssignee().getEmail() : null;
+    }
+
+    private static <E extends Enum<E>> boolean isEnumValue(Class<E> type, String value) {
+        try {
+            Enum.valueOf(type, value.trim());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
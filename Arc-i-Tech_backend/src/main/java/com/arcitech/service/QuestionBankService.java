@@ -0,0 +1,180 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.CursorPageDTO;
+import com.arcitech.dto.QuestionBankItemDTO;
+import com.arcitech.dto.QuizAssemblyRequestDTO;
+import com.arcitech.dto.QuizDTO;
+import com.arcitech.model.Question;
+import com.arcitech.model.Quiz;
+import com.arcitech.repository.QuestionRepository;
+import com.arcitech.repository.QuizRepository;
+import com.arcitech.service.quiz.QuestionBankIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Question bank search and randomized quiz assembly.
+ *
+ * Topics, types and question words are held in a {@link QuestionBankIndex}, rebuilt on
+ * startup and periodically. Searches and draws run against the index; only the
+ * questions actually returned are read from the database.
+ */
+@Service
+public class QuestionBankService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionBankService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUIZ_QUESTIONS = 500;
+
+    private final QuestionRepository questionRepository;
+    private final QuizRepository quizRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile QuestionBankIndex index;
+
+    public QuestionBankService(QuestionRepository questionRepository,
+                               QuizRepository quizRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher) {
+        this.questionRepository = questionRepository;
+        this.quizRepository = quizRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public CursorPageDTO<QuestionBankItemDTO> search(String text, String topic, String type, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        QuestionBankIndex.SearchResult result = getIndex().search(text, topic, type, afterId, limit + 1);
+        List<Long> ids = result.questionIds();
+        String nextCursor = null;
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+            nextCursor = String.valueOf(ids.get(limit - 1));
+        }
+
+        // Questions deleted since the last rebuild simply drop out of the page
+        Map<Long, Question> questions = questionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Question::getQuestionId, Function.identity()));
+        List<QuestionBankItemDTO> items = ids.stream()
+                .map(questions::get)
+                .filter(Objects::nonNull)
+                .map(q -> QuestionBankItemDTO.builder()
+                        .questionId(q.getQuestionId())
+                        .questionText(q.getQuestionText())
+                        .questionType(q.getQuestionType())
+                        .topic(q.getTopic())
+                        .build())
+                .collect(Collectors.toList());
+        return CursorPageDTO.<QuestionBankItemDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .size(limit)
+                .totalCount(result.total())
+                .build();
+    }
+
+    public Map<String, Map<String, Long>> getTopics() {
+        return getIndex().topicCounts();
+    }
+
+    /**
+     * Creates a quiz with questions drawn at random per topic quota. Fails when a topic
+     * does not have enough questions. The quiz_questions rows are inserted in one batch.
+     */
+    @Transactional
+    public QuizDTO assembleQuiz(QuizAssemblyRequestDTO request) {
+        int total = 0;
+        for (Map.Entry<String, Integer> quota : request.getTopicQuotas().entrySet()) {
+            if (quota.getValue() == null || quota.getValue() < 1) {
+                throw new IllegalArgumentException("Quota for topic " + quota.getKey() + " must be positive");
+            }
+            total += quota.getValue();
+        }
+        if (total > MAX_QUIZ_QUESTIONS) throw new IllegalArgumentException("At most " + MAX_QUIZ_QUESTIONS + " questions per quiz");
+
+        QuestionBankIndex bank = getIndex();
+        Random random = request.getSeed() != null ? new Random(request.getSeed()) : new Random();
+        Set<Long> chosen = new HashSet<>();
+        List<Long> ordered = new ArrayList<>(total);
+        for (Map.Entry<String, Integer> quota : request.getTopicQuotas().entrySet()) {
+            List<Long> drawn = bank.sample(quota.getKey(), request.getQuestionType(), chosen, quota.getValue(), random);
+            if (drawn.size() < quota.getValue()) {
+                throw new IllegalArgumentException("Topic " + quota.getKey() + " has only " + drawn.size()
+                        + " eligible questions, " + quota.getValue() + " requested");
+            }
+            chosen.addAll(drawn);
+            ordered.addAll(drawn);
+        }
+        if (request.isShuffle()) Collections.shuffle(ordered, random);
+
+        Quiz quiz = quizRepository.save(Quiz.builder()
+                .title(request.getTitle())
+                .serviceId(request.getServiceId())
+                .timeLimitMinutes(request.getTimeLimitMinutes())
+                .build());
+        Long quizId = quiz.getQuizId();
+        // Plain JDBC batch: QuizQuestion has an assigned composite id, which JPA would
+        // merge (select + insert) row by row
+        List<Object[]> rows = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) rows.add(new Object[]{quizId, ordered.get(i), i});
+        jdbcTemplate.batchUpdate("insert into quiz_questions (quiz_id, question_id, order_index) values (?, ?, ?)", rows);
+        eventPublisher.publishEvent(new QuizChangedEvent(quizId));
+
+        return QuizDTO.builder()
+                .quizId(quizId)
+                .serviceId(quiz.getServiceId())
+                .title(quiz.getTitle())
+                .timeLimitMinutes(quiz.getTimeLimitMinutes())
+                .questions(ordered.stream()
+                        .map(id -> QuizDTO.Question.builder().questionId(id).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.question-bank.refresh-interval-ms:600000}",
+               initialDelayString = "${app.question-bank.refresh-interval-ms:600000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public synchronized QuestionBankIndex rebuild() {
+        List<QuestionBankIndex.Entry> entries = questionRepository.findBankRows().stream()
+                .map(r -> new QuestionBankIndex.Entry(r.getQuestionId(), r.getTopic(), r.getQuestionType(), r.getQuestionText()))
+                .collect(Collectors.toList());
+        QuestionBankIndex next = QuestionBankIndex.build(entries);
+        index = next;
+        logger.info("Question bank index rebuilt: {} questions", next.size());
+        return next;
+    }
+
+    private QuestionBankIndex getIndex() {
+        QuestionBankIndex current = index;
+        return current != null ? current : rebuild();
+    }
+}
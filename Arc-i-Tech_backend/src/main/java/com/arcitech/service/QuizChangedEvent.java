@@ -0,0 +1,8 @@
+package com.arcitech.service;
+
+/**
+ * Published whenever a quiz's questions or options change, so cached answer keys
+ * are dropped and reloaded on next use.
+ */
+public record QuizChangedEvent(Long quizId) {
+}
@@ -0,0 +1,206 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.QuizAttemptDTO;
+import com.arcitech.dto.QuizDTO;
+import com.arcitech.dto.QuizResultDTO;
+import com.arcitech.dto.QuizSubmissionDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.AnswerOption;
+import com.arcitech.model.Question;
+import com.arcitech.model.Quiz;
+import com.arcitech.model.QuizAttempt;
+import com.arcitech.model.UserAnswer;
+import com.arcitech.repository.AnswerOptionRepository;
+import com.arcitech.repository.QuestionRepository;
+import com.arcitech.repository.QuizAttemptRepository;
+import com.arcitech.repository.QuizRepository;
+import com.arcitech.repository.UserAnswerRepository;
+import com.arcitech.service.quiz.AnswerKey;
+import com.arcitech.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Quiz taking and grading.
+ *
+ * Each quiz is loaded once (three queries) into a cached {@link LoadedQuiz}: the paper
+ * shown to takers and its {@link AnswerKey}. Grading a submission then works on option
+ * bitmasks only; the database is touched to close the attempt and to insert the answers
+ * in one batch, both in the submitting transaction. Cached quizzes are dropped on
+ * {@link QuizChangedEvent} and otherwise expire after app.quizzes.cache-ttl-ms.
+ */
+@Service
+public class QuizService {
+
+    /** The taker's view of a quiz together with its answer key. */
+    public record LoadedQuiz(QuizDTO paper, AnswerKey key) {}
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerOptionRepository optionRepository;
+    private final QuizAttemptRepository attemptRepository;
+    private final UserAnswerRepository answerRepository;
+    private final TtlCache<Long, LoadedQuiz> quizzes;
+
+    public QuizService(QuizRepository quizRepository,
+                       QuestionRepository questionRepository,
+                       AnswerOptionRepository optionRepository,
+                       QuizAttemptRepository attemptRepository,
+                       UserAnswerRepository answerRepository,
+                       @Value("${app.quizzes.cache-ttl-ms:3600000}") long cacheTtlMillis,
+                       @Value("${app.quizzes.cache-max-quizzes:1000}") int cacheMaxQuizzes) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.optionRepository = optionRepository;
+        this.attemptRepository = attemptRepository;
+        this.answerRepository = answerRepository;
+        this.quizzes = new TtlCache<>(cacheTtlMillis, cacheMaxQuizzes);
+    }
+
+    public QuizDTO getQuiz(Long quizId) {
+        return load(quizId).paper();
+    }
+
+    public LoadedQuiz load(Long quizId) {
+        return quizzes.get(quizId, this::loadFromDatabase);
+    }
+
+    @EventListener
+    public void onQuizChanged(QuizChangedEvent event) {
+        quizzes.invalidate(event.quizId());
+    }
+
+    @Transactional
+    public QuizAttemptDTO startAttempt(Long userId, Long quizId) {
+        QuizDTO paper = getQuiz(quizId);
+        QuizAttempt attempt = attemptRepository.save(QuizAttempt.builder()
+                .quizId(quizId)
+                .userId(userId)
+                .startTime(LocalDateTime.now())
+                .build());
+        QuizAttemptDTO dto = toDTO(attempt);
+        dto.setQuiz(paper);
+        return dto;
+    }
+
+    public QuizAttemptDTO getAttempt(Long userId, Long attemptId) {
+        return toDTO(findOwnAttempt(userId, attemptId));
+    }
+
+    /**
+     * Grades and closes an attempt. Every question of the quiz gets at least one
+     * user_answers row (unanswered ones with no option), each row carrying whether its
+     * question was answered correctly; free-text rows are left ungraded.
+     */
+    @Transactional
+    public QuizResultDTO submit(Long userId, Long attemptId, QuizSubmissionDTO submission) {
+        QuizAttempt attempt = findOwnAttempt(userId, attemptId);
+        if (attempt.getEndTime() != null) throw new IllegalArgumentException("Attempt already submitted");
+        AnswerKey key = load(attempt.getQuizId()).key();
+
+        // Selected options as one mask per question; repeated entries for a question are merged
+        int n = key.size();
+        long[] selected = new long[n];
+        String[] freeText = new String[n];
+        boolean[] answered = new boolean[n];
+        for (QuizSubmissionDTO.Answer answer : submission.getAnswers()) {
+            int q = key.indexOf(answer.getQuestionId());
+            if (q < 0) throw new IllegalArgumentException("Question " + answer.getQuestionId() + " is not part of this quiz");
+            answered[q] = true;
+            if (key.isChoice(q)) selected[q] |= key.mask(q, answer.getOptionIds());
+            else if (answer.getFreeText() != null) freeText[q] = answer.getFreeText();
+        }
+
+        int correct = 0, graded = 0;
+        List<UserAnswer> rows = new ArrayList<>(n);
+        List<QuizResultDTO.QuestionResult> results = new ArrayList<>(n);
+        for (int q = 0; q < n; q++) {
+            Long questionId = key.questionId(q);
+            if (!key.isChoice(q)) {
+                rows.add(UserAnswer.builder().attemptId(attemptId).questionId(questionId)
+                        .freeTextAnswer(freeText[q]).build());
+                results.add(new QuizResultDTO.QuestionResult(questionId, null, List.of(), List.of()));
+                continue;
+            }
+            boolean ok = key.isCorrect(q, selected[q]);
+            graded++;
+            if (ok) correct++;
+            List<Long> chosen = key.optionIds(q, selected[q]);
+            if (chosen.isEmpty()) {
+                rows.add(UserAnswer.builder().attemptId(attemptId).questionId(questionId).isCorrect(ok).build());
+            }
+            for (Long optionId : chosen) {
+                rows.add(UserAnswer.builder().attemptId(attemptId).questionId(questionId)
+                        .answerOptionId(optionId).isCorrect(ok).build());
+            }
+            results.add(new QuizResultDTO.QuestionResult(questionId, ok, chosen, key.correctOptionIds(q)));
+        }
+
+        double score = graded > 0 ? Math.round(10000.0 * correct / graded) / 100.0 : 0.0;
+        LocalDateTime now = LocalDateTime.now();
+        // Conditional close: a concurrent submit of the same attempt loses here and rolls back
+        if (attemptRepository.complete(attemptId, now, score) == 0) {
+            throw new IllegalArgumentException("Attempt already submitted");
+        }
+        answerRepository.saveAll(rows);
+
+        return QuizResultDTO.builder()
+                .attemptId(attemptId)
+                .quizId(attempt.getQuizId())
+                .finalScore(score)
+                .correct(correct)
+                .graded(graded)
+                .totalQuestions(n)
+                .submittedAt(now)
+                .questions(results)
+                .build();
+    }
+
+    private QuizAttempt findOwnAttempt(Long userId, Long attemptId) {
+        // Other users' attempts are reported as missing rather than forbidden
+        return attemptRepository.findById(attemptId)
+                .filter(a -> Objects.equals(a.getUserId(), userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found"));
+    }
+
+    private LoadedQuiz loadFromDatabase(Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
+        List<Question> questions = questionRepository.findByQuizId(quizId);
+        List<AnswerOption> options = optionRepository.findByQuizId(quizId);
+
+        Map<Long, List<QuizDTO.Option>> optionsByQuestion = options.stream().collect(Collectors.groupingBy(
+                AnswerOption::getQuestionId,
+                Collectors.mapping(o -> new QuizDTO.Option(o.getAnswerOptionId(), o.getAnswerText()), Collectors.toList())));
+        QuizDTO paper = QuizDTO.builder()
+                .quizId(quiz.getQuizId())
+                .serviceId(quiz.getServiceId())
+                .title(quiz.getTitle())
+                .timeLimitMinutes(quiz.getTimeLimitMinutes())
+                .questions(questions.stream().map(q -> QuizDTO.Question.builder()
+                        .questionId(q.getQuestionId())
+                        .questionText(q.getQuestionText())
+                        .questionType(q.getQuestionType())
+                        .topic(q.getTopic())
+                        .options(List.copyOf(optionsByQuestion.getOrDefault(q.getQuestionId(), List.of())))
+                        .build()).collect(Collectors.toUnmodifiableList()))
+                .build();
+        return new LoadedQuiz(paper, AnswerKey.of(questions, options));
+    }
+
+    private QuizAttemptDTO toDTO(QuizAttempt attempt) {
+        return QuizAttemptDTO.builder()
+                .attemptId(attempt.getAttemptId())
+                .quizId(attempt.getQuizId())
+                .userId(attempt.getUserId())
+                .startTime(attempt.getStartTime())
+                .endTime(attempt.getEndTime())
+                .finalScore(attempt.getFinalScore())
+                .build();
+    }
+}
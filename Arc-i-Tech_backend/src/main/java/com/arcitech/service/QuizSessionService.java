@@ -0,0 +1,352 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.QuizAttemptDTO;
+import com.arcitech.dto.QuizResultDTO;
+import com.arcitech.dto.QuizSessionDTO;
+import com.arcitech.dto.QuizSubmissionDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.QuizAttempt;
+import com.arcitech.repository.QuizAttemptRepository;
+import com.arcitech.service.quiz.AnswerKey;
+import com.arcitech.service.sla.TimerWheel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live quiz attempts.
+ *
+ * Open attempts are kept in memory while they are being answered. Answer changes only
+ * touch the in-memory session; a scheduled flush writes every session that changed since
+ * the last flush in one JDBC batch, so a click costs no database write. Timed attempts
+ * get a deadline in a {@link TimerWheel}; when it passes (plus a grace period for
+ * in-flight submissions) the attempt is graded from its saved answers. Open timed
+ * attempts are reloaded on startup, so deadlines survive a restart; untimed sessions
+ * are dropped from memory once idle and reloaded on demand.
+ */
+@Service
+public class QuizSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizSessionService.class);
+
+    private static final TypeReference<List<QuizSubmissionDTO.Answer>> ANSWERS = new TypeReference<>() {};
+
+    // Guarded by its own monitor
+    private static final class Session {
+        final long attemptId;
+        final long userId;
+        final long quizId;
+        final LocalDateTime startTime;
+        final LocalDateTime deadline;
+        final Map<Long, QuizSubmissionDTO.Answer> answers = new LinkedHashMap<>();
+        long version;
+        long savedVersion;
+        long lastTouched = System.currentTimeMillis();
+        boolean closed;
+        // Dropped from the map while idle; whoever still holds it must look the attempt up again
+        boolean evicted;
+
+        Session(long attemptId, long userId, long quizId, LocalDateTime startTime, LocalDateTime deadline) {
+            this.attemptId = attemptId;
+            this.userId = userId;
+            this.quizId = quizId;
+            this.startTime = startTime;
+            this.deadline = deadline;
+        }
+    }
+
+    private record Draft(Session session, String json, long version) {}
+
+    private final QuizService quizService;
+    private final QuizAttemptRepository attemptRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration grace;
+    private final long idleMillis;
+
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final TimerWheel<Long> deadlines = new TimerWheel<>(1000, System.currentTimeMillis());
+    private volatile boolean rebuilt;
+
+    public QuizSessionService(QuizService quizService,
+                              QuizAttemptRepository attemptRepository,
+                              JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.quizzes.submit-grace-seconds:30}") long graceSeconds,
+                              @Value("${app.quizzes.session-idle-ms:1800000}") long idleMillis) {
+        this.quizService = quizService;
+        this.attemptRepository = attemptRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.grace = Duration.ofSeconds(graceSeconds);
+        this.idleMillis = idleMillis;
+    }
+
+    public QuizAttemptDTO start(Long userId, Long quizId) {
+        QuizAttemptDTO attempt = quizService.startAttempt(userId, quizId);
+        Session session = new Session(attempt.getAttemptId(), userId, quizId, attempt.getStartTime(),
+                deadlineOf(attempt.getStartTime(), attempt.getQuiz().getTimeLimitMinutes()));
+        register(session);
+        return attempt;
+    }
+
+    public QuizSessionDTO getSession(Long userId, Long attemptId) {
+        while (true) {
+            Session session = session(userId, attemptId);
+            synchronized (session) {
+                if (session.evicted) continue;
+                if (session.closed) throw new IllegalArgumentException("Attempt already submitted");
+                return toDTO(session);
+            }
+        }
+    }
+
+    /**
+     * Records answers in memory; they reach the database with the next flush. Answers
+     * replace earlier ones for the same question.
+     */
+    public QuizSessionDTO saveAnswers(Long userId, Long attemptId, List<QuizSubmissionDTO.Answer> answers) {
+        while (true) {
+            Session session = session(userId, attemptId);
+            AnswerKey key = quizService.load(session.quizId).key();
+            synchronized (session) {
+                // Answers written to an evicted session would never be flushed
+                if (session.evicted) continue;
+                if (session.closed) throw new IllegalArgumentException("Attempt already submitted");
+                if (session.deadline != null && LocalDateTime.now().isAfter(session.deadline)) {
+                    throw new IllegalArgumentException("Time limit exceeded");
+                }
+                for (QuizSubmissionDTO.Answer answer : answers) {
+                    int q = key.indexOf(answer.getQuestionId());
+                    if (q < 0) throw new IllegalArgumentException("Question " + answer.getQuestionId() + " is not part of this quiz");
+                    key.mask(q, answer.getOptionIds());
+                }
+                for (QuizSubmissionDTO.Answer answer : answers) session.answers.put(answer.getQuestionId(), copy(answer));
+                session.version++;
+                session.lastTouched = System.currentTimeMillis();
+                return toDTO(session);
+            }
+        }
+    }
+
+    /**
+     * Grades and closes the attempt. The submitted answers are merged over the saved ones;
+     * after the deadline (plus grace) only the saved answers count.
+     */
+    public QuizResultDTO submit(Long userId, Long attemptId, QuizSubmissionDTO submission) {
+        while (true) {
+            Session session = session(userId, attemptId);
+            QuizSubmissionDTO answers;
+            synchronized (session) {
+                if (session.evicted) continue;
+                if (session.closed) throw new IllegalArgumentException("Attempt already submitted");
+                session.closed = true;
+                Map<Long, QuizSubmissionDTO.Answer> merged = new LinkedHashMap<>(session.answers);
+                boolean late = session.deadline != null && LocalDateTime.now().isAfter(session.deadline.plus(grace));
+                if (!late && submission != null) {
+                    for (QuizSubmissionDTO.Answer answer : submission.getAnswers()) merged.put(answer.getQuestionId(), answer);
+                }
+                answers = new QuizSubmissionDTO(new ArrayList<>(merged.values()));
+            }
+            return close(session, answers);
+        }
+    }
+
+    // --- Runtime ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int count = 0;
+        for (QuizAttemptRepository.OpenAttempt open : attemptRepository.findOpenTimedAttempts()) {
+            if (open.getStartTime() == null) continue;
+            Session session = new Session(open.getAttemptId(), open.getUserId(), open.getQuizId(), open.getStartTime(),
+                    deadlineOf(open.getStartTime(), open.getTimeLimitMinutes()));
+            restoreDraft(session, open.getDraftAnswers());
+            register(session);
+            count++;
+        }
+        rebuilt = true;
+        logger.info("Quiz sessions rebuilt with {} open timed attempts", count);
+    }
+
+    // Attempts whose deadline passed are graded from their saved answers
+    @Scheduled(fixedDelay = 1000)
+    public void expire() {
+        if (!rebuilt) return;
+        for (Long attemptId : deadlines.advance(System.currentTimeMillis())) {
+            Session session = sessions.get(attemptId);
+            if (session == null) continue;
+            QuizSubmissionDTO answers;
+            synchronized (session) {
+                if (session.closed) continue;
+                session.closed = true;
+                answers = new QuizSubmissionDTO(new ArrayList<>(session.answers.values()));
+            }
+            try {
+                close(session, answers);
+            } catch (RuntimeException e) {
+                logger.error("Auto-submit of quiz attempt {} failed", attemptId, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.quizzes.autosave-interval-ms:5000}")
+    public void flush() {
+        List<Draft> drafts = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Session session : sessions.values()) {
+            synchronized (session) {
+                if (!session.closed && session.version != session.savedVersion) {
+                    drafts.add(new Draft(session, toJson(session.answers.values()), session.version));
+                } else if (session.deadline == null && now - session.lastTouched > idleMillis) {
+                    // Everything it holds is saved; callers that already fetched it reload a fresh copy
+                    session.evicted = true;
+                    sessions.remove(session.attemptId, session);
+                }
+            }
+        }
+        if (drafts.isEmpty()) return;
+
+        try {
+            // The end_time guard keeps a late flush from touching a submitted attempt
+            jdbcTemplate.batchUpdate("update quiz_attempts set draft_answers = ? where attempt_id = ? and end_time is null",
+                    drafts, drafts.size(), (ps, draft) -> {
+                        ps.setString(1, draft.json());
+                        ps.setLong(2, draft.session().attemptId);
+                    });
+        } catch (RuntimeException e) {
+            // Versions stay dirty, so the next flush retries
+            logger.error("Autosave of {} quiz attempts failed", drafts.size(), e);
+            return;
+        }
+        for (Draft draft : drafts) {
+            synchronized (draft.session()) {
+                draft.session().savedVersion = Math.max(draft.session().savedVersion, draft.version());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // --- Internals ---
+
+    private QuizResultDTO close(Session session, QuizSubmissionDTO answers) {
+        try {
+            QuizResultDTO result = quizService.submit(session.userId, session.attemptId, answers);
+            forget(session);
+            return result;
+        } catch (RuntimeException e) {
+            boolean open = attemptRepository.findById(session.attemptId)
+                    .map(a -> a.getEndTime() == null).orElse(false);
+            if (!open) {
+                forget(session);
+                throw e;
+            }
+            // Still open (rejected answers or a database error): keep it live and, if its
+            // deadline already fired, retry the auto-submit a minute from now
+            synchronized (session) {
+                session.closed = false;
+            }
+            if (session.deadline != null) {
+                long retryAt = Math.max(toMillis(session.deadline.plus(grace)), System.currentTimeMillis() + 60_000);
+                deadlines.schedule(session.attemptId, retryAt);
+            }
+            throw e;
+        }
+    }
+
+    private void forget(Session session) {
+        sessions.remove(session.attemptId, session);
+        deadlines.cancel(session.attemptId);
+    }
+
+    private Session session(Long userId, Long attemptId) {
+        Session session = sessions.get(attemptId);
+        if (session == null) session = load(attemptId);
+        if (session.userId != userId) throw new ResourceNotFoundException("Quiz attempt not found");
+        return session;
+    }
+
+    // Recreates the session of an open attempt that is not in memory (idle or never loaded)
+    private Session load(Long attemptId) {
+        QuizAttempt attempt = attemptRepository.findById(attemptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found"));
+        if (attempt.getEndTime() != null) throw new IllegalArgumentException("Attempt already submitted");
+        Integer limit = quizService.load(attempt.getQuizId()).paper().getTimeLimitMinutes();
+        Session session = new Session(attempt.getAttemptId(), attempt.getUserId(), attempt.getQuizId(),
+                attempt.getStartTime(), deadlineOf(attempt.getStartTime(), limit));
+        restoreDraft(session, attempt.getDraftAnswers());
+        Session live = sessions.putIfAbsent(attemptId, session);
+        if (live != null) return live;
+        if (session.deadline != null) deadlines.schedule(attemptId, toMillis(session.deadline.plus(grace)));
+        return session;
+    }
+
+    private void register(Session session) {
+        sessions.put(session.attemptId, session);
+        if (session.deadline != null) deadlines.schedule(session.attemptId, toMillis(session.deadline.plus(grace)));
+    }
+
+    private void restoreDraft(Session session, String json) {
+        if (json == null || json.isBlank()) return;
+        try {
+            for (QuizSubmissionDTO.Answer answer : objectMapper.readValue(json, ANSWERS)) {
+                session.answers.put(answer.getQuestionId(), answer);
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable draft answers of quiz attempt {}", session.attemptId);
+        }
+    }
+
+    private String toJson(Collection<QuizSubmissionDTO.Answer> answers) {
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize draft answers", e);
+        }
+    }
+
+    private static QuizSubmissionDTO.Answer copy(QuizSubmissionDTO.Answer answer) {
+        return new QuizSubmissionDTO.Answer(answer.getQuestionId(),
+                answer.getOptionIds() != null ? List.copyOf(answer.getOptionIds()) : null, answer.getFreeText());
+    }
+
+    private static LocalDateTime deadlineOf(LocalDateTime start, Integer limitMinutes) {
+        return start != null && limitMinutes != null && limitMinutes > 0 ? start.plusMinutes(limitMinutes) : null;
+    }
+
+    private static QuizSessionDTO toDTO(Session session) {
+        Long remaining = session.deadline != null
+                ? Math.max(0, Duration.between(LocalDateTime.now(), session.deadline).getSeconds()) : null;
+        return QuizSessionDTO.builder()
+                .attemptId(session.attemptId)
+                .quizId(session.quizId)
+                .startTime(session.startTime)
+                .deadline(session.deadline)
+                .remainingSeconds(remaining)
+                .answers(new ArrayList<>(session.answers.values()))
+                .build();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
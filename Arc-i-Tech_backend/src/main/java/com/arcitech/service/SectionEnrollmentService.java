@@ -0,0 +1,231 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.NotificationDTO;
+import com.arcitech.dto.SectionEnrollmentDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.CourseEnrollment;
+import com.arcitech.model.CourseSection;
+import com.arcitech.model.SectionWaitlistEntry;
+import com.arcitech.model.UserNotification;
+import com.arcitech.repository.CourseEnrollmentRepository;
+import com.arcitech.repository.CourseSectionRepository;
+import com.arcitech.repository.SectionWaitlistRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Section seats for users who already hold a course enrollment.
+ *
+ * Enrollments themselves are only created by course orders; this service moves an
+ * enrollment into, between and out of the course's sections. course_sections.enrolled_count
+ * is the seat counter. A seat is taken with a single conditional update
+ * ({@code enrolled_count < max_students}), so the database row lock decides races and a
+ * section can never be oversold however many signups arrive at once. Signups that find
+ * the section full join a FIFO waitlist (one spot per user and course); a freed seat
+ * promotes the head of the waitlist in the same transaction, so it cannot be taken by a
+ * newcomer ahead of the queue.
+ *
+ * Locks are taken enrollment first, then waitlist entries, as {@link #enroll} does for its
+ * own user. A promotion chain can still cross a concurrent signup's sections, so the
+ * transaction that loses a deadlock is rolled back and run again.
+ */
+@Service
+public class SectionEnrollmentService {
+
+    public static final String ENROLLED = "ENROLLED";
+    public static final String WAITLISTED = "WAITLISTED";
+    public static final String NONE = "NONE";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CourseSectionRepository sectionRepository;
+    private final CourseEnrollmentRepository enrollmentRepository;
+    private final SectionWaitlistRepository waitlistRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    public SectionEnrollmentService(CourseSectionRepository sectionRepository,
+                                    CourseEnrollmentRepository enrollmentRepository,
+                                    SectionWaitlistRepository waitlistRepository,
+                                    NotificationService notificationService,
+                                    PlatformTransactionManager transactionManager) {
+        this.sectionRepository = sectionRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Waitlist reads must see entries committed while we waited for the section row lock
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * Moves the user's course enrollment into the section if a seat is free, otherwise
+     * queues them (keeping any seat they hold in another section until promoted).
+     * Repeating the call is harmless and reports the current state.
+     *
+     * @throws IllegalArgumentException if the user is not enrolled in the section's course
+     */
+    public SectionEnrollmentDTO enroll(Long userId, Long sectionId) {
+        try {
+            inTransaction(status -> {
+                CourseSection section = findSection(sectionId);
+                CourseEnrollment enrollment = lockEnrollment(userId, section.getCourseId())
+                        .orElseThrow(() -> new IllegalArgumentException("Enroll in the course before choosing a section"));
+                if (sectionId.equals(enrollment.getSectionId())
+                        || waitlistRepository.findBySectionIdAndUserId(sectionId, userId).isPresent()) {
+                    return;
+                }
+                Long previous = enrollment.getSectionId();
+                waitlistRepository.removeForCourse(userId, section.getCourseId());
+                if (sectionRepository.reserveSeat(sectionId) == 1) {
+                    enrollmentRepository.moveToSection(enrollment.getEnrollmentId(), sectionId);
+                    if (previous != null) {
+                        sectionRepository.releaseSeat(previous);
+                        promote(previous, section.getCourseId());
+                    }
+                } else {
+                    waitlistRepository.saveAndFlush(SectionWaitlistEntry.builder()
+                            .sectionId(sectionId)
+                            .userId(userId)
+                            .requestedAt(LocalDateTime.now())
+                            .build());
+                    // A drop may have freed a seat after our reservation failed but before we queued
+                    promote(sectionId, section.getCourseId());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The same user signed up twice at once; the other call won and its state stands
+            SectionEnrollmentDTO current = getStatus(userId, sectionId);
+            if (NONE.equals(current.getStatus())) throw e;
+            return current;
+        }
+        return getStatus(userId, sectionId);
+    }
+
+    /**
+     * Leaves the section or its waitlist. The course enrollment, with its progress and
+     * grade, is kept; it just no longer has a section. The freed seat goes to the head of
+     * the waitlist.
+     */
+    public SectionEnrollmentDTO drop(Long userId, Long sectionId) {
+        inTransaction(status -> {
+            CourseSection section = findSection(sectionId);
+            Optional<CourseEnrollment> enrollment = lockEnrollment(userId, section.getCourseId());
+            if (enrollment.isPresent() && sectionId.equals(enrollment.get().getSectionId())) {
+                enrollmentRepository.moveToSection(enrollment.get().getEnrollmentId(), null);
+                sectionRepository.releaseSeat(sectionId);
+                promote(sectionId, section.getCourseId());
+                return;
+            }
+            SectionWaitlistEntry entry = waitlistRepository.findBySectionIdAndUserId(sectionId, userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
+            waitlistRepository.remove(entry.getWaitlistId());
+        });
+        return getStatus(userId, sectionId);
+    }
+
+    /**
+     * Takes a seat for an enrollment created elsewhere (course orders). Must run inside
+     * the caller's transaction so the seat is returned if the order fails.
+     */
+    public void reserveSeat(Long sectionId, Long courseId) {
+        CourseSection section = findSection(sectionId);
+        if (!section.getCourseId().equals(courseId)) {
+            throw new IllegalArgumentException("Section does not belong to this course");
+        }
+        if (sectionRepository.reserveSeat(sectionId) == 0) {
+            throw new IllegalArgumentException("Section is full");
+        }
+    }
+
+    public SectionEnrollmentDTO getStatus(Long userId, Long sectionId) {
+        CourseSection section = findSection(sectionId);
+        SectionEnrollmentDTO dto = SectionEnrollmentDTO.builder()
+                .sectionId(sectionId)
+                .courseId(section.getCourseId())
+                .status(NONE)
+                .seatsTaken(section.getEnrolledCount())
+                .maxStudents(section.getMaxStudents())
+                .build();
+        Optional<CourseEnrollment> enrollment = enrollmentRepository.findFirstByUserIdAndSectionId(userId, sectionId);
+        if (enrollment.isPresent()) {
+            dto.setStatus(ENROLLED);
+            dto.setEnrollmentId(enrollment.get().getEnrollmentId());
+            return dto;
+        }
+        waitlistRepository.findBySectionIdAndUserId(sectionId, userId).ifPresent(entry -> {
+            dto.setStatus(WAITLISTED);
+            dto.setWaitlistPosition(waitlistRepository.positionOf(sectionId, entry.getWaitlistId()));
+        });
+        return dto;
+    }
+
+    /**
+     * Moves waitlisted users into free seats, oldest first, until the section is full again.
+     * A promoted user who held a seat elsewhere in the course frees it, and that section's
+     * waitlist is served in turn.
+     */
+    private void promote(Long sectionId, Long courseId) {
+        Deque<Long> sections = new ArrayDeque<>();
+        sections.add(sectionId);
+        while (!sections.isEmpty()) {
+            Long current = sections.poll();
+            while (true) {
+                Optional<SectionWaitlistEntry> head = waitlistRepository.findFirstBySectionIdOrderByWaitlistIdAsc(current);
+                if (head.isEmpty() || sectionRepository.reserveSeat(current) == 0) break;
+                Long userId = head.get().getUserId();
+                // Enrollment before waitlist entry, the same order a signup by this user locks them in
+                Optional<CourseEnrollment> enrollment = lockEnrollment(userId, courseId);
+                boolean removed = waitlistRepository.remove(head.get().getWaitlistId()) == 1;
+                if (!removed || enrollment.isEmpty()) {
+                    // Entry already taken by someone else, or its user no longer holds the course
+                    sectionRepository.releaseSeat(current);
+                    continue;
+                }
+                Long previous = enrollment.get().getSectionId();
+                enrollmentRepository.moveToSection(enrollment.get().getEnrollmentId(), current);
+                if (previous != null && !previous.equals(current)) {
+                    sectionRepository.releaseSeat(previous);
+                    sections.add(previous);
+                }
+                NotificationDTO notification = new NotificationDTO();
+                notification.setTitle("You're enrolled");
+                notification.setMessage("A seat opened up in section " + current + " and you have been moved into it from the waitlist.");
+                notification.setType(UserNotification.Type.WAITLIST_PROMOTED.name());
+                notificationService.sendNotification(userId, notification);
+            }
+        }
+    }
+
+    // MySQL rolls a deadlock loser back as a whole, so running it again is safe
+    private void inTransaction(Consumer<TransactionStatus> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(work);
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) throw e;
+            }
+        }
+    }
+
+    private Optional<CourseEnrollment> lockEnrollment(Long userId, Long courseId) {
+        return enrollmentRepository.lockByUserIdAndCourseId(userId, courseId).stream().findFirst();
+    }
+
+    private CourseSection findSection(Long sectionId) {
+        return sectionRepository.findById(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Section not found"));
+    }
+}
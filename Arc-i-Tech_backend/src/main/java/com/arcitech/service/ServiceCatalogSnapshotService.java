@@ -0,0 +1,146 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.ServiceDTO;
+import com.arcitech.model.ServiceEntity;
+import com.arcitech.repository.ServiceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Public service catalog served from an immutable, pre-serialized snapshot.
+ *
+ * The snapshot holds the JSON body, a gzip copy of it and strong ETags for both, so a
+ * catalog read touches neither the database nor Jackson. It is rebuilt after every write
+ * made through this service and re-checked periodically to pick up changes made
+ * elsewhere (readers keep the old snapshot until the new one is swapped in).
+ */
+@Service
+public class ServiceCatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCatalogSnapshotService.class);
+
+    /**
+     * One immutable version of the catalog. The arrays are never modified once published.
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag, Instant builtAt) {
+        // Accepts either representation's tag; both describe the same catalog version
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) return false;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.startsWith("W/")) t = t.substring(2);
+                if (t.equals("*") || t.equals(etag) || t.equals(gzipEtag)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final ServiceRepository serviceRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogService unifiedCatalog;
+    private volatile Snapshot snapshot;
+
+    public ServiceCatalogSnapshotService(ServiceRepository serviceRepository, ObjectMapper objectMapper,
+                                         CatalogService unifiedCatalog) {
+        this.serviceRepository = serviceRepository;
+        this.objectMapper = objectMapper;
+        this.unifiedCatalog = unifiedCatalog;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    public ServiceDTO createService(ServiceDTO dto) {
+        ServiceEntity s = ServiceEntity.builder()
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .category(dto.getCategory())
+                .createdAt(LocalDateTime.now())
+                .build();
+        s = serviceRepository.save(s);
+        dto.setId(s.getId());
+        rebuild();
+        unifiedCatalog.rebuild();
+        return dto;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    // Picks up rows changed outside the application; readers are unaffected when nothing changed
+    @Scheduled(fixedDelayString = "${app.catalog.refresh-interval-ms:300000}",
+               initialDelayString = "${app.catalog.refresh-interval-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public synchronized Snapshot rebuild() {
+        List<ServiceDTO> services = serviceRepository.findAll().stream()
+                .sorted(Comparator.comparing(ServiceEntity::getId))
+                .map(s -> ServiceDTO.builder()
+                        .id(s.getId())
+                        .name(s.getName())
+                        .description(s.getDescription())
+                        .category(s.getCategory())
+                        .build())
+                .collect(Collectors.toList());
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(services);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize service catalog", e);
+        }
+
+        String hash = hash(json);
+        Snapshot current = snapshot;
+        if (current != null && current.etag().equals("\"" + hash + "\"")) return current;
+
+        Snapshot next = new Snapshot(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"", Instant.now());
+        snapshot = next;
+        logger.info("Service catalog snapshot rebuilt: {} services, {} bytes ({} gzipped)",
+                services.size(), json.length, next.gzip().length);
+        return next;
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+}
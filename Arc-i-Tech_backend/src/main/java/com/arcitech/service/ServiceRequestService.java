@@ -1,40 +1,62 @@
 package com.arcitech.service;
 
+import com.arcitech.dto.CursorPageDTO;
 import com.arcitech.dto.ServiceDTO;
+import com.arcitech.dto.ServiceRequestBatchResultDTO;
 import com.arcitech.dto.ServiceRequestDTO;
+import com.arcitech.dto.ServiceRequestQueueItemDTO;
 import com.arcitech.dto.TimelineDTO;
+import com.arcitech.exception.ResourceNotFoundException;
 import com.arcitech.model.ServiceEntity;
 import com.arcitech.model.ServiceRequest;
-import com.arcitech.model.TimelineEntry;
+import com.arcitech.model.TimelineEvent;
 import com.arcitech.model.User;
 import com.arcitech.repository.ServiceRepository;
 import com.arcitech.repository.ServiceRequestRepository;
-import com.arcitech.repository.TimelineRepository;
 import com.arcitech.repository.UserRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ServiceRequestService {
 
+    public enum QueueScope { ALL, UNCLAIMED, MINE }
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH = 500;
+
     private final ServiceRepository serviceRepository;
     private final ServiceRequestRepository requestRepository;
-    private final TimelineRepository timelineRepository;
+    private final TimelineService timelineService;
+    private final SlaService slaService;
     private final UserRepository userRepository;
+    private final long claimLeaseMinutes;
 
     public ServiceRequestService(ServiceRepository serviceRepository,
                                  ServiceRequestRepository requestRepository,
-                                 TimelineRepository timelineRepository,
-                                 UserRepository userRepository) {
+                                 TimelineService timelineService,
+                                 SlaService slaService,
+                                 UserRepository userRepository,
+                                 @Value("${app.service-requests.claim-lease-minutes:15}") long claimLeaseMinutes) {
         this.serviceRepository = serviceRepository;
         this.requestRepository = requestRepository;
-        this.timelineRepository = timelineRepository;
+        this.timelineService = timelineService;
+        this.slaService = slaService;
         this.userRepository = userRepository;
+        this.claimLeaseMinutes = claimLeaseMinutes;
     }
 
     @Transactional
@@ -51,13 +73,9 @@ public class ServiceRequestService {
                 .build();
         req = requestRepository.save(req);
 
-        TimelineEntry t = TimelineEntry.builder()
-                .serviceRequest(req)
-                .event("REQUESTED")
-                .details("User requested service: " + service.getName())
-                .timestamp(LocalDateTime.now())
-                .build();
-        timelineRepository.save(t);
+        timelineService.append(TimelineEvent.SubjectType.SERVICE_REQUEST, req.getId(), "REQUESTED",
+                "User requested service: " + service.getName(), userId);
+        slaService.trackServiceRequest(req.getId(), req.getRequestedAt());
 
         return toDTO(req);
     }
@@ -68,44 +86,189 @@ public class ServiceRequestService {
     }
 
     public List<ServiceRequestDTO> getPendingRequests() {
-        return requestRepository.findByStatus(ServiceRequest.Status.PENDING).stream().map(this::toDTO).collect(Collectors.toList());
+        return requestRepository.findWithDetailsByStatusOrderByIdAsc(ServiceRequest.Status.PENDING)
+                .stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * One page of the approval queue, oldest first. The cursor is the last id of the
+     * previous page.
+     */
+    public CursorPageDTO<ServiceRequestQueueItemDTO> getQueue(Long adminId, QueueScope scope, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<ServiceRequestRepository.QueueRow> rows = requestRepository.findQueue(
+                ServiceRequest.Status.PENDING, afterId,
+                scope == QueueScope.UNCLAIMED,
+                scope == QueueScope.MINE ? adminId : null,
+                LocalDateTime.now(), PageRequest.of(0, limit + 1));
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = String.valueOf(rows.get(limit - 1).getId());
+        }
+        return CursorPageDTO.<ServiceRequestQueueItemDTO>builder()
+                .items(rows.stream().map(this::toQueueItem).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .size(limit)
+                .totalCount(requestRepository.countByStatus(ServiceRequest.Status.PENDING))
+                .build();
     }
 
+    /**
+     * Leases queue items to an admin so others skip them. With explicit ids only those are
+     * claimed; otherwise the oldest {@code count} unclaimed items are. Items someone else
+     * holds a live lease on are left alone. Returns everything the admin now holds.
+     */
     @Transactional
-    public ServiceRequestDTO approveRequest(Long requestId, Long approverId, boolean approve) {
-        ServiceRequest req = requestRepository.findById(requestId).orElseThrow();
-        User approver = userRepository.findById(approverId).orElseThrow();
-
-        if (approve) {
-            req.setStatus(ServiceRequest.Status.APPROVED);
-            req.setApprovedBy(approver);
-            req.setApprovedAt(LocalDateTime.now());
-        } else {
-            req.setStatus(ServiceRequest.Status.REJECTED);
-            req.setApprovedBy(approver);
-            req.setApprovedAt(LocalDateTime.now());
+    public List<ServiceRequestQueueItemDTO> claim(Long adminId, List<Long> ids, int count) {
+        User admin = userRepository.getReferenceById(adminId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> targets = ids != null && !ids.isEmpty()
+                ? new ArrayList<>(new LinkedHashSet<>(ids))
+                : requestRepository.findClaimableIds(now, PageRequest.of(0, Math.max(1, Math.min(count, MAX_PAGE_SIZE))));
+        if (targets.size() > MAX_BATCH) throw new IllegalArgumentException("At most " + MAX_BATCH + " ids per claim");
+
+        if (!targets.isEmpty()) {
+            requestRepository.claim(targets, admin, now.plusMinutes(claimLeaseMinutes), now);
         }
-        requestRepository.save(req);
+        return getQueue(adminId, QueueScope.MINE, null, MAX_PAGE_SIZE).getItems();
+    }
+
+    @Transactional
+    public int release(Long adminId, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return 0;
+        return requestRepository.release(ids, userRepository.getReferenceById(adminId));
+    }
+
+    /**
+     * Approves or rejects many requests in one transaction. Requests that are missing,
+     * already decided or leased to another admin are reported and skipped; timeline
+     * entries for the rest are inserted in one batch. The rows are locked while they are
+     * checked, so a request racing through another decision is seen as already decided.
+     */
+    @Transactional
+    public ServiceRequestBatchResultDTO decide(List<Long> ids, Long approverId, boolean approve, String note) {
+        if (ids == null || ids.isEmpty()) throw new IllegalArgumentException("ids must not be empty");
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_BATCH) throw new IllegalArgumentException("At most " + MAX_BATCH + " ids per batch");
+
+        User approver = userRepository.findById(approverId).orElseThrow(() -> new RuntimeException("User not found"));
+        Map<Long, ServiceRequest> requests = requestRepository.lockAllById(distinct).stream()
+                .collect(Collectors.toMap(ServiceRequest::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
 
-        TimelineEntry t = TimelineEntry.builder()
-                .serviceRequest(req)
-                .event(approve ? "APPROVED" : "REJECTED")
-                .details((approve ? "Approved by " : "Rejected by ") + approver.getFullName())
-                .timestamp(LocalDateTime.now())
+        ServiceRequestBatchResultDTO result = ServiceRequestBatchResultDTO.builder()
+                .requested(distinct.size())
+                .decision(approve ? "APPROVED" : "REJECTED")
                 .build();
-        timelineRepository.save(t);
+        List<TimelineEvent> entries = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            ServiceRequest req = requests.get(id);
+            String error = null;
+            if (req == null) {
+                error = "Service request not found";
+            } else if (req.getStatus() != ServiceRequest.Status.PENDING) {
+                error = "Already " + req.getStatus();
+            } else if (isLeasedToOther(req, approverId, now)) {
+                error = "Claimed by another admin until " + req.getClaimExpiresAt();
+            }
+            if (error != null) {
+                result.getErrors().add(new ServiceRequestBatchResultDTO.ItemError(id, error));
+                continue;
+            }
+            entries.add(applyDecision(req, approver, approve, note, now));
+            result.getDecidedIds().add(id);
+        }
+        timelineService.appendAll(entries);
+        stopSlaAfterCommit(result.getDecidedIds());
+        return result;
+    }
 
+    @Transactional
+    public ServiceRequestDTO approveRequest(Long requestId, Long approverId, boolean approve) {
+        ServiceRequest req = requestRepository.lockAllById(List.of(requestId)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Service request not found"));
+        User approver = userRepository.findById(approverId).orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime now = LocalDateTime.now();
+        if (req.getStatus() != ServiceRequest.Status.PENDING) {
+            throw new IllegalArgumentException("Service request is already " + req.getStatus());
+        }
+        if (isLeasedToOther(req, approverId, now)) {
+            throw new IllegalArgumentException("Service request is claimed by another admin until " + req.getClaimExpiresAt());
+        }
+
+        timelineService.appendAll(List.of(applyDecision(req, approver, approve, null, now)));
+        stopSlaAfterCommit(List.of(requestId));
         return toDTO(req);
     }
 
-    public List<TimelineDTO> getTimeline(Long requestId) {
-        return timelineRepository.findByServiceRequestIdOrderByTimestampAsc(requestId).stream().map(t -> TimelineDTO.builder()
-                .id(t.getId())
-                .serviceRequestId(t.getServiceRequest().getId())
-                .event(t.getEvent())
-                .details(t.getDetails())
-                .timestamp(t.getTimestamp())
-                .build()).collect(Collectors.toList());
+    // Records the decision on the (managed) request and returns its unsaved timeline entry
+    private TimelineEvent applyDecision(ServiceRequest req, User approver, boolean approve, String note,
+                                        LocalDateTime now) {
+        req.setStatus(approve ? ServiceRequest.Status.APPROVED : ServiceRequest.Status.REJECTED);
+        req.setApprovedBy(approver);
+        req.setApprovedAt(now);
+        req.setClaimedBy(null);
+        req.setClaimExpiresAt(null);
+
+        String details = (approve ? "Approved by " : "Rejected by ") + approver.getFullName();
+        if (note != null && !note.isBlank()) details += ": " + note;
+        return TimelineService.event(TimelineEvent.SubjectType.SERVICE_REQUEST, req.getId(),
+                approve ? "APPROVED" : "REJECTED", details, approver.getId(), now);
+    }
+
+    // The SLA clock lives outside the transaction; stopping it early would lose it on rollback
+    private void stopSlaAfterCommit(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(id -> slaService.stop(TimelineEvent.SubjectType.SERVICE_REQUEST, id));
+            return;
+        }
+        List<Long> decided = List.copyOf(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                decided.forEach(id -> slaService.stop(TimelineEvent.SubjectType.SERVICE_REQUEST, id));
+            }
+        });
+    }
+
+    private boolean isLeasedToOther(ServiceRequest req, Long adminId, LocalDateTime now) {
+        return req.getClaimedBy() != null
+                && req.getClaimExpiresAt() != null
+                && req.getClaimExpiresAt().isAfter(now)
+                && !req.getClaimedBy().getId().equals(adminId);
+    }
+
+    public List<TimelineDTO> getTimeline(Long requestId, boolean includeArchived) {
+        return timelineService.getTimeline(TimelineEvent.SubjectType.SERVICE_REQUEST, requestId, includeArchived);
+    }
+
+    private ServiceRequestQueueItemDTO toQueueItem(ServiceRequestRepository.QueueRow row) {
+        return ServiceRequestQueueItemDTO.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .userName(row.getUserName())
+                .userEmail(row.getUserEmail())
+                .serviceId(row.getServiceId())
+                .serviceName(row.getServiceName())
+                .status(row.getStatus() != null ? row.getStatus().name() : null)
+                .details(row.getDetails())
+                .requestedAt(row.getRequestedAt())
+                .claimedById(row.getClaimedById())
+                .claimedByName(row.getClaimedByName())
+                .claimExpiresAt(row.getClaimExpiresAt())
+                .build();
     }
 
     private ServiceRequestDTO toDTO(ServiceRequest req) {
@@ -0,0 +1,263 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.NotificationDTO;
+import com.arcitech.dto.SlaStatusDTO;
+import com.arcitech.model.Inquiry;
+import com.arcitech.model.TimelineEvent;
+import com.arcitech.model.User;
+import com.arcitech.model.UserNotification;
+import com.arcitech.repository.InquiryRepository;
+import com.arcitech.repository.ServiceRequestRepository;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.service.sla.TimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SLA clocks for open service requests (time spent PENDING) and inquiries (time spent in
+ * NEW / IN_DISCUSSION / QUOTED).
+ *
+ * Deadlines live in an in-memory {@link TimerWheel}, rebuilt from the database at startup
+ * and kept current by the owning services as requests and inquiries change, so nothing
+ * polls the database per request. When a deadline fires the subject is re-checked in the
+ * database, marked escalated, admins are notified and a SLA_BREACHED timeline entry is
+ * appended. The escalation mark keeps restarts from escalating the same clock twice.
+ *
+ * Wheel updates are not transactional: a clock scheduled by a transaction that later
+ * rolls back simply finds nothing to escalate when it fires.
+ */
+@Service
+public class SlaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlaService.class);
+
+    // Above this many breaches in one chunk, admins get one summary instead of one notification each
+    private static final int SUMMARY_THRESHOLD = 20;
+    private static final int ESCALATION_CHUNK = 500;
+
+    public record SlaKey(TimelineEvent.SubjectType type, long id) {}
+
+    private final ServiceRequestRepository requestRepository;
+    private final InquiryRepository inquiryRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TimelineService timelineService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration serviceRequestPending;
+    private final Map<Inquiry.Status, Duration> inquiryLimits = new EnumMap<>(Inquiry.Status.class);
+
+    private final TimerWheel<SlaKey> wheel = new TimerWheel<>(1000, System.currentTimeMillis());
+    private final AtomicLong escalated = new AtomicLong();
+    private volatile boolean rebuilt;
+
+    public SlaService(ServiceRequestRepository requestRepository,
+                      InquiryRepository inquiryRepository,
+                      UserRepository userRepository,
+                      NotificationService notificationService,
+                      TimelineService timelineService,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.sla.service-request.pending:24h}") Duration serviceRequestPending,
+                      @Value("${app.sla.inquiry.new:4h}") Duration inquiryNew,
+                      @Value("${app.sla.inquiry.in-discussion:72h}") Duration inquiryInDiscussion,
+                      @Value("${app.sla.inquiry.quoted:168h}") Duration inquiryQuoted) {
+        this.requestRepository = requestRepository;
+        this.inquiryRepository = inquiryRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.timelineService = timelineService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.serviceRequestPending = serviceRequestPending;
+        putLimit(Inquiry.Status.NEW, inquiryNew);
+        putLimit(Inquiry.Status.IN_DISCUSSION, inquiryInDiscussion);
+        putLimit(Inquiry.Status.QUOTED, inquiryQuoted);
+    }
+
+    // --- Clock updates from the owning services ---
+
+    public void trackServiceRequest(Long requestId, LocalDateTime requestedAt) {
+        if (!enabled(serviceRequestPending) || requestedAt == null) return;
+        wheel.schedule(new SlaKey(TimelineEvent.SubjectType.SERVICE_REQUEST, requestId),
+                toMillis(requestedAt.plus(serviceRequestPending)));
+    }
+
+    // Restarts the inquiry's clock for its new status, or stops it when the status has no SLA
+    public void trackInquiry(Long inquiryId, Inquiry.Status status, LocalDateTime since) {
+        SlaKey key = new SlaKey(TimelineEvent.SubjectType.INQUIRY, inquiryId);
+        Duration limit = status != null ? inquiryLimits.get(status) : null;
+        if (limit == null || since == null) {
+            wheel.cancel(key);
+            return;
+        }
+        wheel.schedule(key, toMillis(since.plus(limit)));
+    }
+
+    public void stop(TimelineEvent.SubjectType type, Long id) {
+        wheel.cancel(new SlaKey(type, id));
+    }
+
+    public SlaStatusDTO getStatus() {
+        Map<String, String> limits = new LinkedHashMap<>();
+        if (enabled(serviceRequestPending)) limits.put("SERVICE_REQUEST:PENDING", describe(serviceRequestPending));
+        inquiryLimits.forEach((status, limit) -> limits.put("INQUIRY:" + status, describe(limit)));
+        return SlaStatusDTO.builder()
+                .activeTimers(wheel.size())
+                .escalatedSinceStart(escalated.get())
+                .rebuilt(rebuilt)
+                .limits(limits)
+                .build();
+    }
+
+    // --- Runtime ---
+
+    /**
+     * Loads every open clock from the database. Clocks that are already overdue fire on
+     * the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int count = 0;
+        if (enabled(serviceRequestPending)) {
+            for (ServiceRequestRepository.SlaClock clock : requestRepository.findOpenSlaClocks()) {
+                trackServiceRequest(clock.getId(), clock.getStartedAt());
+                count++;
+            }
+        }
+        if (!inquiryLimits.isEmpty()) {
+            for (InquiryRepository.SlaClock clock : inquiryRepository.findOpenSlaClocks(inquiryLimits.keySet())) {
+                trackInquiry(clock.getId(), clock.getStatus(), clock.getStartedAt());
+                count++;
+            }
+        }
+        rebuilt = true;
+        logger.info("SLA timer wheel rebuilt with {} open clocks", count);
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        if (!rebuilt) return;
+        List<SlaKey> fired = wheel.advance(System.currentTimeMillis());
+        if (fired.isEmpty()) return;
+
+        List<Long> requests = new ArrayList<>();
+        List<Long> inquiries = new ArrayList<>();
+        for (SlaKey key : fired) {
+            if (key.type() == TimelineEvent.SubjectType.SERVICE_REQUEST) requests.add(key.id());
+            else if (key.type() == TimelineEvent.SubjectType.INQUIRY) inquiries.add(key.id());
+        }
+        try {
+            for (int i = 0; i < requests.size(); i += ESCALATION_CHUNK) {
+                List<Long> chunk = requests.subList(i, Math.min(requests.size(), i + ESCALATION_CHUNK));
+                transactionTemplate.executeWithoutResult(status -> escalateServiceRequests(chunk));
+            }
+            for (int i = 0; i < inquiries.size(); i += ESCALATION_CHUNK) {
+                List<Long> chunk = inquiries.subList(i, Math.min(inquiries.size(), i + ESCALATION_CHUNK));
+                transactionTemplate.executeWithoutResult(status -> escalateInquiries(chunk));
+            }
+        } catch (RuntimeException e) {
+            // The clocks are gone from the wheel; a rebuild picks up whatever was not marked
+            logger.error("SLA escalation failed, rebuilding clocks from the database", e);
+            rebuild();
+        }
+    }
+
+    private void escalateServiceRequests(List<Long> ids) {
+        List<Long> breached = requestRepository.findUnescalatedPending(ids);
+        if (breached.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        requestRepository.markSlaEscalated(breached, now);
+
+        String limit = describe(serviceRequestPending);
+        List<TimelineEvent> events = new ArrayList<>(breached.size());
+        for (Long id : breached) {
+            events.add(TimelineService.event(TimelineEvent.SubjectType.SERVICE_REQUEST, id, "SLA_BREACHED",
+                    "Pending approval for more than " + limit, null, now));
+        }
+        timelineService.appendAll(events);
+        notifyAdmins(breached, "Service request", "pending approval for more than " + limit);
+        escalated.addAndGet(breached.size());
+    }
+
+    private void escalateInquiries(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> breached = new ArrayList<>();
+        List<TimelineEvent> events = new ArrayList<>();
+        for (InquiryRepository.SlaClock clock : inquiryRepository.findUnescalated(ids)) {
+            Duration limit = clock.getStatus() != null ? inquiryLimits.get(clock.getStatus()) : null;
+            if (limit == null || clock.getStartedAt() == null) continue;
+            LocalDateTime deadline = clock.getStartedAt().plus(limit);
+            if (deadline.isAfter(now)) {
+                // Status changed behind our back; follow the stored clock instead
+                trackInquiry(clock.getId(), clock.getStatus(), clock.getStartedAt());
+                continue;
+            }
+            breached.add(clock.getId());
+            events.add(TimelineService.event(TimelineEvent.SubjectType.INQUIRY, clock.getId(), "SLA_BREACHED",
+                    clock.getStatus() + " for more than " + describe(limit), null, now));
+        }
+        if (breached.isEmpty()) return;
+        inquiryRepository.markSlaEscalated(breached, now);
+        timelineService.appendAll(events);
+        notifyAdmins(breached, "Inquiry", "past its response SLA");
+        escalated.addAndGet(breached.size());
+    }
+
+    private void notifyAdmins(List<Long> ids, String subject, String reason) {
+        List<Long> admins = userRepository.findActiveIdsByRoleIn(List.of(User.Role.SUB_ADMIN, User.Role.SUPER_ADMIN));
+        if (admins.isEmpty()) return;
+        if (ids.size() > SUMMARY_THRESHOLD) {
+            notificationService.sendToUsers(admins, notification(
+                    "SLA breached: " + ids.size() + " items",
+                    ids.size() + " " + subject.toLowerCase() + "s are " + reason + "."));
+            return;
+        }
+        for (Long id : ids) {
+            notificationService.sendToUsers(admins, notification(
+                    "SLA breached: " + subject + " #" + id,
+                    subject + " #" + id + " is " + reason + "."));
+        }
+    }
+
+    private static NotificationDTO notification(String title, String message) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setTitle(title);
+        dto.setMessage(message);
+        dto.setType(UserNotification.Type.SLA_BREACHED.name());
+        return dto;
+    }
+
+    private void putLimit(Inquiry.Status status, Duration limit) {
+        if (enabled(limit)) inquiryLimits.put(status, limit);
+    }
+
+    // A zero or negative duration switches that clock off
+    private static boolean enabled(Duration limit) {
+        return limit != null && !limit.isZero() && !limit.isNegative();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String describe(Duration d) {
+        if (d.toMinutes() % 60 != 0) return d.toMinutes() + "m";
+        return d.toHours() + "h";
+    }
+}
@@ -0,0 +1,301 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.TaskTreeNodeDTO;
+import com.arcitech.dto.TaskTreeRequest;
+import com.arcitech.model.ProjectTask;
+import com.arcitech.model.Task;
+import com.arcitech.repository.ProjectRepository;
+import com.arcitech.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sub-task hierarchy backed by a materialized path on {@link Task}.
+ *
+ * Each task stores the ids of all its ancestors and itself ("/12/40/41/"), so a subtree
+ * is a single prefix range scan ordered by path (which is also a pre-order walk), and
+ * the ancestor chain can be read straight off the path. Paths are assigned on insert
+ * and rewritten with one bulk update when a task is moved. Tasks from before the
+ * hierarchy existed get their paths once at startup, so reads never write.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskTreeService {
+
+    // Matches the width of tasks.path
+    private static final int MAX_PATH_LENGTH = 760;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectProgressService progressService;
+
+    @Transactional(readOnly = true)
+    public List<TaskTreeNodeDTO> getTree(Long projectId) {
+        return buildForest(taskRepository.findByProjectIdOrderByPath(projectId));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskTreeNodeDTO getSubtree(Long projectId, Long taskId) {
+        Task root = load(projectId, taskId);
+        return buildForest(taskRepository.findSubtree(projectId, root.getPath() + "%")).get(0);
+    }
+
+    /**
+     * Ancestors of a task from the root down to its direct parent.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTreeNodeDTO> getAncestors(Long projectId, Long taskId) {
+        Task task = load(projectId, taskId);
+        List<Long> ancestorIds = parsePath(task.getPath());
+        ancestorIds.remove(ancestorIds.size() - 1);
+
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task t : taskRepository.findAllById(ancestorIds)) byId.put(t.getTaskId(), t);
+
+        List<TaskTreeNodeDTO> chain = new ArrayList<>();
+        for (Long id : ancestorIds) {
+            Task t = byId.get(id);
+            if (t != null) chain.add(toNode(t));
+        }
+        return chain;
+    }
+
+    @Transactional
+    public TaskTreeNodeDTO createTask(Long projectId, TaskTreeRequest req) {
+        if (!projectRepository.existsById(projectId)) throw new RuntimeException("Project not found");
+        Task parent = req.getParentTaskId() != null ? load(projectId, req.getParentTaskId()) : null;
+        if (parent != null && parent.getPath() == null) {
+            ensurePaths(projectId);
+            parent = load(projectId, req.getParentTaskId());
+        }
+
+        Task task = Task.builder()
+                .projectId(projectId)
+                .parentTaskId(parent != null ? parent.getTaskId() : null)
+                .milestoneId(req.getMilestoneId())
+                .title(req.getTitle())
+                .description(req.getDescription())
+                .assigneeUserId(req.getAssigneeUserId())
+                .status(req.getStatus() != null ? validStatus(req.getStatus()) : ProjectTask.Status.TODO.name())
+                .priority(req.getPriority())
+                .startDate(req.getStartDate())
+                .dueDate(req.getDueDate())
+                .depth(parent != null ? parent.getDepth() + 1 : 0)
+                .build();
+        // The path needs the generated id, so it is filled in right after the insert.
+        task = taskRepository.save(task);
+        String path = (parent != null ? parent.getPath() : "/") + task.getTaskId() + "/";
+        if (path.length() > MAX_PATH_LENGTH) throw new IllegalArgumentException("Task hierarchy is too deep");
+        task.setPath(path);
+        task = taskRepository.save(task);
+
+        eventPublisher.publishEvent(new TasksChangedEvent(projectId));
+        progressService.taskAdded(projectId, isDone(task));
+
+        TaskTreeNodeDTO node = toNode(task);
+        applyRollup(node, 1, isDone(task) ? 1 : 0);
+        return node;
+    }
+
+    /**
+     * Moves a task (and its whole subtree) under a new parent, or to the top level when
+     * {@code newParentId} is null.
+     */
+    @Transactional
+    public TaskTreeNodeDTO moveTask(Long projectId, Long taskId, Long newParentId) {
+        ensurePaths(projectId);
+        Task task = load(projectId, taskId);
+        Task newParent = newParentId != null ? load(projectId, newParentId) : null;
+        if (newParent != null && newParent.getPath().startsWith(task.getPath())) {
+            throw new IllegalArgumentException("A task cannot be moved under its own subtree");
+        }
+
+        String oldPrefix = task.getPath();
+        String newPrefix = (newParent != null ? newParent.getPath() : "/") + taskId + "/";
+        if (!oldPrefix.equals(newPrefix)) {
+            Integer longest = taskRepository.maxPathLength(projectId, oldPrefix + "%");
+            if (longest != null && longest - oldPrefix.length() + newPrefix.length() > MAX_PATH_LENGTH) {
+                throw new IllegalArgumentException("Task hierarchy is too deep");
+            }
+            int newDepth = newParent != null ? newParent.getDepth() + 1 : 0;
+            task.setParentTaskId(newParentId);
+            taskRepository.save(task);
+            taskRepository.movePaths(projectId, oldPrefix + "%", oldPrefix.length(), newPrefix,
+                    newDepth - task.getDepth());
+            eventPublisher.publishEvent(new TasksChangedEvent(projectId));
+        }
+        return getSubtree(projectId, taskId);
+    }
+
+    @Transactional
+    public TaskTreeNodeDTO updateStatus(Long projectId, Long taskId, String status) {
+        String newStatus = validStatus(status);
+        ensurePaths(projectId);
+        Task task = load(projectId, taskId);
+        boolean wasDone = isDone(task);
+        task.setStatus(newStatus);
+        taskRepository.save(task);
+        progressService.taskStatusChanged(projectId, wasDone, isDone(task));
+        eventPublisher.publishEvent(new TasksChangedEvent(projectId));
+        return getSubtree(projectId, taskId);
+    }
+
+    /**
+     * One-off path backfill for every project that still has tasks without a path.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillPaths() {
+        for (Long projectId : taskRepository.findProjectIdsWithoutPath()) ensurePaths(projectId);
+    }
+
+    // --- Helpers ---
+
+    private static String validStatus(String status) {
+        try {
+            return ProjectTask.Status.valueOf(status.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown task status: " + status);
+        }
+    }
+
+    private Task load(Long projectId, Long taskId) {
+        return taskRepository.findById(taskId)
+                .filter(t -> projectId.equals(t.getProjectId()))
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+    }
+
+    private static boolean isDone(Task task) {
+        return ProjectProgressService.isDone(task.getStatus());
+    }
+
+    private static List<Long> parsePath(String path) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : path.split("/")) {
+            if (!part.isEmpty()) ids.add(Long.parseLong(part));
+        }
+        return ids;
+    }
+
+    /**
+     * Backfills paths for tasks created before the hierarchy was maintained (or by other
+     * code paths) from their parentTaskId links. Broken or cyclic links become roots.
+     * Runs at startup and before writes that rely on paths, never on reads.
+     */
+    private void ensurePaths(Long projectId) {
+        if (taskRepository.countByProjectIdAndPathIsNull(projectId) == 0) return;
+
+        List<Task> tasks = taskRepository.findByProjectId(projectId);
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task t : tasks) byId.put(t.getTaskId(), t);
+
+        Map<Long, String> paths = new HashMap<>();
+        for (Task t : tasks) resolvePath(t, byId, paths);
+        for (Task t : tasks) {
+            String path = paths.get(t.getTaskId());
+            t.setPath(path);
+            t.setDepth(parsePath(path).size() - 1);
+            if (!byId.containsKey(t.getParentTaskId()) || path.equals("/" + t.getTaskId() + "/")) {
+                t.setParentTaskId(null);
+            }
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private String resolvePath(Task task, Map<Long, Task> byId, Map<Long, String> paths) {
+        // Walk up iteratively until a task with a known path (or a root) is found.
+        List<Task> chain = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Task current = task;
+        String prefix = "/";
+        while (current != null) {
+            String known = paths.get(current.getTaskId());
+            if (known != null) {
+                prefix = known;
+                break;
+            }
+            if (!seen.add(current.getTaskId())) break;
+            chain.add(current);
+            Task parent = current.getParentTaskId() != null ? byId.get(current.getParentTaskId()) : null;
+            current = parent != null && !seen.contains(parent.getTaskId()) ? parent : null;
+        }
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            prefix = prefix + chain.get(i).getTaskId() + "/";
+            paths.put(chain.get(i).getTaskId(), prefix);
+        }
+        return paths.get(task.getTaskId());
+    }
+
+    /**
+     * Builds nodes from tasks sorted by path. Path order is a pre-order walk, so a stack
+     * of open ancestors is enough to attach children, and walking the list backwards
+     * visits every child before its parent for the rollup.
+     */
+    private List<TaskTreeNodeDTO> buildForest(List<Task> sortedByPath) {
+        int n = sortedByPath.size();
+        List<TaskTreeNodeDTO> roots = new ArrayList<>();
+        TaskTreeNodeDTO[] nodes = new TaskTreeNodeDTO[n];
+        int[] parentIndex = new int[n];
+        int[] total = new int[n];
+        int[] done = new int[n];
+
+        int[] open = new int[n];
+        int top = 0;
+        for (int i = 0; i < n; i++) {
+            Task t = sortedByPath.get(i);
+            nodes[i] = toNode(t);
+            while (top > 0 && !t.getPath().startsWith(sortedByPath.get(open[top - 1]).getPath())) top--;
+            if (top == 0) {
+                parentIndex[i] = -1;
+                roots.add(nodes[i]);
+            } else {
+                parentIndex[i] = open[top - 1];
+                nodes[parentIndex[i]].getChildren().add(nodes[i]);
+            }
+            open[top++] = i;
+            total[i] = 1;
+            done[i] = isDone(t) ? 1 : 0;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            applyRollup(nodes[i], total[i], done[i]);
+            if (parentIndex[i] >= 0) {
+                total[parentIndex[i]] += total[i];
+                done[parentIndex[i]] += done[i];
+            }
+        }
+        return roots;
+    }
+
+    private static void applyRollup(TaskTreeNodeDTO node, int total, int done) {
+        node.setSubtreeTasks(total);
+        node.setSubtreeDoneTasks(done);
+        node.setPercentDone((int) Math.round(done * 100.0 / total));
+    }
+
+    private TaskTreeNodeDTO toNode(Task task) {
+        return TaskTreeNodeDTO.builder()
+                .taskId(task.getTaskId())
+                .parentTaskId(task.getParentTaskId())
+                .title(task.getTitle())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .assigneeUserId(task.getAssigneeUserId())
+                .startDate(task.getStartDate())
+                .dueDate(task.getDueDate())
+                .depth(task.getDepth() != null ? task.getDepth() : 0)
+                .build();
+    }
+}
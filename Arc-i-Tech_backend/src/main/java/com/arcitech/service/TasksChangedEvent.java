@@ -0,0 +1,9 @@
+package com.arcitech.service;
+
+/**
+ * Published when tasks of a project (the {@code tasks} table) are created, moved, edited
+ * or removed, and when a whole project goes away. Listeners holding per-project state
+ * derived from tasks (schedule graphs, Kanban boards) drop it.
+ */
+public record TasksChangedEvent(Long projectId) {
+}
@@ -0,0 +1,127 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.TimelineDTO;
+import com.arcitech.model.TimelineEvent;
+import com.arcitech.repository.TimelineEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only activity timelines for service requests, projects, inquiries and orders.
+ *
+ * Appends carry only the subject's type and id, so callers never load the parent.
+ * Reads go through a projection on (subject_type, subject_id, created_at). Entries
+ * older than app.timeline.retention-months are moved to timeline_events_archive by a
+ * nightly job, a month at a time, so the live table stays small.
+ */
+@Service
+public class TimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+    private static final int MAX_DETAILS = 2000;
+    private static final int ARCHIVE_CHUNK = 1000;
+
+    private final TimelineEventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+
+    public TimelineService(TimelineEventRepository eventRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.timeline.retention-months:12}") int retentionMonths) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Builds an entry without saving it, for callers that append several at once.
+     */
+    public static TimelineEvent event(TimelineEvent.SubjectType subjectType, Long subjectId, String event,
+                                      String details, Long actorUserId, LocalDateTime at) {
+        if (details != null && details.length() > MAX_DETAILS) details = details.substring(0, MAX_DETAILS);
+        return TimelineEvent.builder()
+                .subjectType(subjectType)
+                .subjectId(subjectId)
+                .event(event)
+                .details(details)
+                .actorUserId(actorUserId)
+                .createdAt(at)
+                .monthKey(monthKey(YearMonth.from(at)))
+                .build();
+    }
+
+    public TimelineEvent append(TimelineEvent.SubjectType subjectType, Long subjectId, String event,
+                                String details, Long actorUserId) {
+        return eventRepository.save(event(subjectType, subjectId, event, details, actorUserId, LocalDateTime.now()));
+    }
+
+    // Inserted in JDBC batches (pooled ids + hibernate.jdbc.batch_size)
+    public void appendAll(Collection<TimelineEvent> events) {
+        if (!events.isEmpty()) eventRepository.saveAll(events);
+    }
+
+    public List<TimelineDTO> getTimeline(TimelineEvent.SubjectType subjectType, Long subjectId,
+                                         boolean includeArchived) {
+        List<TimelineDTO> result = new ArrayList<>();
+        if (includeArchived) {
+            for (TimelineEventRepository.TimelineRow row :
+                    eventRepository.findArchivedBySubject(subjectType.name(), subjectId)) {
+                result.add(toDTO(subjectType, subjectId, row));
+            }
+        }
+        for (TimelineEventRepository.TimelineRow row : eventRepository.findBySubject(subjectType, subjectId)) {
+            result.add(toDTO(subjectType, subjectId, row));
+        }
+        return result;
+    }
+
+    /**
+     * Moves entries from months before the retention window to the archive table. Each
+     * chunk is copied and deleted in its own short transaction.
+     */
+    @Scheduled(cron = "${app.timeline.archive-cron:0 30 2 * * *}")
+    public void archiveOldEntries() {
+        int cutoff = monthKey(YearMonth.now().minusMonths(retentionMonths));
+        long moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = eventRepository.findIdsBeforeMonth(cutoff, ARCHIVE_CHUNK);
+                if (ids.isEmpty()) return 0;
+                eventRepository.copyToArchive(ids);
+                return eventRepository.deleteByIds(ids);
+            });
+            if (count == null || count == 0) break;
+            moved += count;
+        }
+        if (moved > 0) logger.info("Archived {} timeline entries older than {}", moved, cutoff);
+    }
+
+    static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private TimelineDTO toDTO(TimelineEvent.SubjectType subjectType, Long subjectId,
+                              TimelineEventRepository.TimelineRow row) {
+        return TimelineDTO.builder()
+                .id(row.getId())
+                .subjectType(subjectType.name())
+                .subjectId(subjectId)
+                .serviceRequestId(subjectType == TimelineEvent.SubjectType.SERVICE_REQUEST ? subjectId : null)
+                .event(row.getEvent())
+                .details(row.getDetails())
+                .actorUserId(row.getActorUserId())
+                .timestamp(row.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.VideoManifestDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.repository.CourseLessonRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Lesson videos kept in {@link FileStorageService} storage.
+ *
+ * Whole files are served with byte ranges. A background job also cuts each uploaded
+ * video into fixed-size segments under {@code video-segments/<lessonId>/<version>/}
+ * with a manifest, so a player can start after the first segment and seek by fetching
+ * only the segments it needs. The version is derived from the source's size and
+ * modification time: re-uploading produces a new directory, and segment URLs contain
+ * the version so they can be cached forever.
+ */
+@Service
+public class VideoDeliveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VideoDeliveryService.class);
+
+    private static final String SEGMENTS_DIR = "video-segments";
+    private static final String MANIFEST = "manifest.json";
+    private static final Pattern VERSION = Pattern.compile("[0-9a-f]{1,16}-[0-9a-f]{1,16}");
+
+    /** A servable file with the metadata needed for conditional and range requests. */
+    public record VideoFile(Path path, String contentType, long size, long lastModified, String etag) {}
+
+    // Written next to the segments once they are all in place
+    private record SegmentManifest(String source, String version, String contentType,
+                                   long totalBytes, int segmentBytes, int segmentCount) {}
+
+    private final CurriculumService curriculumService;
+    private final CourseLessonRepository lessonRepository;
+    private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
+    private final int segmentBytes;
+    private final Object segmentLock = new Object();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public VideoDeliveryService(CurriculumService curriculumService,
+                                CourseLessonRepository lessonRepository,
+                                FileStorageService fileStorageService,
+                                ObjectMapper objectMapper,
+                                @Value("${app.video.segment-bytes:2097152}") int segmentBytes) {
+        if (segmentBytes < 64 * 1024) throw new IllegalArgumentException("app.video.segment-bytes must be at least 64 KiB");
+        this.curriculumService = curriculumService;
+        this.lessonRepository = lessonRepository;
+        this.fileStorageService = fileStorageService;
+        this.objectMapper = objectMapper;
+        this.segmentBytes = segmentBytes;
+    }
+
+    public VideoFile openVideo(Long lessonId, Long userId, boolean admin) {
+        String url = curriculumService.getLessonVideoUrl(lessonId, userId, admin)
+                .orElseThrow(() -> new ResourceNotFoundException("Video not found"));
+        Path source = fileStorageService.resolve(url)
+                .orElseThrow(() -> new ResourceNotFoundException("Video not found"));
+        return describe(source, contentType(source));
+    }
+
+    /**
+     * Segment list for the lesson's current upload. Until the job has segmented it the
+     * manifest only carries the whole-file stream URL.
+     */
+    public VideoManifestDTO getManifest(Long lessonId, Long userId, boolean admin) {
+        VideoFile video = openVideo(lessonId, userId, admin);
+        return toDTO(lessonId, video, readManifest(lessonId, version(video)).orElse(null));
+    }
+
+    public VideoFile openSegment(Long lessonId, String version, int index, Long userId, boolean admin) {
+        VideoFile video = openVideo(lessonId, userId, admin);
+        // Only the current upload's segments are served; the pattern also keeps the path inside storage
+        if (!VERSION.matcher(version).matches() || !version.equals(version(video))) {
+            throw new ResourceNotFoundException("Segment not found");
+        }
+        SegmentManifest manifest = readManifest(lessonId, version)
+                .orElseThrow(() -> new ResourceNotFoundException("Segment not found"));
+        if (index < 0 || index >= manifest.segmentCount()) throw new ResourceNotFoundException("Segment not found");
+        Path segment = versionDir(lessonId, version).resolve(segmentName(index));
+        if (!Files.isRegularFile(segment)) throw new ResourceNotFoundException("Segment not found");
+        // A segment is a slice of the container, not a playable file on its own
+        return describe(segment, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    @Scheduled(fixedDelayString = "${app.video.segment-interval-ms:300000}",
+               initialDelayString = "${app.video.segment-interval-ms:300000}")
+    public void segmentPending() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            int segmented = 0;
+            for (CourseLessonRepository.LessonVideo row : lessonRepository.findWithVideo()) {
+                Optional<Path> source = fileStorageService.resolve(row.getVideoUrl());
+                if (source.isEmpty()) continue;
+                try {
+                    if (segment(row.getLessonId(), source.get())) segmented++;
+                } catch (RuntimeException e) {
+                    logger.warn("Segmenting video of lesson {} failed", row.getLessonId(), e);
+                }
+            }
+            if (segmented > 0) logger.info("Segmented {} lesson videos", segmented);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Segments one lesson's video now instead of waiting for the job.
+     */
+    public VideoManifestDTO segmentNow(Long lessonId) {
+        VideoFile video = openVideo(lessonId, null, true);
+        segment(lessonId, video.path());
+        return toDTO(lessonId, video, readManifest(lessonId, version(video)).orElse(null));
+    }
+
+    // Returns false when the current version is already segmented
+    private boolean segment(Long lessonId, Path source) {
+        synchronized (segmentLock) {
+            VideoFile video = describe(source, contentType(source));
+            String version = version(video);
+            if (readManifest(lessonId, version).isPresent()) return false;
+
+            Path lessonDir = fileStorageService.derivedDirectory(SEGMENTS_DIR).resolve(String.valueOf(lessonId));
+            Path staging = lessonDir.resolve(version + ".tmp");
+            try {
+                deleteRecursively(staging);
+                Files.createDirectories(staging);
+                int count;
+                try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    count = (int) ((size + segmentBytes - 1) / segmentBytes);
+                    for (int i = 0; i < count; i++) {
+                        long offset = (long) i * segmentBytes;
+                        long length = Math.min(segmentBytes, size - offset);
+                        try (FileChannel out = FileChannel.open(staging.resolve(segmentName(i)),
+                                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                            // transferTo lets the kernel copy file to file without a user-space buffer
+                            for (long done = 0; done < length; ) {
+                                done += in.transferTo(offset + done, length - done, out);
+                            }
+                        }
+                    }
+                    if (size != video.size()) throw new IOException("Source changed while segmenting");
+                }
+                objectMapper.writeValue(staging.resolve(MANIFEST).toFile(), new SegmentManifest(
+                        source.getFileName().toString(), version, video.contentType(), video.size(), segmentBytes, count));
+
+                // Publish atomically, then drop segments of older uploads
+                Path target = lessonDir.resolve(version);
+                deleteRecursively(target);
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                try (Stream<Path> others = Files.list(lessonDir)) {
+                    for (Path other : others.filter(p -> !p.equals(target)).toList()) deleteRecursively(other);
+                }
+                return true;
+            } catch (IOException e) {
+                try {
+                    deleteRecursively(staging);
+                } catch (IOException ignored) {
+                    // Retried on the next run anyway
+                }
+                throw new UncheckedIOException("Failed to segment video of lesson " + lessonId, e);
+            }
+        }
+    }
+
+    private Optional<SegmentManifest> readManifest(Long lessonId, String version) {
+        Path file = versionDir(lessonId, version).resolve(MANIFEST);
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), SegmentManifest.class));
+        } catch (IOException e) {
+            logger.warn("Unreadable segment manifest {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private VideoManifestDTO toDTO(Long lessonId, VideoFile video, SegmentManifest manifest) {
+        String base = "/api/courses/lessons/" + lessonId + "/video";
+        VideoManifestDTO dto = VideoManifestDTO.builder()
+                .lessonId(lessonId)
+                .contentType(video.contentType())
+                .totalBytes(video.size())
+                .streamUrl(base)
+                .segments(List.of())
+                .build();
+        if (manifest == null) return dto;
+
+        List<VideoManifestDTO.Segment> segments = new ArrayList<>(manifest.segmentCount());
+        for (int i = 0; i < manifest.segmentCount(); i++) {
+            long offset = (long) i * manifest.segmentBytes();
+            segments.add(VideoManifestDTO.Segment.builder()
+                    .index(i)
+                    .offset(offset)
+                    .length(Math.min(manifest.segmentBytes(), manifest.totalBytes() - offset))
+                    .url(base + "/segments/" + manifest.version() + "/" + i)
+                    .build());
+        }
+        dto.setSegmented(true);
+        dto.setVersion(manifest.version());
+        dto.setSegmentBytes(manifest.segmentBytes());
+        dto.setSegments(segments);
+        return dto;
+    }
+
+    private Path versionDir(Long lessonId, String version) {
+        return fileStorageService.derivedDirectory(SEGMENTS_DIR).resolve(String.valueOf(lessonId)).resolve(version);
+    }
+
+    private static VideoFile describe(Path path, String contentType) {
+        try {
+            long size = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+            return new VideoFile(path, contentType, size, lastModified, etag);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Video not found");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The source's ETag without quotes doubles as the segment version
+    private static String version(VideoFile video) {
+        return video.etag().substring(1, video.etag().length() - 1);
+    }
+
+    private static String contentType(Path path) {
+        return MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private static String segmentName(int index) {
+        return String.format("seg-%05d.bin", index);
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) return;
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.ProjectWorkloadDTO;
+import com.arcitech.dto.TeamWorkloadDTO;
+import com.arcitech.dto.WorkloadCountsDTO;
+import com.arcitech.dto.WorkloadDTO;
+import com.arcitech.model.User;
+import com.arcitech.repository.InternAssignmentRepository;
+import com.arcitech.repository.ProjectTaskRepository;
+import com.arcitech.repository.UserRepository;
+import com.arcitech.repository.WorkloadCounts;
+import com.arcitech.util.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open-work view per user across projects, built from aggregate GROUP BY queries over
+ * project tasks and intern assignments instead of loading task entities.
+ *
+ * Results sit in a short TTL cache because the managers' dashboard polls them; a
+ * change may take up to app.workload.cache-ttl-ms to show up.
+ */
+@Service
+public class WorkloadService {
+
+    public static final String SOURCE_PROJECT_TASK = "PROJECT_TASK";
+    public static final String SOURCE_INTERN_ASSIGNMENT = "INTERN_ASSIGNMENT";
+    private static final String NONE = "NONE";
+
+    private final ProjectTaskRepository taskRepository;
+    private final InternAssignmentRepository internAssignmentRepository;
+    private final UserRepository userRepository;
+    private final int dueSoonDays;
+    private final TtlCache<Long, WorkloadDTO> userCache;
+    private final TtlCache<User.Role, TeamWorkloadDTO> teamCache;
+
+    public WorkloadService(ProjectTaskRepository taskRepository,
+                           InternAssignmentRepository internAssignmentRepository,
+                           UserRepository userRepository,
+                           @Value("${app.workload.cache-ttl-ms:30000}") long cacheTtlMs,
+                           @Value("${app.workload.due-soon-days:7}") int dueSoonDays) {
+        this.taskRepository = taskRepository;
+        this.internAssignmentRepository = internAssignmentRepository;
+        this.userRepository = userRepository;
+        this.dueSoonDays = dueSoonDays;
+        this.userCache = new TtlCache<>(cacheTtlMs, 5_000);
+        this.teamCache = new TtlCache<>(cacheTtlMs, User.Role.values().length);
+    }
+
+    public WorkloadDTO getUserWorkload(Long userId) {
+        return userCache.get(userId, this::loadUserWorkload);
+    }
+
+    public TeamWorkloadDTO getTeamWorkload(User.Role role) {
+        return teamCache.get(role, this::loadTeamWorkload);
+    }
+
+    private WorkloadDTO loadUserWorkload(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        WorkloadCountsDTO totals = new WorkloadCountsDTO();
+        Map<String, ProjectWorkloadDTO> projects = new LinkedHashMap<>();
+
+        for (ProjectTaskRepository.AssigneeProjectRow row :
+                taskRepository.aggregateOpenByAssignee(userId, now, now.plusDays(dueSoonDays))) {
+            String priority = row.getPriority() != null ? row.getPriority().name() : NONE;
+            String status = row.getStatus() != null ? row.getStatus().name() : NONE;
+            ProjectWorkloadDTO project = projects.computeIfAbsent(SOURCE_PROJECT_TASK + ":" + row.getProjectId(),
+                    k -> newProjectRow(row.getProjectId(), row.getProjectName(), SOURCE_PROJECT_TASK));
+            add(project.getCounts(), row, priority, status);
+            add(totals, row, priority, status);
+        }
+        for (InternAssignmentRepository.ProjectRow row :
+                internAssignmentRepository.aggregateOpenByUser(userId, today, today.plusDays(dueSoonDays))) {
+            String priority = row.getPriority() != null ? row.getPriority() : NONE;
+            String status = row.getStatus() != null ? row.getStatus() : NONE;
+            ProjectWorkloadDTO project = projects.computeIfAbsent(SOURCE_INTERN_ASSIGNMENT + ":" + row.getProjectId(),
+                    k -> newProjectRow(row.getProjectId(), row.getProjectName(), SOURCE_INTERN_ASSIGNMENT));
+            add(project.getCounts(), row, priority, status);
+            add(totals, row, priority, status);
+        }
+
+        List<ProjectWorkloadDTO> projectList = new ArrayList<>(projects.values());
+        projectList.sort(Comparator.comparingLong((ProjectWorkloadDTO p) -> p.getCounts().getOpenTasks()).reversed());
+
+        WorkloadDTO dto = toWorkloadDTO(user, totals, now);
+        dto.setProjects(projectList);
+        return dto;
+    }
+
+    private TeamWorkloadDTO loadTeamWorkload(User.Role role) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        Map<Long, WorkloadCountsDTO> byUser = new LinkedHashMap<>();
+
+        // Every member of the role is listed, including those with nothing open
+        Map<Long, User> users = new LinkedHashMap<>();
+        for (User u : userRepository.findByRole(role)) {
+            users.put(u.getId(), u);
+            byUser.put(u.getId(), new WorkloadCountsDTO());
+        }
+
+        for (ProjectTaskRepository.AssigneeRow row :
+                taskRepository.aggregateOpenByRole(role, now, now.plusDays(dueSoonDays))) {
+            add(byUser.computeIfAbsent(row.getUserId(), k -> new WorkloadCountsDTO()), row,
+                    row.getPriority() != null ? row.getPriority().name() : NONE,
+                    row.getStatus() != null ? row.getStatus().name() : NONE);
+        }
+        for (InternAssignmentRepository.UserRow row :
+                internAssignmentRepository.aggregateOpenByRole(role, today, today.plusDays(dueSoonDays))) {
+            add(byUser.computeIfAbsent(row.getUserId(), k -> new WorkloadCountsDTO()), row,
+                    row.getPriority() != null ? row.getPriority() : NONE,
+                    row.getStatus() != null ? row.getStatus() : NONE);
+        }
+
+        List<WorkloadDTO> members = new ArrayList<>(byUser.size());
+        for (Map.Entry<Long, WorkloadCountsDTO> e : byUser.entrySet()) {
+            User u = users.get(e.getKey());
+            if (u != null) members.add(toWorkloadDTO(u, e.getValue(), now));
+        }
+        members.sort(Comparator.comparingLong((WorkloadDTO w) -> w.getTotals().getOpenTasks()).reversed()
+                .thenComparing(WorkloadDTO::getUserId));
+
+        return TeamWorkloadDTO.builder()
+                .members(members)
+                .dueSoonDays(dueSoonDays)
+                .generatedAt(now)
+                .build();
+    }
+
+    private ProjectWorkloadDTO newProjectRow(Long projectId, String projectName, String source) {
+        return ProjectWorkloadDTO.builder()
+                .projectId(projectId)
+                .projectName(projectName)
+                .source(source)
+                .counts(new WorkloadCountsDTO())
+                .build();
+    }
+
+    private WorkloadDTO toWorkloadDTO(User user, WorkloadCountsDTO totals, LocalDateTime generatedAt) {
+        return WorkloadDTO.builder()
+                .userId(user.getId())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .role(user.getRole() != null ? user.getRole().name() : null)
+                .totals(totals)
+                .dueSoonDays(dueSoonDays)
+                .generatedAt(generatedAt)
+                .build();
+    }
+
+    private static void add(WorkloadCountsDTO target, WorkloadCounts row, String priority, String status) {
+        long open = nz(row.getOpenCount());
+        target.setOpenTasks(target.getOpenTasks() + open);
+        target.setOverdue(target.getOverdue() + nz(row.getOverdue()));
+        target.setDueSoon(target.getDueSoon() + nz(row.getDueSoon()));
+        target.setNoDueDate(target.getNoDueDate() + nz(row.getNoDueDate()));
+        target.getByPriority().merge(priority, open, Long::sum);
+        target.getByStatus().merge(status, open, Long::sum);
+    }
+
+    private static long nz(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,319 @@
+package com.arcitech.service.catalog;
+
+import com.arcitech.dto.CatalogCategoryNodeDTO;
+import com.arcitech.dto.CatalogItemDTO;
+import com.arcitech.dto.CatalogQuery;
+import com.arcitech.dto.CatalogSearchResultDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.ServiceCategory;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Immutable in-memory index over the unified catalog.
+ *
+ * Categories are held as a tree (parentCategoryId links) and every category keeps a
+ * bitset of the items filed under it or any of its descendants, so "everything under X"
+ * is a single bitset lookup. Items also have per-type bitsets and pre-sorted orderings,
+ * which leaves a query with a linear scan for the price/text filters, a few bitset ANDs
+ * and a walk of one precomputed ordering for the page.
+ *
+ * Instances are built once and never modified; callers swap in a new one to refresh.
+ */
+public final class CatalogIndex {
+
+    private static final Comparator<BigDecimal> PRICE_NULLS_LAST = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final CatalogItemDTO[] items;
+    private final String[] searchText;
+    private final BigDecimal[] bandLimits;
+
+    private final int[] categoryIds;
+    private final String[] categoryNames;
+    private final Map<Integer, Integer> categoryIndex;
+    private final int[][] children;
+    private final int[] roots;
+    private final BitSet[] subtreeItems;
+    private final List<CatalogCategoryNodeDTO> tree;
+
+    private final Map<String, BitSet> typeItems;
+    private final BitSet featuredItems;
+    private final EnumMap<CatalogQuery.Sort, int[]> orderings = new EnumMap<>(CatalogQuery.Sort.class);
+
+    private CatalogIndex(List<ServiceCategory> categories, List<CatalogItemDTO> itemList, List<BigDecimal> priceBands) {
+        this.items = itemList.toArray(new CatalogItemDTO[0]);
+        this.bandLimits = priceBands.stream().sorted().toArray(BigDecimal[]::new);
+
+        List<ServiceCategory> cats = new ArrayList<>(categories);
+        cats.sort(Comparator.comparing(ServiceCategory::getCategoryId));
+        int n = cats.size();
+        this.categoryIds = new int[n];
+        this.categoryNames = new String[n];
+        this.categoryIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            categoryIds[i] = cats.get(i).getCategoryId();
+            categoryNames[i] = cats.get(i).getName();
+            categoryIndex.put(categoryIds[i], i);
+        }
+
+        // Parent links; a missing parent makes the category a root
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            Integer p = cats.get(i).getParentCategoryId();
+            Integer pi = p != null ? categoryIndex.get(p) : null;
+            parent[i] = pi != null && pi != i ? pi : -1;
+        }
+        breakCycles(parent);
+
+        // Child lists follow from the (now acyclic) parent links
+        List<List<Integer>> childLists = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) childLists.add(new ArrayList<>());
+        List<Integer> rootList = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (parent[i] >= 0) childLists.get(parent[i]).add(i);
+            else rootList.add(i);
+        }
+        this.roots = rootList.stream().mapToInt(Integer::intValue).toArray();
+        this.children = new int[n][];
+        for (int i = 0; i < n; i++) children[i] = childLists.get(i).stream().mapToInt(Integer::intValue).toArray();
+
+        // Items filed directly under each category
+        BitSet[] direct = new BitSet[n];
+        for (int c = 0; c < n; c++) direct[c] = new BitSet(items.length);
+        this.searchText = new String[items.length];
+        this.typeItems = new HashMap<>();
+        this.featuredItems = new BitSet(items.length);
+        for (int i = 0; i < items.length; i++) {
+            CatalogItemDTO item = items[i];
+            if (item.getCategoryIds() != null) {
+                for (Integer id : item.getCategoryIds()) {
+                    Integer c = id != null ? categoryIndex.get(id) : null;
+                    if (c != null) direct[c].set(i);
+                }
+            }
+            typeItems.computeIfAbsent(typeKey(item.getType()), k -> new BitSet(items.length)).set(i);
+            if (item.isFeatured()) featuredItems.set(i);
+            searchText[i] = ((item.getName() != null ? item.getName() : "") + "\n"
+                    + (item.getDescription() != null ? item.getDescription() : "")).toLowerCase(Locale.ROOT);
+        }
+
+        // Post-order walk from the roots: each subtree set is its own items plus its children's
+        // subtrees. With cycles broken every category hangs below exactly one root.
+        this.subtreeItems = new BitSet[n];
+        for (int r : roots) walk(r, direct);
+
+        this.tree = new ArrayList<>(roots.length);
+        for (int r : roots) tree.add(node(r, cats));
+
+        Comparator<Integer> byName = Comparator.comparing(i -> nameKey(items[i]));
+        Comparator<Integer> priceAsc = Comparator.comparing(i -> items[i].getPrice(), PRICE_NULLS_LAST);
+        Comparator<Integer> priceDesc = Comparator.comparing(i -> items[i].getPrice(),
+                Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder()));
+        Comparator<Integer> featuredFirst = Comparator.comparing(i -> !items[i].isFeatured());
+        orderings.put(CatalogQuery.Sort.FEATURED, order(featuredFirst.thenComparing(priceAsc).thenComparing(byName)));
+        orderings.put(CatalogQuery.Sort.NAME, order(byName));
+        orderings.put(CatalogQuery.Sort.PRICE_ASC, order(priceAsc.thenComparing(byName)));
+        orderings.put(CatalogQuery.Sort.PRICE_DESC, order(priceDesc.thenComparing(byName)));
+    }
+
+    public static CatalogIndex build(List<ServiceCategory> categories, List<CatalogItemDTO> items,
+                                     List<BigDecimal> priceBands) {
+        return new CatalogIndex(categories, items, priceBands);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public int categoryCount() {
+        return categoryIds.length;
+    }
+
+    public List<CatalogCategoryNodeDTO> getTree() {
+        return tree;
+    }
+
+    public CatalogSearchResultDTO search(CatalogQuery query) {
+        BitSet all = new BitSet(items.length);
+        all.set(0, items.length);
+
+        BitSet categorySet = all;
+        int selected = -1;
+        if (query.getCategoryId() != null) {
+            Integer c = categoryIndex.get(query.getCategoryId());
+            if (c == null) throw new ResourceNotFoundException("Category not found");
+            selected = c;
+            categorySet = subtreeItems[c];
+        }
+        BitSet typeSet = all;
+        if (query.getType() != null && !query.getType().isBlank()) {
+            typeSet = typeItems.getOrDefault(typeKey(query.getType()), new BitSet());
+        }
+
+        // One pass for the per-item filters; price is kept apart so its facet can ignore it
+        BitSet matchesText = (BitSet) all.clone();
+        if (Boolean.TRUE.equals(query.getFeatured())) matchesText.and(featuredItems);
+        else if (Boolean.FALSE.equals(query.getFeatured())) matchesText.andNot(featuredItems);
+        String text = query.getText() != null && !query.getText().isBlank()
+                ? query.getText().trim().toLowerCase(Locale.ROOT) : null;
+        BitSet matchesPrice = new BitSet(items.length);
+        for (int i = 0; i < items.length; i++) {
+            if (text != null && matchesText.get(i) && !searchText[i].contains(text)) matchesText.clear(i);
+            if (inPriceRange(items[i].getPrice(), query.getMinPrice(), query.getMaxPrice())) matchesPrice.set(i);
+        }
+        BitSet base = and(matchesText, matchesPrice);
+
+        BitSet result = and(and(base, categorySet), typeSet);
+
+        // Facets: each one applies every filter except its own
+        BitSet forTypes = and(base, categorySet);
+        Map<String, Long> typeCounts = new TreeMap<>();
+        typeItems.forEach((type, set) -> {
+            long count = and(forTypes, set).cardinality();
+            if (count > 0) typeCounts.put(type, count);
+        });
+
+        BitSet forCategories = and(base, typeSet);
+        int[] facetCategories = selected >= 0 ? children[selected] : roots;
+        List<CatalogSearchResultDTO.CategoryCount> categoryCounts = new ArrayList<>(facetCategories.length);
+        for (int c : facetCategories) {
+            categoryCounts.add(new CatalogSearchResultDTO.CategoryCount(categoryIds[c], categoryNames[c],
+                    and(forCategories, subtreeItems[c]).cardinality()));
+        }
+
+        BitSet forPrices = and(and(matchesText, categorySet), typeSet);
+        long[] bandCounts = new long[bandLimits.length + 2];
+        for (int i = forPrices.nextSetBit(0); i >= 0; i = forPrices.nextSetBit(i + 1)) {
+            bandCounts[band(items[i].getPrice())]++;
+        }
+
+        int size = query.getSize();
+        int from = query.getPage() * size;
+        List<CatalogItemDTO> page = new ArrayList<>(Math.min(size, result.cardinality()));
+        int seen = 0;
+        for (int i : orderings.get(query.getSort() != null ? query.getSort() : CatalogQuery.Sort.FEATURED)) {
+            if (!result.get(i)) continue;
+            if (seen++ < from) continue;
+            page.add(items[i]);
+            if (page.size() == size) break;
+        }
+
+        return CatalogSearchResultDTO.builder()
+                .total(result.cardinality())
+                .page(query.getPage())
+                .size(size)
+                .items(page)
+                .typeCounts(typeCounts)
+                .categoryCounts(categoryCounts)
+                .priceRangeCounts(bandLabels(bandCounts))
+                .build();
+    }
+
+    /**
+     * Cuts every parent cycle by making its lowest-id member a root. Categories that merely
+     * hang below a cycle keep their parent, so they end up under that member's subtree.
+     * Relies on categories being indexed in id order.
+     */
+    static void breakCycles(int[] parent) {
+        int n = parent.length;
+        // 0 = not seen, 1 = on the chain being followed, 2 = settled
+        byte[] state = new byte[n];
+        int[] chain = new int[n];
+        for (int start = 0; start < n; start++) {
+            if (state[start] != 0) continue;
+            int length = 0;
+            int at = start;
+            while (at >= 0 && state[at] == 0) {
+                state[at] = 1;
+                chain[length++] = at;
+                at = parent[at];
+            }
+            // Reaching a category of this very chain means the chain closed into a cycle
+            if (at >= 0 && state[at] == 1) {
+                int lowest = at;
+                for (int c = parent[at]; c != at; c = parent[c]) lowest = Math.min(lowest, c);
+                parent[lowest] = -1;
+            }
+            for (int k = 0; k < length; k++) state[chain[k]] = 2;
+        }
+    }
+
+    private void walk(int root, BitSet[] direct) {
+        // Iterative so deep hierarchies cannot overflow the stack
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{root, 0});
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            int[] kids = children[frame[0]];
+            if (frame[1] < kids.length) {
+                stack.push(new int[]{kids[frame[1]++], 0});
+                continue;
+            }
+            stack.pop();
+            BitSet subtree = (BitSet) direct[frame[0]].clone();
+            for (int child : kids) subtree.or(subtreeItems[child]);
+            subtreeItems[frame[0]] = subtree;
+        }
+    }
+
+    private CatalogCategoryNodeDTO node(int c, List<ServiceCategory> cats) {
+        ServiceCategory category = cats.get(c);
+        CatalogCategoryNodeDTO node = CatalogCategoryNodeDTO.builder()
+                .categoryId(category.getCategoryId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .itemCount(subtreeItems[c].cardinality())
+                .build();
+        for (int child : children[c]) node.getChildren().add(node(child, cats));
+        return node;
+    }
+
+    private int[] order(Comparator<Integer> comparator) {
+        Integer[] idx = new Integer[items.length];
+        for (int i = 0; i < idx.length; i++) idx[i] = i;
+        Arrays.sort(idx, comparator);
+        return Arrays.stream(idx).mapToInt(Integer::intValue).toArray();
+    }
+
+    // Band 0 holds unpriced items; band k (k >= 1) holds prices below bandLimits[k-1]
+    private int band(BigDecimal price) {
+        if (price == null) return 0;
+        for (int b = 0; b < bandLimits.length; b++) {
+            if (price.compareTo(bandLimits[b]) < 0) return b + 1;
+        }
+        return bandLimits.length + 1;
+    }
+
+    private Map<String, Long> bandLabels(long[] counts) {
+        Map<String, Long> labels = new LinkedHashMap<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (int b = 0; b < bandLimits.length; b++) {
+            labels.put(lower.toPlainString() + "-" + bandLimits[b].toPlainString(), counts[b + 1]);
+            lower = bandLimits[b];
+        }
+        labels.put(lower.toPlainString() + "+", counts[bandLimits.length + 1]);
+        labels.put("unpriced", counts[0]);
+        return labels;
+    }
+
+    private static boolean inPriceRange(BigDecimal price, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) return true;
+        if (price == null) return false;
+        return (min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0);
+    }
+
+    private static BitSet and(BitSet a, BitSet b) {
+        BitSet out = (BitSet) a.clone();
+        out.and(b);
+        return out;
+    }
+
+    private static String typeKey(String type) {
+        return type != null ? type.trim().toUpperCase(Locale.ROOT) : "OTHER";
+    }
+
+    private static String nameKey(CatalogItemDTO item) {
+        return item.getName() != null ? item.getName().toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,159 @@
+package com.arcitech.service.course;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable set of lesson ordinals (0..65535) used for per-enrollment progress.
+ *
+ * Stored like a single Roaring container: a one-byte tag followed by either a sorted
+ * array of 16-bit ordinals (sparse sets) or the raw bitmap with trailing zero bytes
+ * trimmed (dense sets), whichever is shorter. Three finished lessons scattered over a
+ * 200-lesson course cost at most 7 bytes; finishing all 200 costs 26.
+ */
+public final class LessonBitmap {
+
+    public static final int MAX_ORDINAL = 0xFFFF;
+    public static final LessonBitmap EMPTY = new LessonBitmap(new long[0]);
+
+    private static final byte ARRAY = 1;
+    private static final byte BITMAP = 2;
+
+    // Trailing zero words are always trimmed, so equal sets have equal arrays
+    private final long[] words;
+
+    private LessonBitmap(long[] words) {
+        this.words = words;
+    }
+
+    public static LessonBitmap of(int... ordinals) {
+        int max = -1;
+        for (int ordinal : ordinals) {
+            checkOrdinal(ordinal);
+            max = Math.max(max, ordinal);
+        }
+        if (max < 0) return EMPTY;
+        long[] words = new long[(max >>> 6) + 1];
+        for (int ordinal : ordinals) words[ordinal >>> 6] |= 1L << ordinal;
+        return new LessonBitmap(trim(words));
+    }
+
+    public static LessonBitmap decode(byte[] data) {
+        if (data == null || data.length <= 1) return EMPTY;
+        long[] words;
+        switch (data[0]) {
+            case ARRAY -> {
+                int max = ((data[data.length - 2] & 0xFF) | (data[data.length - 1] & 0xFF) << 8);
+                words = new long[(max >>> 6) + 1];
+                for (int i = 1; i + 1 < data.length; i += 2) {
+                    int ordinal = (data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8;
+                    words[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+            case BITMAP -> {
+                words = new long[(data.length - 1 + 7) / 8];
+                for (int i = 1; i < data.length; i++) {
+                    words[(i - 1) >>> 3] |= (data[i] & 0xFFL) << (((i - 1) & 7) * 8);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown lesson bitmap format " + data[0]);
+        }
+        return new LessonBitmap(trim(words));
+    }
+
+    /**
+     * Compact encoding; {@code null} for the empty set so untouched enrollments store nothing.
+     */
+    public byte[] encode() {
+        if (words.length == 0) return null;
+        int cardinality = cardinality();
+        int bitmapBytes = (63 - Long.numberOfLeadingZeros(words[words.length - 1])) / 8 + 1 + (words.length - 1) * 8;
+        if (cardinality * 2 <= bitmapBytes) {
+            byte[] out = new byte[1 + cardinality * 2];
+            out[0] = ARRAY;
+            int pos = 1;
+            for (int ordinal : ordinals().toArray()) {
+                out[pos++] = (byte) ordinal;
+                out[pos++] = (byte) (ordinal >>> 8);
+            }
+            return out;
+        }
+        byte[] out = new byte[1 + bitmapBytes];
+        out[0] = BITMAP;
+        for (int i = 0; i < bitmapBytes; i++) {
+            out[i + 1] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return out;
+    }
+
+    public boolean contains(int ordinal) {
+        int w = ordinal >>> 6;
+        return ordinal >= 0 && w < words.length && (words[w] & (1L << ordinal)) != 0;
+    }
+
+    public LessonBitmap with(int ordinal) {
+        checkOrdinal(ordinal);
+        if (contains(ordinal)) return this;
+        long[] next = Arrays.copyOf(words, Math.max(words.length, (ordinal >>> 6) + 1));
+        next[ordinal >>> 6] |= 1L << ordinal;
+        return new LessonBitmap(next);
+    }
+
+    public LessonBitmap without(int ordinal) {
+        if (!contains(ordinal)) return this;
+        long[] next = words.clone();
+        next[ordinal >>> 6] &= ~(1L << ordinal);
+        return new LessonBitmap(trim(next));
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) count += Long.bitCount(word);
+        return count;
+    }
+
+    // Size of the intersection without materializing it, e.g. completed lessons that still exist
+    public int cardinalityAnd(LessonBitmap other) {
+        int n = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) count += Long.bitCount(words[i] & other.words[i]);
+        return count;
+    }
+
+    public IntStream ordinals() {
+        return IntStream.range(0, words.length).flatMap(w -> {
+            long word = words[w];
+            int[] out = new int[Long.bitCount(word)];
+            for (int i = 0; word != 0; i++, word &= word - 1) {
+                out[i] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            return IntStream.of(out);
+        });
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LessonBitmap other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    private static void checkOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal > MAX_ORDINAL) {
+            throw new IllegalArgumentException("Lesson ordinal out of range: " + ordinal);
+        }
+    }
+
+    private static long[] trim(long[] words) {
+        int n = words.length;
+        while (n > 0 && words[n - 1] == 0) n--;
+        return n == words.length ? words : Arrays.copyOf(words, n);
+    }
+}
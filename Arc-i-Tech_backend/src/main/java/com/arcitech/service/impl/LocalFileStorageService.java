@@ -9,11 +9,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class LocalFileStorageService implements FileStorageService {
-    
+
+    private static final String URL_PREFIX = "/uploads/";
+
     @Value("${app.upload.dir:${user.home}/uploads}")
     private String uploadDir;
 
@@ -34,9 +37,34 @@ public class LocalFileStorageService implements FileStorageService {
             Files.copy(file.getInputStream(), filePath);
 
             // Return the relative URL
-            return "/uploads/" + filename;
+            return URL_PREFIX + filename;
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public Optional<Path> resolve(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) return Optional.empty();
+        String filename = url.substring(URL_PREFIX.length());
+        if (filename.isEmpty() || filename.contains("/") || filename.contains("\\") || filename.equals("..")) {
+            return Optional.empty();
+        }
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path = root.resolve(filename).normalize();
+        // Stored files live directly in the root; anything else is not ours to serve
+        if (!root.equals(path.getParent()) || !Files.isRegularFile(path)) return Optional.empty();
+        return Optional.of(path);
+    }
+
+    @Override
+    public Path derivedDirectory(String name) {
+        try {
+            Path dir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(name);
+            Files.createDirectories(dir);
+            return dir;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create storage directory: " + e.getMessage(), e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.arcitech.service.quiz;
+
+import com.arcitech.model.AnswerOption;
+import com.arcitech.model.Question;
+
+import java.util.*;
+
+/**
+ * Compact, immutable answer key of one quiz.
+ *
+ * Questions are held in id order in a primitive array; each question's options are a
+ * sorted slice of one shared id array, so an option is identified by its position in
+ * the slice and a set of options is a {@code long} bitmask. The key stores the mask of
+ * correct options per question, which makes grading an answer one mask comparison.
+ * Questions are therefore limited to {@value #MAX_OPTIONS} options.
+ */
+public final class AnswerKey {
+
+    public static final int MAX_OPTIONS = 64;
+
+    private final long[] questionIds;
+    private final boolean[] choice;
+    private final int[] optionStart;
+    private final long[] optionIds;
+    private final long[] correctMasks;
+
+    private AnswerKey(long[] questionIds, boolean[] choice, int[] optionStart, long[] optionIds, long[] correctMasks) {
+        this.questionIds = questionIds;
+        this.choice = choice;
+        this.optionStart = optionStart;
+        this.optionIds = optionIds;
+        this.correctMasks = correctMasks;
+    }
+
+    /**
+     * Builds the key from a quiz's questions and all of their options. FREE_TEXT questions
+     * are kept (so submissions can reference them) but are not auto-graded.
+     */
+    public static AnswerKey of(List<Question> questions, List<AnswerOption> options) {
+        long[] ids = questions.stream().mapToLong(Question::getQuestionId).distinct().sorted().toArray();
+        Map<Long, Boolean> freeText = new HashMap<>();
+        for (Question q : questions) freeText.put(q.getQuestionId(), "FREE_TEXT".equalsIgnoreCase(q.getQuestionType()));
+
+        List<AnswerOption> sorted = new ArrayList<>(options);
+        sorted.sort(Comparator.comparing(AnswerOption::getQuestionId).thenComparing(AnswerOption::getAnswerOptionId));
+
+        boolean[] choice = new boolean[ids.length];
+        int[] start = new int[ids.length + 1];
+        long[] optionIds = new long[sorted.size()];
+        long[] masks = new long[ids.length];
+        int r = 0, w = 0;
+        for (int q = 0; q < ids.length; q++) {
+            start[q] = w;
+            choice[q] = !freeText.getOrDefault(ids[q], false);
+            // Options are sorted by question, so skip any whose question is not in the quiz
+            while (r < sorted.size() && sorted.get(r).getQuestionId() < ids[q]) r++;
+            int bit = 0;
+            for (; r < sorted.size() && sorted.get(r).getQuestionId() == ids[q]; r++) {
+                if (bit == MAX_OPTIONS) {
+                    throw new IllegalStateException("Question " + ids[q] + " has more than " + MAX_OPTIONS + " options");
+                }
+                AnswerOption option = sorted.get(r);
+                optionIds[w++] = option.getAnswerOptionId();
+                if (Boolean.TRUE.equals(option.getIsCorrect())) masks[q] |= 1L << bit;
+                bit++;
+            }
+        }
+        start[ids.length] = w;
+        return new AnswerKey(ids, choice, start, Arrays.copyOf(optionIds, w), masks);
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public long questionId(int q) {
+        return questionIds[q];
+    }
+
+    // Position of the question in this key, or -1 when it is not part of the quiz
+    public int indexOf(long questionId) {
+        int q = Arrays.binarySearch(questionIds, questionId);
+        return q >= 0 ? q : -1;
+    }
+
+    public boolean isChoice(int q) {
+        return choice[q];
+    }
+
+    /**
+     * Encodes selected option ids of question {@code q} as a mask.
+     *
+     * @throws IllegalArgumentException if an option does not belong to the question
+     */
+    public long mask(int q, Collection<Long> selected) {
+        long mask = 0;
+        if (selected == null) return mask;
+        for (Long id : selected) {
+            int pos = id != null ? Arrays.binarySearch(optionIds, optionStart[q], optionStart[q + 1], id) : -1;
+            if (pos < 0) {
+                throw new IllegalArgumentException("Option " + id + " does not belong to question " + questionIds[q]);
+            }
+            mask |= 1L << (pos - optionStart[q]);
+        }
+        return mask;
+    }
+
+    // Exact match: every correct option selected and nothing else
+    public boolean isCorrect(int q, long mask) {
+        return choice[q] && mask == correctMasks[q];
+    }
+
+    public List<Long> correctOptionIds(int q) {
+        return optionIds(q, correctMasks[q]);
+    }
+
+    public List<Long> optionIds(int q, long mask) {
+        List<Long> ids = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            ids.add(optionIds[optionStart[q] + Long.numberOfTrailingZeros(m)]);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,94 @@
+package com.arcitech.service.quiz;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running sums for the classical statistics of one item (question in a quiz). Memory
+ * is independent of the number of responses: one set of sums per item plus one per
+ * option chosen.
+ */
+public final class ItemStatistics {
+
+    /** Running sums of one option. */
+    public static final class OptionSums {
+        private long selections;
+        private double scoreSum;
+
+        public long selections() {
+            return selections;
+        }
+
+        public Double meanScore() {
+            return selections > 0 ? scoreSum / selections : null;
+        }
+    }
+
+    private long respondents;
+    private long correct;
+    private long omitted;
+    private double scoreSum;
+    private double scoreSquareSum;
+    private double correctScoreSum;
+    private final Map<Long, OptionSums> options = new HashMap<>();
+
+    /**
+     * Adds one graded response: whether it was correct, the attempt's total score and
+     * the options chosen (none when the question was left unanswered).
+     */
+    public void add(boolean isCorrect, double score, long[] chosen, int chosenCount) {
+        respondents++;
+        scoreSum += score;
+        scoreSquareSum += score * score;
+        if (isCorrect) {
+            correct++;
+            correctScoreSum += score;
+        }
+        if (chosenCount == 0) omitted++;
+        for (int i = 0; i < chosenCount; i++) {
+            OptionSums sums = options.computeIfAbsent(chosen[i], k -> new OptionSums());
+            sums.selections++;
+            sums.scoreSum += score;
+        }
+    }
+
+    public long respondents() {
+        return respondents;
+    }
+
+    public long correct() {
+        return correct;
+    }
+
+    public long omitted() {
+        return omitted;
+    }
+
+    public Map<Long, OptionSums> options() {
+        return options;
+    }
+
+    public Double pValue() {
+        return respondents > 0 ? (double) correct / respondents : null;
+    }
+
+    public Double meanScore() {
+        return respondents > 0 ? scoreSum / respondents : null;
+    }
+
+    /**
+     * Point-biserial correlation of correctness with the attempt score:
+     * (M1 - M0) / s * sqrt(p * q). Null when it is undefined (everyone right, everyone
+     * wrong, or no spread in scores).
+     */
+    public Double discrimination() {
+        if (respondents == 0 || correct == 0 || correct == respondents) return null;
+        double mean = scoreSum / respondents;
+        double variance = scoreSquareSum / respondents - mean * mean;
+        if (variance <= 1e-12) return null;
+        double p = (double) correct / respondents;
+        double m1 = correctScoreSum / correct;
+        double m0 = (scoreSum - correctScoreSum) / (respondents - correct);
+        return (m1 - m0) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+    }
+}
@@ -0,0 +1,172 @@
+package com.arcitech.service.quiz;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory index of the question bank.
+ *
+ * Questions are stored by position in id order, with their topic and type, plus posting
+ * lists (ascending positions) per topic, per type and per word of the question text.
+ * The text itself is not kept; searches return question ids and callers load the few
+ * questions they display.
+ */
+public final class QuestionBankIndex {
+
+    /** One question as read for indexing. */
+    public record Entry(long questionId, String topic, String questionType, String questionText) {}
+
+    private static final int[] NONE = new int[0];
+
+    private final long[] ids;
+    private final String[] topics;
+    private final String[] types;
+    private final Map<String, int[]> byTopic;
+    private final Map<String, int[]> byType;
+    private final Map<String, int[]> byWord;
+
+    private QuestionBankIndex(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::questionId));
+        int n = sorted.size();
+        this.ids = new long[n];
+        this.topics = new String[n];
+        this.types = new String[n];
+
+        Map<String, List<Integer>> topicLists = new HashMap<>();
+        Map<String, List<Integer>> typeLists = new HashMap<>();
+        Map<String, List<Integer>> wordLists = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Entry e = sorted.get(i);
+            ids[i] = e.questionId();
+            topics[i] = e.topic();
+            types[i] = e.questionType();
+            topicLists.computeIfAbsent(key(e.topic()), k -> new ArrayList<>()).add(i);
+            typeLists.computeIfAbsent(key(e.questionType()), k -> new ArrayList<>()).add(i);
+            // Positions are visited in ascending order, so posting lists stay sorted
+            for (String word : words(e.questionText())) {
+                wordLists.computeIfAbsent(word, k -> new ArrayList<>()).add(i);
+            }
+        }
+        this.byTopic = freeze(topicLists);
+        this.byType = freeze(typeLists);
+        this.byWord = freeze(wordLists);
+    }
+
+    public static QuestionBankIndex build(List<Entry> entries) {
+        return new QuestionBankIndex(entries);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Question ids matching every word of {@code text} (and the topic/type when given),
+     * in id order. Returns at most {@code limit} ids greater than {@code afterId}, plus
+     * the total match count.
+     */
+    public SearchResult search(String text, String topic, String type, long afterId, int limit) {
+        List<int[]> lists = new ArrayList<>();
+        if (topic != null && !topic.isBlank()) lists.add(byTopic.getOrDefault(key(topic), NONE));
+        if (type != null && !type.isBlank()) lists.add(byType.getOrDefault(key(type), NONE));
+        for (String word : words(text)) lists.add(byWord.getOrDefault(word, NONE));
+
+        int[] matches;
+        if (lists.isEmpty()) {
+            matches = new int[ids.length];
+            for (int i = 0; i < matches.length; i++) matches[i] = i;
+        } else {
+            // Intersect starting from the shortest list
+            lists.sort(Comparator.comparingInt(a -> a.length));
+            matches = lists.get(0);
+            for (int l = 1; l < lists.size() && matches.length > 0; l++) matches = intersect(matches, lists.get(l));
+        }
+
+        // Positions ascend with ids, so the cursor is found by binary search
+        int lo = 0, hi = matches.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ids[matches[mid]] <= afterId) lo = mid + 1;
+            else hi = mid;
+        }
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.length - lo)));
+        for (int i = lo; i < matches.length && page.size() < limit; i++) page.add(ids[matches[i]]);
+        return new SearchResult(page, matches.length);
+    }
+
+    public record SearchResult(List<Long> questionIds, long total) {}
+
+    /**
+     * Draws up to {@code count} distinct questions of a topic (optionally of one type),
+     * skipping excluded ids, with reservoir sampling: one pass over the topic's postings
+     * and O(count) memory, each eligible question equally likely. Returns fewer when the
+     * topic does not have enough eligible questions.
+     */
+    public List<Long> sample(String topic, String type, Set<Long> exclude, int count, Random random) {
+        int[] postings = byTopic.getOrDefault(key(topic), NONE);
+        String typeKey = type != null && !type.isBlank() ? key(type) : null;
+        long[] reservoir = new long[Math.max(0, count)];
+        int seen = 0;
+        for (int p : postings) {
+            if (typeKey != null && !typeKey.equals(key(types[p]))) continue;
+            if (exclude.contains(ids[p])) continue;
+            if (seen < reservoir.length) {
+                reservoir[seen] = ids[p];
+            } else {
+                int j = random.nextInt(seen + 1);
+                if (j < reservoir.length) reservoir[j] = ids[p];
+            }
+            seen++;
+        }
+        List<Long> drawn = new ArrayList<>(Math.min(seen, reservoir.length));
+        for (int i = 0; i < Math.min(seen, reservoir.length); i++) drawn.add(reservoir[i]);
+        return drawn;
+    }
+
+    /** Question counts per topic and type, using each topic's first-seen spelling. */
+    public Map<String, Map<String, Long>> topicCounts() {
+        Map<String, Map<String, Long>> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        byTopic.forEach((k, postings) -> {
+            if (postings.length == 0) return;
+            String name = topics[postings[0]] != null ? topics[postings[0]].trim() : "";
+            Map<String, Long> perType = counts.computeIfAbsent(name, t -> new TreeMap<>());
+            for (int p : postings) perType.merge(types[p] != null ? types[p] : "UNSPECIFIED", 1L, Long::sum);
+        });
+        return counts;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    private static Map<String, int[]> freeze(Map<String, List<Integer>> lists) {
+        Map<String, int[]> frozen = new HashMap<>(lists.size() * 2);
+        lists.forEach((k, v) -> frozen.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+        return frozen;
+    }
+
+    static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Lower-cased words of two or more letters/digits
+    static Set<String> words(String text) {
+        if (text == null || text.isBlank()) return Set.of();
+        Set<String> words = new LinkedHashSet<>();
+        for (String w : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (w.length() >= 2) words.add(w);
+        }
+        return words;
+    }
+}
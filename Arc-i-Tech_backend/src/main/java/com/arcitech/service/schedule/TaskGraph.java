@@ -0,0 +1,547 @@
+package com.arcitech.service.schedule;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory dependency graph for one project's tasks.
+ *
+ * Tasks are mapped to dense int indexes and edges are kept in primitive int adjacency
+ * arrays, so a project with tens of thousands of tasks is scheduled without boxing.
+ * All dependencies are finish-to-start. Times are whole days relative to an origin that
+ * is never later than any task's start: it starts at the earliest start date and moves
+ * back (shifting every offset) when a task is moved before it.
+ *
+ * The graph keeps a valid topological order at all times. Adding an edge that goes
+ * against that order only reorders the affected region (Pearce-Kelly), and both the
+ * forward (earliest dates) and backward (latest dates / slack) passes are recomputed
+ * only for tasks downstream / upstream of the change.
+ *
+ * Not thread-safe; callers synchronize on the instance.
+ */
+public final class TaskGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private LocalDate origin;
+    private final long[] taskIds;
+    private final Map<Long, Integer> indexOf;
+    private final int n;
+
+    // Lower bound for each task's start (its stored start date) and its length in days
+    private final int[] release;
+    private final int[] duration;
+
+    private final int[][] succ;
+    private final int[] succCount;
+    private final int[][] pred;
+    private final int[] predCount;
+
+    // rank[node] = position in topological order, order[rank] = node
+    private final int[] rank;
+    private final int[] order;
+
+    private final int[] es;
+    private final int[] lf;
+    private int makespan;
+
+    // Scratch space for traversals: a node is visited when mark[node] == epoch
+    private final int[] mark;
+    private int epoch;
+    private final int[] stack;
+
+    private TaskGraph(LocalDate origin, long[] taskIds, int[] release, int[] duration) {
+        this.origin = origin;
+        this.taskIds = taskIds;
+        this.n = taskIds.length;
+        this.indexOf = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) indexOf.put(taskIds[i], i);
+        this.release = release;
+        this.duration = duration;
+        this.succ = new int[n][];
+        this.pred = new int[n][];
+        Arrays.fill(succ, EMPTY);
+        Arrays.fill(pred, EMPTY);
+        this.succCount = new int[n];
+        this.predCount = new int[n];
+        this.rank = new int[n];
+        this.order = new int[n];
+        this.es = new int[n];
+        this.lf = new int[n];
+        this.mark = new int[n];
+        this.stack = new int[n];
+    }
+
+    /**
+     * Builds the graph and computes the full schedule.
+     *
+     * @param starts  stored start date per task (may contain nulls)
+     * @param dues    stored due date per task (may contain nulls)
+     * @param edgeFrom predecessor task id per edge
+     * @param edgeTo   successor task id per edge; edges to unknown tasks are ignored
+     * @throws IllegalStateException if the stored dependencies already contain a cycle
+     */
+    public static TaskGraph build(long[] taskIds, LocalDate[] starts, LocalDate[] dues,
+                                  long[] edgeFrom, long[] edgeTo) {
+        LocalDate origin = null;
+        for (LocalDate start : starts) {
+            if (start != null && (origin == null || start.isBefore(origin))) origin = start;
+        }
+        if (origin == null) origin = LocalDate.now();
+
+        int count = taskIds.length;
+        int[] release = new int[count];
+        int[] duration = new int[count];
+        for (int i = 0; i < count; i++) {
+            release[i] = starts[i] != null ? (int) ChronoUnit.DAYS.between(origin, starts[i]) : 0;
+            duration[i] = durationOf(starts[i], dues[i]);
+        }
+
+        TaskGraph graph = new TaskGraph(origin, taskIds, release, duration);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            Integer u = graph.indexOf.get(edgeFrom[e]);
+            Integer v = graph.indexOf.get(edgeTo[e]);
+            if (u != null && v != null && !u.equals(v) && !graph.hasEdge(u, v)) graph.link(u, v);
+        }
+        graph.recomputeAll();
+        return graph;
+    }
+
+    // ---------------------------------------------------------------
+    // Mutations
+    // ---------------------------------------------------------------
+
+    /**
+     * Adds a finish-to-start dependency and updates the schedule incrementally.
+     *
+     * @return false if the dependency already existed
+     * @throws IllegalArgumentException if either task is unknown or the edge would create a cycle
+     */
+    public boolean addDependency(long predecessorId, long successorId) {
+        int u = require(predecessorId);
+        int v = require(successorId);
+        if (u == v) throw new IllegalArgumentException("A task cannot depend on itself");
+        if (hasEdge(u, v)) return false;
+
+        if (rank[u] > rank[v]) reorder(u, v);
+        link(u, v);
+
+        int oldMakespan = makespan;
+        forwardFrom(v, es[v] + duration[v]);
+        if (makespan != oldMakespan) backwardAll();
+        else backwardFrom(u);
+        return true;
+    }
+
+    /**
+     * @return false if the dependency did not exist
+     */
+    public boolean removeDependency(long predecessorId, long successorId) {
+        int u = require(predecessorId);
+        int v = require(successorId);
+        if (!unlink(u, v)) return false;
+
+        // Removing an edge never invalidates the topological order.
+        int oldMakespan = makespan;
+        forwardFrom(v, es[v] + duration[v]);
+        if (makespan != oldMakespan) backwardAll();
+        else backwardFrom(u);
+        return true;
+    }
+
+    /**
+     * Checks whether adding predecessor -> successor would close a cycle, without modifying the graph.
+     */
+    public boolean wouldCreateCycle(long predecessorId, long successorId) {
+        int u = require(predecessorId);
+        int v = require(successorId);
+        if (u == v) return true;
+        if (rank[u] < rank[v]) return false;
+        return reaches(v, u, rank[u]);
+    }
+
+    /**
+     * Changes a task's own start / due date and reschedules everything downstream.
+     */
+    public void updateTaskDates(long taskId, LocalDate start, LocalDate due) {
+        int i = require(taskId);
+        if (start != null && start.isBefore(origin)) rebase((int) ChronoUnit.DAYS.between(start, origin));
+        int oldFinish = es[i] + duration[i];
+        release[i] = start != null ? (int) ChronoUnit.DAYS.between(origin, start) : 0;
+        duration[i] = durationOf(start, due);
+
+        int oldMakespan = makespan;
+        forwardFrom(i, oldFinish);
+        if (makespan != oldMakespan) backwardAll();
+        else backwardFrom(i);
+    }
+
+    /**
+     * Cascades dependency constraints into task dates: every task whose earliest possible
+     * start is later than its stored start is moved forward (keeping its duration), and the
+     * new start becomes its stored start.
+     *
+     * @return ids of the tasks that moved
+     */
+    public long[] propagateDates() {
+        long[] moved = new long[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (es[i] > release[i]) {
+                release[i] = es[i];
+                moved[count++] = taskIds[i];
+            }
+        }
+        return Arrays.copyOf(moved, count);
+    }
+
+    // ---------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------
+
+    public int size() {
+        return n;
+    }
+
+    public boolean contains(long taskId) {
+        return indexOf.containsKey(taskId);
+    }
+
+    public long[] topologicalOrder() {
+        long[] result = new long[n];
+        for (int r = 0; r < n; r++) result[r] = taskIds[order[r]];
+        return result;
+    }
+
+    /**
+     * Tasks with zero slack, in topological order.
+     */
+    public long[] criticalPath() {
+        long[] result = new long[n];
+        int count = 0;
+        for (int r = 0; r < n; r++) {
+            int i = order[r];
+            if (slack(i) == 0) result[count++] = taskIds[i];
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public LocalDate projectStart() {
+        return origin.plusDays(firstStart());
+    }
+
+    public LocalDate projectFinish() {
+        return origin.plusDays(Math.max(makespan - 1, 0));
+    }
+
+    public int makespanDays() {
+        return n == 0 ? 0 : makespan - firstStart();
+    }
+
+    public LocalDate earliestStart(long taskId) {
+        return origin.plusDays(es[require(taskId)]);
+    }
+
+    public LocalDate earliestFinish(long taskId) {
+        int i = require(taskId);
+        return origin.plusDays(es[i] + duration[i] - 1);
+    }
+
+    public LocalDate latestStart(long taskId) {
+        int i = require(taskId);
+        return origin.plusDays(lf[i] - duration[i]);
+    }
+
+    public LocalDate latestFinish(long taskId) {
+        return origin.plusDays(lf[require(taskId)] - 1);
+    }
+
+    public int slackDays(long taskId) {
+        return slack(require(taskId));
+    }
+
+    // ---------------------------------------------------------------
+    // Internals
+    // ---------------------------------------------------------------
+
+    private static int durationOf(LocalDate start, LocalDate due) {
+        if (start == null || due == null || due.isBefore(start)) return 1;
+        return (int) ChronoUnit.DAYS.between(start, due) + 1;
+    }
+
+    private int require(long taskId) {
+        Integer i = indexOf.get(taskId);
+        if (i == null) throw new IllegalArgumentException("Task " + taskId + " is not part of this project");
+        return i;
+    }
+
+    private int firstStart() {
+        int first = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) first = Math.min(first, es[i]);
+        return n == 0 ? 0 : first;
+    }
+
+    /**
+     * Moves the origin {@code days} earlier so a task starting before it keeps a
+     * non-negative offset. Dates stay the same; only their offsets grow.
+     */
+    private void rebase(int days) {
+        origin = origin.minusDays(days);
+        for (int i = 0; i < n; i++) {
+            release[i] += days;
+            es[i] += days;
+            lf[i] += days;
+        }
+        makespan += days;
+    }
+
+    private int slack(int i) {
+        return lf[i] - duration[i] - es[i];
+    }
+
+    private boolean hasEdge(int u, int v) {
+        // scan the shorter of the two lists
+        if (succCount[u] <= predCount[v]) {
+            int[] s = succ[u];
+            for (int k = 0; k < succCount[u]; k++) if (s[k] == v) return true;
+        } else {
+            int[] p = pred[v];
+            for (int k = 0; k < predCount[v]; k++) if (p[k] == u) return true;
+        }
+        return false;
+    }
+
+    private void link(int u, int v) {
+        succ[u] = append(succ[u], succCount[u]++, v);
+        pred[v] = append(pred[v], predCount[v]++, u);
+    }
+
+    private boolean unlink(int u, int v) {
+        if (!removeValue(succ[u], succCount[u], v)) return false;
+        succCount[u]--;
+        removeValue(pred[v], predCount[v], u);
+        predCount[v]--;
+        return true;
+    }
+
+    private static int[] append(int[] arr, int size, int value) {
+        if (size == arr.length) arr = Arrays.copyOf(arr, Math.max(4, size * 2));
+        arr[size] = value;
+        return arr;
+    }
+
+    private static boolean removeValue(int[] arr, int size, int value) {
+        for (int k = 0; k < size; k++) {
+            if (arr[k] == value) {
+                arr[k] = arr[size - 1];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+
+    /**
+     * Kahn's algorithm for the order, then full forward and backward passes.
+     */
+    private void recomputeAll() {
+        int[] inDegree = Arrays.copyOf(predCount, n);
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) if (inDegree[i] == 0) order[tail++] = i;
+        while (head < tail) {
+            int u = order[head++];
+            for (int k = 0; k < succCount[u]; k++) {
+                int v = succ[u][k];
+                if (--inDegree[v] == 0) order[tail++] = v;
+            }
+        }
+        if (tail != n) {
+            throw new IllegalStateException("Task dependencies contain a cycle (" + (n - tail) + " tasks involved)");
+        }
+        for (int r = 0; r < n; r++) rank[order[r]] = r;
+
+        makespan = 0;
+        for (int r = 0; r < n; r++) {
+            int i = order[r];
+            es[i] = earliestStartOf(i);
+            makespan = Math.max(makespan, es[i] + duration[i]);
+        }
+        backwardAll();
+    }
+
+    private int earliestStartOf(int i) {
+        int start = release[i];
+        int[] p = pred[i];
+        for (int k = 0; k < predCount[i]; k++) {
+            int q = p[k];
+            start = Math.max(start, es[q] + duration[q]);
+        }
+        return start;
+    }
+
+    private int latestFinishOf(int i) {
+        int finish = makespan;
+        int[] s = succ[i];
+        for (int k = 0; k < succCount[i]; k++) {
+            int q = s[k];
+            finish = Math.min(finish, lf[q] - duration[q]);
+        }
+        return finish;
+    }
+
+    private void backwardAll() {
+        for (int r = n - 1; r >= 0; r--) {
+            int i = order[r];
+            lf[i] = latestFinishOf(i);
+        }
+    }
+
+    /**
+     * Recomputes earliest starts for {@code start} and whatever it pushes, in rank order.
+     * Nodes are only revisited when one of their predecessors' finish actually changed.
+     * The caller passes the start node's finish from before the change, since its
+     * duration may already have been updated. The makespan is only rescanned in full
+     * when a task that ended the project finishes earlier.
+     */
+    private void forwardFrom(int start, int startOldFinish) {
+        int stamp = nextEpoch();
+        mark[start] = stamp;
+        boolean finishShrank = false;
+        for (int r = rank[start]; r < n; r++) {
+            int i = order[r];
+            if (mark[i] != stamp) continue;
+            int oldFinish = i == start ? startOldFinish : es[i] + duration[i];
+            es[i] = earliestStartOf(i);
+            int newFinish = es[i] + duration[i];
+            if (newFinish != oldFinish) {
+                if (newFinish < oldFinish && oldFinish == makespan) finishShrank = true;
+                makespan = Math.max(makespan, newFinish);
+                for (int k = 0; k < succCount[i]; k++) mark[succ[i][k]] = stamp;
+            }
+        }
+        if (finishShrank) {
+            int max = 0;
+            for (int i = 0; i < n; i++) max = Math.max(max, es[i] + duration[i]);
+            makespan = max;
+        }
+    }
+
+    /**
+     * Recomputes latest finishes for {@code start} and its ancestors, in reverse rank order.
+     * Only valid while the project makespan is unchanged.
+     */
+    private void backwardFrom(int start) {
+        int stamp = nextEpoch();
+        mark[start] = stamp;
+        for (int r = rank[start]; r >= 0; r--) {
+            int i = order[r];
+            if (mark[i] != stamp) continue;
+            int oldLatestStart = lf[i] - duration[i];
+            lf[i] = latestFinishOf(i);
+            // duration may have changed for the start node, so compare latest starts
+            if (lf[i] - duration[i] != oldLatestStart || i == start) {
+                for (int k = 0; k < predCount[i]; k++) mark[pred[i][k]] = stamp;
+            }
+        }
+    }
+
+    /**
+     * DFS from {@code from} over successors with rank <= maxRank; true if {@code target} is reached.
+     */
+    private boolean reaches(int from, int target, int maxRank) {
+        int stamp = nextEpoch();
+        int top = 0;
+        stack[top++] = from;
+        mark[from] = stamp;
+        while (top > 0) {
+            int x = stack[--top];
+            if (x == target) return true;
+            for (int k = 0; k < succCount[x]; k++) {
+                int y = succ[x][k];
+                if (mark[y] != stamp && rank[y] <= maxRank) {
+                    mark[y] = stamp;
+                    stack[top++] = y;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pearce-Kelly reordering for a new edge u -> v with rank[u] > rank[v]. Rejects the edge
+     * if v already reaches u. Only nodes whose rank lies between rank[v] and rank[u] move.
+     */
+    private void reorder(int u, int v) {
+        int lower = rank[v];
+        int upper = rank[u];
+
+        // Forward region: reachable from v without passing rank[u]
+        int stamp = nextEpoch();
+        int[] forward = collect(v, upper, true, stamp);
+        for (int x : forward) {
+            if (x == u) throw new IllegalArgumentException("Dependency would create a cycle");
+        }
+        // Backward region: nodes that reach u without dropping below rank[v]
+        int[] backward = collect(u, lower, false, nextEpoch());
+
+        sortByRank(forward);
+        sortByRank(backward);
+        int[] ranks = new int[forward.length + backward.length];
+        int k = 0;
+        for (int x : backward) ranks[k++] = rank[x];
+        for (int x : forward) ranks[k++] = rank[x];
+        Arrays.sort(ranks);
+
+        // Backward nodes take the lowest freed ranks, forward nodes follow.
+        k = 0;
+        for (int x : backward) place(x, ranks[k++]);
+        for (int x : forward) place(x, ranks[k++]);
+    }
+
+    private void place(int node, int r) {
+        rank[node] = r;
+        order[r] = node;
+    }
+
+    private int[] collect(int from, int bound, boolean forward, int stamp) {
+        int top = 0;
+        int count = 0;
+        int[] found = new int[16];
+        stack[top++] = from;
+        mark[from] = stamp;
+        while (top > 0) {
+            int x = stack[--top];
+            found = append(found, count++, x);
+            int[] next = forward ? succ[x] : pred[x];
+            int size = forward ? succCount[x] : predCount[x];
+            for (int k = 0; k < size; k++) {
+                int y = next[k];
+                boolean inRegion = forward ? rank[y] <= bound : rank[y] >= bound;
+                if (mark[y] != stamp && inRegion) {
+                    mark[y] = stamp;
+                    stack[top++] = y;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private void sortByRank(int[] nodes) {
+        // pack (rank, node) into a long so a primitive sort keeps it allocation-light
+        long[] keyed = new long[nodes.length];
+        for (int k = 0; k < nodes.length; k++) keyed[k] = ((long) rank[nodes[k]] << 32) | nodes[k];
+        Arrays.sort(keyed);
+        for (int k = 0; k < nodes.length; k++) nodes[k] = (int) keyed[k];
+    }
+}
@@ -0,0 +1,181 @@
+package com.arcitech.service.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding one deadline per key.
+ *
+ * Level 0 has one slot per tick; each level above covers {@code SLOTS} times the span of
+ * the one below. A timer is filed in the lowest level whose span covers its distance
+ * from now. When a lower level wraps around, the matching slot of the next level is
+ * "cascaded": its timers are re-filed closer to the bottom. Schedule and cancel are
+ * O(1) and advancing costs O(1) per tick plus the timers that fire or cascade, so
+ * hundreds of thousands of timers are cheap to hold.
+ *
+ * With 1s ticks and five 64-slot levels the wheel covers about 34 years; deadlines
+ * further out are parked at the top and re-filed when they come round.
+ *
+ * Deadlines are rounded up to the next tick, so timers never fire early but may fire
+ * up to one tick late. Thread-safe; all methods lock on the instance.
+ */
+public final class TimerWheel<K> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    private static final long MAX_SPAN = 1L << (BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Node<K>[][] wheels;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+
+    // Next tick to process; every timer due before it has already fired
+    private long base;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        this.tickMillis = tickMillis;
+        this.base = startMillis / tickMillis;
+        this.wheels = new Node[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Node<K> head = new Node<>(null, 0);
+                head.prev = head;
+                head.next = head;
+                wheels[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Sets (or moves) the deadline of a key.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Node<K> node = nodes.get(key);
+        if (node != null) {
+            unlink(node);
+        } else {
+            node = new Node<>(key, 0);
+            nodes.put(key, node);
+        }
+        node.deadlineMillis = deadlineMillis;
+        node.expiresTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        file(node);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) return false;
+        unlink(node);
+        return true;
+    }
+
+    public synchronized Long deadlineOf(K key) {
+        Node<K> node = nodes.get(key);
+        return node != null ? node.deadlineMillis : null;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized void clear() {
+        for (Node<K> node : new ArrayList<>(nodes.values())) unlink(node);
+        nodes.clear();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the keys whose deadline has
+     * passed, in deadline order per tick. Fired keys are removed.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<K> fired = new ArrayList<>();
+        while (base <= target) {
+            int index = (int) (base & MASK);
+            if (index == 0) {
+                // Level 0 wrapped: pull the next level's slot down, and so on upwards
+                for (int level = 1; level < LEVELS; level++) {
+                    int slot = (int) ((base >>> (BITS * level)) & MASK);
+                    cascade(level, slot);
+                    if (slot != 0) break;
+                }
+            }
+            Node<K> head = wheels[0][index];
+            Node<K> node = head.next;
+            while (node != head) {
+                Node<K> next = node.next;
+                unlink(node);
+                if (node.expiresTick > base) {
+                    // Parked beyond the wheel's range; file it again
+                    file(node);
+                } else {
+                    nodes.remove(node.key);
+                    fired.add(node.key);
+                }
+                node = next;
+            }
+            base++;
+        }
+        return fired;
+    }
+
+    private void cascade(int level, int slot) {
+        Node<K> head = wheels[level][slot];
+        Node<K> node = head.next;
+        while (node != head) {
+            Node<K> next = node.next;
+            unlink(node);
+            file(node);
+            node = next;
+        }
+    }
+
+    private void file(Node<K> node) {
+        long expires = node.expiresTick;
+        long delta = expires - base;
+        int level;
+        int slot;
+        if (delta < 0) {
+            // Already due: fire on the next tick processed
+            level = 0;
+            slot = (int) (base & MASK);
+        } else {
+            if (delta >= MAX_SPAN) expires = base + MAX_SPAN - 1;
+            level = 0;
+            while (level < LEVELS - 1 && (expires - base) >= (1L << (BITS * (level + 1)))) level++;
+            slot = (int) ((expires >>> (BITS * level)) & MASK);
+        }
+        Node<K> head = wheels[level][slot];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static <K> void unlink(Node<K> node) {
+        if (node.prev == null) return;
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K> {
+        final K key;
+        long deadlineMillis;
+        long expiresTick;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key, long expiresTick) {
+            this.key = key;
+            this.expiresTick = expiresTick;
+        }
+    }
+}
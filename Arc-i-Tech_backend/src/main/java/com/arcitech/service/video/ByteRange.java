@@ -0,0 +1,42 @@
+package com.arcitech.service.video;
+
+/**
+ * One satisfiable byte range of a file, {@code start} inclusive, {@code end} exclusive.
+ */
+public record ByteRange(long start, long end) {
+
+    public long length() {
+        return end - start;
+    }
+
+    /**
+     * Parses a Range header against a file of {@code size} bytes. Returns the whole file
+     * for a missing, malformed or multi-range header (servers may ignore Range), and
+     * {@code null} when the range cannot be satisfied.
+     */
+    public static ByteRange parse(String header, long size) {
+        ByteRange full = new ByteRange(0, size);
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) return full;
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return full;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) return null;
+                return new ByteRange(Math.max(0, size - suffix), size);
+            }
+            long start = Long.parseLong(first);
+            long lastByte = last.isEmpty() ? Long.MAX_VALUE - 1 : Long.parseLong(last);
+            // last < first is malformed rather than unsatisfiable
+            if (start < 0 || lastByte < start) return full;
+            if (start >= size) return null;
+            return new ByteRange(start, Math.min(size, lastByte + 1));
+        } catch (NumberFormatException e) {
+            return full;
+        }
+    }
+}
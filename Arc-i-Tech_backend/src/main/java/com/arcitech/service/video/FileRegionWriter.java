@@ -0,0 +1,61 @@
+package com.arcitech.service.video;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a file region to a servlet response without copying it through the heap.
+ *
+ * On Tomcat with sendfile enabled (the default NIO connector) the region is handed to
+ * the connector, which has the kernel copy it straight from the page cache to the
+ * socket once the handler returns. Elsewhere the region is memory-mapped in windows and
+ * written from the mapping.
+ */
+public final class FileRegionWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Large enough to keep syscalls rare, small enough not to pin huge mappings
+    private static final long MAP_WINDOW = 8L * 1024 * 1024;
+
+    private FileRegionWriter() {}
+
+    /**
+     * Streams {@code range} of {@code file}; status and headers other than Content-Length
+     * must already be set.
+     */
+    public static void write(Path file, ByteRange range, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(range.length());
+        if (range.length() == 0 || "HEAD".equals(request.getMethod())) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            while (position < range.end()) {
+                long window = Math.min(MAP_WINDOW, range.end() - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+                while (buffer.hasRemaining()) out.write(buffer);
+                position += window;
+            }
+        }
+    }
+}
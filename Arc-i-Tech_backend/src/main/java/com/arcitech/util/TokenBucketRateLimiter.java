@@ -0,0 +1,116 @@
+package com.arcitech.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * In-memory token buckets keyed by an arbitrary string (client IP, email...).
+ *
+ * Each key gets {@code capacity} tokens that refill continuously at
+ * {@code capacity / refillPeriod}. Buckets are spread over lock stripes, each a plain
+ * HashMap guarded by its own monitor, so concurrent callers only contend when their keys
+ * hash to the same stripe. Buckets idle long enough to be full again carry no state and
+ * are dropped by {@link #evictIdle()}; a stripe that hits its size cap evicts on insert.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxKeysPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public TokenBucketRateLimiter(int capacity, long refillPeriodMillis, int maxKeys) {
+        if (capacity <= 0 || refillPeriodMillis <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("capacity, refillPeriodMillis and maxKeys must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (refillPeriodMillis * 1_000_000d);
+        this.idleNanos = refillPeriodMillis * 1_000_000L;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when allowed, otherwise the number of
+     * milliseconds until a token will be available.
+     */
+    public long tryAcquire(String key) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) stripe.evict(now, true);
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refill(now);
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / tokensPerNano / 1_000_000d));
+        }
+    }
+
+    // Drops buckets that have refilled completely; returns how many were removed
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                removed += stripe.evict(now, false);
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private final class Stripe {
+        private final Map<String, Bucket> buckets = new HashMap<>();
+
+        // Idle buckets first; when forced and still full, the oldest-touched half goes too
+        int evict(long now, boolean force) {
+            int before = buckets.size();
+            buckets.values().removeIf(b -> now - b.lastRefill >= idleNanos);
+            if (force && buckets.size() >= maxKeysPerStripe) {
+                long cutoff = buckets.values().stream().mapToLong(b -> b.lastRefill).sorted()
+                        .skip(buckets.size() / 2).findFirst().orElse(now);
+                Iterator<Bucket> it = buckets.values().iterator();
+                while (it.hasNext()) {
+                    if (it.next().lastRefill < cutoff) it.remove();
+                }
+            }
+            return before - buckets.size();
+        }
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
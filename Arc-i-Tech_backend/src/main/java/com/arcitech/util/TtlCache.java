@@ -0,0 +1,97 @@
+package com.arcitech.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small in-memory cache whose entries expire after a fixed time-to-live.
+ * Used for short-lived read caches (counts, dashboards, idempotency keys)
+ * where a full cache provider would be overkill.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public TtlCache(long ttlMillis, int maxEntries) {
+        if (ttlMillis <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("ttlMillis and maxEntries must be positive");
+        }
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it when missing or expired.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent()) return cached.get();
+
+        V value = loader.apply(key);
+        if (value != null) put(key, value);
+        return value;
+    }
+
+    public Optional<V> getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return Optional.empty();
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value);
+    }
+
+    public void put(K key, V value) {
+        if (entries.size() >= maxEntries) evict();
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Stores the value only if no live entry exists and returns the live value
+     * (the existing one, or the one just stored).
+     */
+    public V putIfAbsent(K key, V value) {
+        if (entries.size() >= maxEntries) evict();
+        long now = System.nanoTime();
+        Entry<V> fresh = new Entry<>(value, now + ttlNanos);
+        Entry<V> live = entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now) ? fresh : existing);
+        return live.value;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Drop expired entries first; if the cache is still full, drop arbitrary entries
+    // until there is room again. Callers only cache data that can be recomputed.
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.isExpired(now));
+        Iterator<K> it = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -7,6 +7,7 @@ DROP TABLE IF EXISTS chat_message_attachments;
 DROP TABLE IF EXISTS chat_messages;
 DROP TABLE IF EXISTS user_notifications;  -- Added this table
 DROP TABLE IF EXISTS project_tasks;
+DROP TABLE IF EXISTS project_progress;
 DROP TABLE IF EXISTS projects;
 DROP TABLE IF EXISTS user_profile;
 
@@ -37,15 +38,182 @@ CREATE TABLE IF NOT EXISTS projects (
     status VARCHAR(50),
     start_date DATE,
     end_date DATE,
-    created_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP,
     repo_link VARCHAR(255),
     project_manager_user_id BIGINT,
     owner_id BIGINT,
     client_id BIGINT,
     FOREIGN KEY (owner_id) REFERENCES user_profile(id),
-    FOREIGN KEY (client_id) REFERENCES user_profile(id)
+    FOREIGN KEY (client_id) REFERENCES user_profile(id),
+    -- Keyset pagination indexes for the project listing (sort key + id tie-breaker)
+    INDEX idx_projects_created (created_at, project_id),
+    INDEX idx_projects_name (name, project_id),
+    INDEX idx_projects_status_created (status, created_at, project_id),
+    INDEX idx_projects_client_created (client_id, created_at, project_id),
+    INDEX idx_projects_owner_created (owner_id, created_at, project_id)
+);
+
+-- Create id_generators table (pooled id blocks for entities inserted in JDBC batches)
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(100) PRIMARY KEY,
+    gen_value BIGINT NOT NULL
+);
+
+-- Create project_tasks table
+CREATE TABLE IF NOT EXISTS project_tasks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(2000),
+    priority VARCHAR(50),
+    status VARCHAR(50),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    due_date TIMESTAMP,
+    assignee_id BIGINT,
+    project_id BIGINT,
+    FOREIGN KEY (assignee_id) REFERENCES user_profile(id),
+    FOREIGN KEY (project_id) REFERENCES projects(project_id),
+    -- Batch task loading and per-status counts for a page of projects
+    INDEX idx_project_tasks_project_status (project_id, status),
+    -- Per-assignee workload aggregates
+    INDEX idx_project_tasks_assignee_status (assignee_id, status, project_id)
+);
+
+-- Create tasks table (scheduled work items with dates and sub-tasks)
+CREATE TABLE IF NOT EXISTS tasks (
+    task_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    project_id BIGINT,
+    milestone_id BIGINT,
+    parent_task_id BIGINT,
+    path VARCHAR(760) CHARACTER SET ascii,
+    depth INT,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    assignee_user_id BIGINT,
+    status VARCHAR(50),
+    start_date DATE,
+    due_date DATE,
+    priority VARCHAR(50),
+    INDEX idx_tasks_project (project_id),
+    -- Subtree reads are a prefix range scan on the materialized path
+    INDEX idx_tasks_project_path (project_id, path)
+);
+
+-- Create intern_assignments table (tasks handed to interns)
+CREATE TABLE IF NOT EXISTS intern_assignments (
+    assignment_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT,
+    task_id BIGINT,
+    assigned_by_user_id BIGINT,
+    INDEX idx_intern_assignments_user_task (user_id, task_id)
+);
+
+-- Create task_dependencies table (predecessor must finish before successor starts)
+CREATE TABLE IF NOT EXISTS task_dependencies (
+    dependency_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    predecessor_task_id BIGINT NOT NULL,
+    successor_task_id BIGINT NOT NULL,
+    dependency_type VARCHAR(50),
+    UNIQUE KEY uk_task_dependencies_edge (predecessor_task_id, successor_task_id),
+    INDEX idx_task_dependencies_successor (successor_task_id)
+);
+
+-- Create project_progress table (running completion counters per project)
+CREATE TABLE IF NOT EXISTS project_progress (
+    project_id BIGINT PRIMARY KEY,
+    total_tasks BIGINT NOT NULL DEFAULT 0,
+    done_tasks BIGINT NOT NULL DEFAULT 0,
+    total_milestones BIGINT NOT NULL DEFAULT 0,
+    done_milestones BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP
+);
+
+-- Create service_requests table (approval queue)
+CREATE TABLE IF NOT EXISTS service_requests (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    status VARCHAR(50),
+    details VARCHAR(255),
+    requested_at TIMESTAMP NULL,
+    approved_by_id BIGINT,
+    approved_at TIMESTAMP NULL,
+    claimed_by_id BIGINT,
+    claim_expires_at TIMESTAMP NULL,
+    sla_escalated_at TIMESTAMP NULL,
+    INDEX idx_service_requests_status_id (status, id),
+    INDEX idx_service_requests_user (user_id)
+);
+-- Existing installs: add the queue lease columns and index (errors ignored when present)
+ALTER TABLE service_requests ADD COLUMN claimed_by_id BIGINT;
+ALTER TABLE service_requests ADD COLUMN claim_expires_at TIMESTAMP NULL;
+CREATE INDEX idx_service_requests_status_id ON service_requests (status, id);
+ALTER TABLE service_requests ADD COLUMN sla_escalated_at TIMESTAMP NULL;
+-- SLA escalation mark for inquiries (errors ignored when present)
+ALTER TABLE inquiries ADD COLUMN sla_escalated_at TIMESTAMP NULL;
+-- Pipeline listing: filter by status, newest first; leads joined by inquiry
+CREATE INDEX idx_inquiries_status_id ON inquiries (status, inquiry_id);
+CREATE INDEX idx_leads_inquiry ON leads (inquiry_id);
+-- Order history: a user's orders newest first
+CREATE INDEX idx_service_orders_user_order ON service_orders (user_id, order_id);
+
+-- Daily inquiry pipeline rollups (entered/left per stage, time-in-stage histogram)
+CREATE TABLE IF NOT EXISTS inquiry_stage_daily (
+    day DATE NOT NULL,
+    stage VARCHAR(32) NOT NULL,
+    entered BIGINT NOT NULL DEFAULT 0,
+    exited BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, stage)
+);
+
+CREATE TABLE IF NOT EXISTS inquiry_stage_duration_daily (
+    day DATE NOT NULL,
+    stage VARCHAR(32) NOT NULL,
+    bucket INT NOT NULL,
+    exits BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, stage, bucket)
+);
+
+-- Inquiry ids come from id_generators (batched inserts); start above existing ids
+INSERT IGNORE INTO id_generators (gen_name, gen_value)
+    SELECT 'inquiries', COALESCE(MAX(inquiry_id), 0) + 100 FROM inquiries;
+
+-- Legacy service request timeline, superseded by timeline_events (kept for the copy below)
+CREATE TABLE IF NOT EXISTS service_request_timeline (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    service_request_id BIGINT NOT NULL,
+    event VARCHAR(255),
+    details LONGTEXT,
+    timestamp TIMESTAMP NULL,
+    INDEX idx_service_request_timeline_request (service_request_id, timestamp)
+);
+
+-- Append-only timelines for service requests, projects, inquiries and orders
+CREATE TABLE IF NOT EXISTS timeline_events (
+    id BIGINT PRIMARY KEY,
+    subject_type VARCHAR(32) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    event VARCHAR(64) NOT NULL,
+    details VARCHAR(2000),
+    actor_user_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    month_key INT NOT NULL,
+    INDEX idx_timeline_events_subject (subject_type, subject_id, created_at, id),
+    INDEX idx_timeline_events_month (month_key, id)
 );
+-- Entries past the retention window, moved here a month at a time
+CREATE TABLE IF NOT EXISTS timeline_events_archive LIKE timeline_events;
+
+-- One-time copy of the old service request timeline; ids are kept so re-runs are no-ops
+INSERT IGNORE INTO timeline_events (id, subject_type, subject_id, event, details, actor_user_id, created_at, month_key)
+    SELECT id, 'SERVICE_REQUEST', service_request_id, LEFT(COALESCE(event, 'UNKNOWN'), 64), LEFT(details, 2000), NULL,
+           COALESCE(timestamp, NOW()), EXTRACT(YEAR_MONTH FROM COALESCE(timestamp, NOW()))
+    FROM service_request_timeline s
+    WHERE NOT EXISTS (SELECT 1 FROM timeline_events_archive a WHERE a.id = s.id);
+-- Pooled ids start above everything copied
+INSERT IGNORE INTO id_generators (gen_name, gen_value)
+    SELECT 'timeline_events', COALESCE(MAX(id), 0) + 100 FROM timeline_events;
 
 -- Create chat_messages table
 CREATE TABLE IF NOT EXISTS chat_messages (
@@ -73,4 +241,68 @@ CREATE TABLE IF NOT EXISTS chat_message_reactions (
     FOREIGN KEY (message_id) REFERENCES chat_messages(id),
     FOREIGN KEY (user_id) REFERENCES user_profile(id),
     PRIMARY KEY (message_id, user_id, emoji)
-);
\ No newline at end of file
+);
+
+-- User answer ids come from id_generators (a submission is inserted in one JDBC batch)
+INSERT IGNORE INTO id_generators (gen_name, gen_value)
+    SELECT 'user_answers', COALESCE(MAX(user_answer_id), 0) + 100 FROM user_answers;
+CREATE INDEX idx_user_answers_attempt ON user_answers (attempt_id);
+CREATE INDEX idx_answer_options_question ON answer_options (question_id);
+-- Autosaved answers of open quiz attempts; open timed attempts are reloaded on startup
+ALTER TABLE quiz_attempts ADD COLUMN draft_answers TEXT;
+CREATE INDEX idx_quiz_attempts_open ON quiz_attempts (end_time, quiz_id);
+
+-- Item analytics streams answers ordered by attempt and question
+CREATE INDEX idx_user_answers_attempt_question ON user_answers (attempt_id, question_id);
+
+-- Item analytics summaries (recomputed by streaming user_answers; replaced on every run)
+CREATE TABLE IF NOT EXISTS item_analytics (
+    quiz_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    respondents BIGINT NOT NULL DEFAULT 0,
+    correct BIGINT NOT NULL DEFAULT 0,
+    omitted BIGINT NOT NULL DEFAULT 0,
+    p_value DOUBLE,
+    discrimination DOUBLE,
+    mean_score DOUBLE,
+    computed_at TIMESTAMP NULL,
+    PRIMARY KEY (quiz_id, question_id)
+);
+
+CREATE TABLE IF NOT EXISTS item_option_analytics (
+    quiz_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    answer_option_id BIGINT NOT NULL,
+    selections BIGINT NOT NULL DEFAULT 0,
+    selection_rate DOUBLE,
+    mean_score DOUBLE,
+    is_correct BOOLEAN,
+    PRIMARY KEY (quiz_id, question_id, answer_option_id)
+);
+
+-- Curriculum tree: version counter keys the cached outline; children are read level by level
+ALTER TABLE courses ADD COLUMN curriculum_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_course_modules_course ON course_modules (course_id, order_index);
+CREATE INDEX idx_course_lessons_module ON course_lessons (module_id, order_index);
+CREATE INDEX idx_course_sections_course ON course_sections (course_id);
+
+-- Lesson progress: completed lessons per enrollment as a compact bitmap over stable lesson ordinals
+ALTER TABLE course_lessons ADD COLUMN progress_ordinal INT;
+ALTER TABLE course_enrollments ADD COLUMN completed_lessons VARBINARY(8193);
+ALTER TABLE course_enrollments ADD COLUMN progress_version INT NOT NULL DEFAULT 0;
+CREATE INDEX idx_course_enrollments_section ON course_enrollments (section_id);
+CREATE INDEX idx_course_enrollments_user_course ON course_enrollments (user_id, course_id);
+
+-- Section capacity: seat counter reserved by conditional update, plus a FIFO waitlist
+ALTER TABLE course_sections ADD COLUMN enrolled_count INT NOT NULL DEFAULT 0;
+-- Reconcile the counter with actual enrollments on every start
+UPDATE course_sections s SET enrolled_count = (SELECT COUNT(*) FROM course_enrollments e WHERE e.section_id = s.section_id);
+CREATE UNIQUE INDEX uq_course_enrollments_user_section ON course_enrollments (user_id, section_id);
+CREATE TABLE IF NOT EXISTS section_waitlist (
+    waitlist_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    section_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    requested_at DATETIME,
+    UNIQUE KEY uq_section_waitlist_user (section_id, user_id),
+    INDEX idx_section_waitlist_order (section_id, waitlist_id)
+);
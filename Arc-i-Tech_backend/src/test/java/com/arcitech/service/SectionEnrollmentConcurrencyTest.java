@@ -0,0 +1,245 @@
+package com.arcitech.service;
+
+import com.arcitech.dto.SectionEnrollmentDTO;
+import com.arcitech.model.Course;
+import com.arcitech.model.CourseEnrollment;
+import com.arcitech.model.CourseSection;
+import com.arcitech.model.User;
+import com.arcitech.repository.CourseEnrollmentRepository;
+import com.arcitech.repository.CourseRepository;
+import com.arcitech.repository.CourseSectionRepository;
+import com.arcitech.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Section capacity under a signup stampede, against a real MySQL so that row locks and
+ * conditional updates behave as in production. Runs with {@code mvn test -Pmysql-it}
+ * and is skipped when Docker is not available.
+ */
+@Tag("mysql")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SectionEnrollmentService.class, NotificationService.class})
+// Every call must commit on its own, as it does behind the controller
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SectionEnrollmentConcurrencyTest {
+
+    private static final int USERS = 2000;
+    private static final int SEATS = 50;
+    private static final int THREADS = 64;
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static boolean indexesCreated;
+
+    @Autowired
+    private SectionEnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private CourseSectionRepository sectionRepository;
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Long courseId;
+    private Long sectionId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        // Hibernate creates the tables; the unique keys the service relies on come from schema.sql
+        if (!indexesCreated) {
+            jdbc.execute("CREATE UNIQUE INDEX uq_course_enrollments_user_section ON course_enrollments (user_id, section_id)");
+            jdbc.execute("CREATE UNIQUE INDEX uq_section_waitlist_user ON section_waitlist (section_id, user_id)");
+            indexesCreated = true;
+        }
+
+        courseId = courseRepository.save(Course.builder().title("Course " + UUID.randomUUID()).build()).getCourseId();
+        sectionId = sectionRepository.save(CourseSection.builder().courseId(courseId).maxStudents(SEATS).build())
+                .getSectionId();
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .fullName("Learner " + i)
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("x")
+                    .role(User.Role.CUSTOMER)
+                    .active(true)
+                    .build());
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+
+        // Every learner bought the course (no section chosen yet)
+        List<CourseEnrollment> enrollments = new ArrayList<>(USERS);
+        for (Long userId : userIds) {
+            enrollments.add(CourseEnrollment.builder()
+                    .userId(userId)
+                    .courseId(courseId)
+                    .enrollmentDate(LocalDateTime.now())
+                    .build());
+        }
+        enrollmentRepository.saveAll(enrollments);
+    }
+
+    @Test
+    void neverOversellsUnderAStampede() throws Exception {
+        // Every learner signs up twice at once
+        List<Long> calls = new ArrayList<>(userIds);
+        calls.addAll(userIds);
+        runInParallel(calls, userId -> enrollmentService.enroll(userId, sectionId));
+
+        assertThat(enrolledCount()).isEqualTo(SEATS);
+        assertThat(count("select count(*) from course_enrollments where section_id = ?", sectionId)).isEqualTo(SEATS);
+        assertThat(count("select count(*) from section_waitlist where section_id = ?", sectionId)).isEqualTo(USERS - SEATS);
+        // Nothing was created or removed: still exactly one enrollment per learner
+        assertThat(count("select count(*) from course_enrollments where course_id = ?", courseId)).isEqualTo(USERS);
+        assertThat(count("select count(distinct user_id) from course_enrollments where course_id = ?", courseId))
+                .isEqualTo(USERS);
+        // Nobody holds a seat and a waitlist spot at the same time
+        assertThat(count("select count(*) from section_waitlist w join course_enrollments e " +
+                "on e.user_id = w.user_id and e.section_id = w.section_id where w.section_id = ?", sectionId)).isZero();
+    }
+
+    @Test
+    void promotesTheWaitlistInOrderWhenSeatsFree() throws Exception {
+        runInParallel(userIds, userId -> enrollmentService.enroll(userId, sectionId));
+
+        int drops = 20;
+        List<Long> seated = jdbc.queryForList(
+                "select user_id from course_enrollments where section_id = ? order by user_id limit " + drops,
+                Long.class, sectionId);
+        List<Long> headOfQueue = jdbc.queryForList(
+                "select user_id from section_waitlist where section_id = ? order by waitlist_id limit " + drops,
+                Long.class, sectionId);
+
+        runInParallel(seated, userId -> enrollmentService.drop(userId, sectionId));
+
+        assertThat(enrolledCount()).isEqualTo(SEATS);
+        for (Long userId : headOfQueue) {
+            assertThat(enrollmentService.getStatus(userId, sectionId).getStatus())
+                    .isEqualTo(SectionEnrollmentService.ENROLLED);
+        }
+        for (Long userId : seated) {
+            SectionEnrollmentDTO status = enrollmentService.getStatus(userId, sectionId);
+            assertThat(status.getStatus()).isEqualTo(SectionEnrollmentService.NONE);
+        }
+        // Dropping a section keeps the course enrollment (and its progress)
+        assertThat(count("select count(*) from course_enrollments where course_id = ?", courseId)).isEqualTo(USERS);
+        assertThat(count("select count(*) from section_waitlist where section_id = ?", sectionId))
+                .isEqualTo(USERS - SEATS - drops);
+    }
+
+    @Test
+    void dropsAndSignupsElsewhereInTheCourseInterleave() throws Exception {
+        Long otherSectionId = sectionRepository.save(CourseSection.builder().courseId(courseId).maxStudents(SEATS).build())
+                .getSectionId();
+        List<Long> seated = userIds.subList(0, SEATS);
+        List<Long> waiting = userIds.subList(SEATS, 3 * SEATS);
+        runInParallel(seated, userId -> enrollmentService.enroll(userId, sectionId));
+        runInParallel(waiting, userId -> enrollmentService.enroll(userId, sectionId));
+
+        // Seats in the first section free up while its waitlist signs up for the second,
+        // so promotions and signups keep locking the same users' enrollments
+        List<Runnable> calls = new ArrayList<>();
+        for (Long userId : seated) calls.add(() -> enrollmentService.drop(userId, sectionId));
+        for (Long userId : waiting) calls.add(() -> enrollmentService.enroll(userId, otherSectionId));
+        Collections.shuffle(calls, new Random(42));
+        runAll(calls);
+
+        for (Long id : List.of(sectionId, otherSectionId)) {
+            int taken = count("select enrolled_count from course_sections where section_id = ?", id);
+            assertThat(taken).isEqualTo(count("select count(*) from course_enrollments where section_id = ?", id));
+            assertThat(taken).isLessThanOrEqualTo(SEATS);
+            // Nobody waits for a section that still has a free seat
+            if (count("select count(*) from section_waitlist where section_id = ?", id) > 0) {
+                assertThat(taken).isEqualTo(SEATS);
+            }
+        }
+        // Every signup for the second section either got a seat there or is queued for it
+        for (Long userId : waiting) {
+            assertThat(enrollmentService.getStatus(userId, otherSectionId).getStatus())
+                    .isIn(SectionEnrollmentService.ENROLLED, SectionEnrollmentService.WAITLISTED);
+        }
+        assertThat(jdbc.queryForObject("select count(*) from (select user_id from section_waitlist " +
+                "group by user_id having count(*) > 1) t", Integer.class)).isZero();
+        assertThat(count("select count(*) from course_enrollments where course_id = ?", courseId)).isEqualTo(USERS);
+    }
+
+    @Test
+    void requiresACourseEnrollment() {
+        Long outsider = userRepository.save(User.builder()
+                .fullName("Outsider")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("x")
+                .role(User.Role.CUSTOMER)
+                .build()).getId();
+
+        assertThatThrownBy(() -> enrollmentService.enroll(outsider, sectionId))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(enrolledCount()).isZero();
+    }
+
+    private void runInParallel(List<Long> userIds, Consumer<Long> call) throws Exception {
+        runAll(userIds.stream().<Runnable>map(userId -> () -> call.accept(userId)).toList());
+    }
+
+    private void runAll(List<Runnable> calls) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(calls.size());
+            for (Runnable call : calls) futures.add(pool.submit(call));
+            // get() rethrows anything a call failed with
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int enrolledCount() {
+        return count("select enrolled_count from course_sections where section_id = ?", sectionId);
+    }
+
+    private int count(String sql, Long id) {
+        Integer value = jdbc.queryForObject(sql, Integer.class, id);
+        return value != null ? value : 0;
+    }
+}
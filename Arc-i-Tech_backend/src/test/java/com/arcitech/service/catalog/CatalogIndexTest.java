@@ -0,0 +1,95 @@
+package com.arcitech.service.catalog;
+
+import com.arcitech.dto.CatalogCategoryNodeDTO;
+import com.arcitech.dto.CatalogItemDTO;
+import com.arcitech.dto.CatalogQuery;
+import com.arcitech.dto.CatalogSearchResultDTO;
+import com.arcitech.exception.ResourceNotFoundException;
+import com.arcitech.model.ServiceCategory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CatalogIndexTest {
+
+    @Test
+    void countsItemsOfWholeSubtrees() {
+        // 1 -> 2 -> 3, 4 on its own
+        CatalogIndex index = CatalogIndex.build(
+                List.of(category(1, null), category(2, 1), category(3, 2), category(4, null)),
+                List.of(item("a", 1), item("b", 2), item("c", 3), item("d", 4)),
+                List.of());
+
+        assertThat(index.getTree()).extracting(CatalogCategoryNodeDTO::getCategoryId).containsExactly(1, 4);
+        assertThat(index.getTree().get(0).getItemCount()).isEqualTo(3);
+        assertThat(index.search(query(2)).getTotal()).isEqualTo(2);
+        assertThat(index.search(query(1)).getCategoryCounts())
+                .extracting(CatalogSearchResultDTO.CategoryCount::getCategoryId, CatalogSearchResultDTO.CategoryCount::getCount)
+                .containsExactly(tuple(2, 2L));
+    }
+
+    @Test
+    void breaksCycleAtItsLowestIdEvenWhenADescendantHasALowerId() {
+        // 5 <-> 6 form a cycle; 2 hangs below 5 and has the lowest id overall
+        CatalogIndex index = CatalogIndex.build(
+                List.of(category(2, 5), category(5, 6), category(6, 5)),
+                List.of(item("under-2", 2), item("under-5", 5), item("under-6", 6)),
+                List.of());
+
+        assertThat(index.getTree()).hasSize(1);
+        CatalogCategoryNodeDTO root = index.getTree().get(0);
+        assertThat(root.getCategoryId()).isEqualTo(5);
+        assertThat(root.getChildren()).extracting(CatalogCategoryNodeDTO::getCategoryId).containsExactly(2, 6);
+        assertThat(root.getItemCount()).isEqualTo(3);
+        assertSubtreeCountsMatchChildren(root, index);
+    }
+
+    @Test
+    void breaksEveryCycleOnce() {
+        // 0 -> 1 -> 2 -> 0 and 3 <-> 4; 6 hangs below the root 5
+        int[] parent = {1, 2, 0, 4, 3, -1, 5};
+        CatalogIndex.breakCycles(parent);
+
+        assertThat(parent).containsExactly(-1, 2, 0, -1, 3, -1, 5);
+    }
+
+    @Test
+    void unknownCategoryIsNotFound() {
+        CatalogIndex index = CatalogIndex.build(List.of(category(1, null)), List.of(item("a", 1)), List.of());
+
+        assertThatThrownBy(() -> index.search(query(99))).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    // Items are filed under one category each, so a node's count is its own items plus its children's
+    private static void assertSubtreeCountsMatchChildren(CatalogCategoryNodeDTO node, CatalogIndex index) {
+        long own = index.search(query(node.getCategoryId())).getItems().stream()
+                .filter(i -> i.getCategoryIds().contains(node.getCategoryId()))
+                .count();
+        long fromChildren = node.getChildren().stream().mapToLong(CatalogCategoryNodeDTO::getItemCount).sum();
+        assertThat(node.getItemCount()).isEqualTo(own + fromChildren);
+        for (CatalogCategoryNodeDTO child : node.getChildren()) assertSubtreeCountsMatchChildren(child, index);
+    }
+
+    private static ServiceCategory category(int id, Integer parentId) {
+        return ServiceCategory.builder().categoryId(id).name("c" + id).parentCategoryId(parentId).build();
+    }
+
+    private static CatalogItemDTO item(String name, int categoryId) {
+        return CatalogItemDTO.builder()
+                .source("SERVICE")
+                .name(name)
+                .type("SERVICE")
+                .price(BigDecimal.TEN)
+                .categoryIds(List.of(categoryId))
+                .build();
+    }
+
+    private static CatalogQuery query(Integer categoryId) {
+        return CatalogQuery.builder().categoryId(categoryId).page(0).size(50).build();
+    }
+}
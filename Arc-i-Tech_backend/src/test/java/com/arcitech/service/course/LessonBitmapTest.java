@@ -0,0 +1,87 @@
+package com.arcitech.service.course;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LessonBitmapTest {
+
+    @Test
+    void emptySetStoresNothing() {
+        assertThat(LessonBitmap.of().encode()).isNull();
+        assertThat(LessonBitmap.decode(null)).isEqualTo(LessonBitmap.EMPTY);
+        assertThat(LessonBitmap.decode(new byte[0]).isEmpty()).isTrue();
+        assertThat(LessonBitmap.of(5).without(5).encode()).isNull();
+    }
+
+    @Test
+    void roundTripsTheEdgeOrdinals() {
+        assertRoundTrip(LessonBitmap.of(0), 0);
+        assertRoundTrip(LessonBitmap.of(LessonBitmap.MAX_ORDINAL), LessonBitmap.MAX_ORDINAL);
+        assertRoundTrip(LessonBitmap.of(0, LessonBitmap.MAX_ORDINAL), 0, LessonBitmap.MAX_ORDINAL);
+        assertRoundTrip(LessonBitmap.of(63, 64, 127, 128), 63, 64, 127, 128);
+    }
+
+    @Test
+    void sparseSetsUseTheArrayForm() {
+        // The javadoc's example: three lessons scattered over a 200-lesson course
+        byte[] encoded = LessonBitmap.of(3, 97, 199).encode();
+
+        assertThat(encoded).hasSize(7);
+        assertRoundTrip(LessonBitmap.decode(encoded), 3, 97, 199);
+    }
+
+    @Test
+    void denseSetsUseTheTrimmedBitmap() {
+        // Finishing every lesson of the same course
+        int[] all = IntStream.range(0, 200).toArray();
+        byte[] encoded = LessonBitmap.of(all).encode();
+
+        assertThat(encoded).hasSize(26);
+        assertRoundTrip(LessonBitmap.decode(encoded), all);
+    }
+
+    @Test
+    void neverEncodesLargerThanEitherForm() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 500; trial++) {
+            int range = 1 + random.nextInt(trial % 2 == 0 ? 300 : LessonBitmap.MAX_ORDINAL + 1);
+            int[] ordinals = random.ints(random.nextInt(Math.min(range, 400)), 0, range).toArray();
+            LessonBitmap set = LessonBitmap.of(ordinals);
+            if (set.isEmpty()) continue;
+
+            int max = set.ordinals().max().orElseThrow();
+            assertThat(set.encode().length)
+                    .isLessThanOrEqualTo(1 + Math.min(set.cardinality() * 2, max / 8 + 1));
+            assertRoundTrip(LessonBitmap.decode(set.encode()), IntStream.of(ordinals).distinct().sorted().toArray());
+        }
+    }
+
+    @Test
+    void withAndWithoutKeepEqualSetsEqual() {
+        LessonBitmap set = LessonBitmap.of(1, 500).with(70).without(500);
+
+        assertThat(set).isEqualTo(LessonBitmap.of(70, 1)).hasSameHashCodeAs(LessonBitmap.of(1, 70));
+        assertThat(set.with(70)).isSameAs(set);
+        assertThat(set.cardinalityAnd(LessonBitmap.of(70, 500))).isEqualTo(1);
+        assertThat(set.contains(500)).isFalse();
+        assertThat(set.contains(-1)).isFalse();
+    }
+
+    @Test
+    void rejectsBadInput() {
+        assertThatThrownBy(() -> LessonBitmap.of(LessonBitmap.MAX_ORDINAL + 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LessonBitmap.EMPTY.with(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LessonBitmap.decode(new byte[]{9, 1, 0})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertRoundTrip(LessonBitmap set, int... ordinals) {
+        assertThat(set.ordinals().toArray()).containsExactly(ordinals);
+        assertThat(LessonBitmap.decode(set.encode())).isEqualTo(set);
+        assertThat(set.cardinality()).isEqualTo(ordinals.length);
+    }
+}
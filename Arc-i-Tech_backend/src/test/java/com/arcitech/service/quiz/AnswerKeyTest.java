@@ -0,0 +1,90 @@
+package com.arcitech.service.quiz;
+
+import com.arcitech.model.AnswerOption;
+import com.arcitech.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnswerKeyTest {
+
+    // Question 10: single choice, 101 correct. Question 20: multiple choice, 201 and 203 correct.
+    // Question 30: free text. Option 999 belongs to a question outside the quiz.
+    private final AnswerKey key = AnswerKey.of(
+            List.of(question(20, "MULTIPLE_CHOICE"), question(10, "SINGLE_CHOICE"), question(30, "FREE_TEXT")),
+            List.of(option(203, 20, true), option(101, 10, true), option(102, 10, false),
+                    option(201, 20, true), option(202, 20, false), option(999, 15, true)));
+
+    @Test
+    void keepsQuestionsInIdOrder() {
+        assertThat(key.size()).isEqualTo(3);
+        assertThat(key.questionId(0)).isEqualTo(10);
+        assertThat(key.indexOf(20)).isEqualTo(1);
+        assertThat(key.indexOf(15)).isEqualTo(-1);
+        assertThat(key.isChoice(key.indexOf(30))).isFalse();
+    }
+
+    @Test
+    void gradesSingleChoice() {
+        int q = key.indexOf(10);
+
+        assertThat(key.isCorrect(q, key.mask(q, List.of(101L)))).isTrue();
+        assertThat(key.isCorrect(q, key.mask(q, List.of(102L)))).isFalse();
+        assertThat(key.isCorrect(q, key.mask(q, List.of()))).isFalse();
+    }
+
+    @Test
+    void multipleChoiceNeedsExactlyTheCorrectSet() {
+        int q = key.indexOf(20);
+
+        assertThat(key.isCorrect(q, key.mask(q, Set.of(203L, 201L)))).isTrue();
+        assertThat(key.isCorrect(q, key.mask(q, List.of(201L)))).isFalse();
+        assertThat(key.isCorrect(q, key.mask(q, List.of(201L, 202L, 203L)))).isFalse();
+        assertThat(key.correctOptionIds(q)).containsExactly(201L, 203L);
+    }
+
+    @Test
+    void freeTextIsNeverAutoGraded() {
+        int q = key.indexOf(30);
+
+        assertThat(key.isCorrect(q, 0L)).isFalse();
+        assertThat(key.correctOptionIds(q)).isEmpty();
+    }
+
+    @Test
+    void rejectsOptionsOfOtherQuestions() {
+        int q = key.indexOf(10);
+
+        assertThatThrownBy(() -> key.mask(q, List.of(201L))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> key.mask(q, List.of(999L))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundTripsMasksToOptionIds() {
+        int q = key.indexOf(20);
+
+        assertThat(key.optionIds(q, key.mask(q, List.of(202L, 201L)))).containsExactly(201L, 202L);
+    }
+
+    @Test
+    void rejectsQuestionsWithTooManyOptions() {
+        List<AnswerOption> options = new ArrayList<>();
+        for (int i = 0; i <= AnswerKey.MAX_OPTIONS; i++) options.add(option(1000 + i, 1, i == 0));
+
+        assertThatThrownBy(() -> AnswerKey.of(List.of(question(1, "SINGLE_CHOICE")), options))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Question question(long id, String type) {
+        return Question.builder().questionId(id).questionType(type).build();
+    }
+
+    private static AnswerOption option(long id, long questionId, boolean correct) {
+        return AnswerOption.builder().answerOptionId(id).questionId(questionId).isCorrect(correct).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.arcitech.service.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionBankIndexTest {
+
+    // Ten "java" questions (ids 1..10; even ids are multiple choice) and two "sql" questions
+    private final QuestionBankIndex index = QuestionBankIndex.build(entries());
+
+    @Test
+    void samplesDistinctQuestionsOfTheTopic() {
+        List<Long> drawn = index.sample("Java", null, Set.of(), 4, new Random(1));
+
+        assertThat(drawn).hasSize(4).doesNotHaveDuplicates().allMatch(id -> id >= 1 && id <= 10);
+    }
+
+    @Test
+    void honoursTypeAndExclusions() {
+        List<Long> drawn = index.sample("java", "multiple_choice", Set.of(2L, 4L), 10, new Random(2));
+
+        assertThat(drawn).containsExactlyInAnyOrder(6L, 8L, 10L);
+    }
+
+    @Test
+    void returnsFewerWhenTheTopicRunsShort() {
+        assertThat(index.sample("sql", null, Set.of(), 5, new Random(3))).containsExactlyInAnyOrder(11L, 12L);
+        assertThat(index.sample("unknown", null, Set.of(), 5, new Random(3))).isEmpty();
+        assertThat(index.sample("java", null, Set.of(), 0, new Random(3))).isEmpty();
+    }
+
+    @Test
+    void everyEligibleQuestionIsEquallyLikely() {
+        int trials = 30_000;
+        int count = 3;
+        long[] hits = new long[11];
+        Random random = new Random(42);
+        for (int t = 0; t < trials; t++) {
+            for (long id : index.sample("java", null, Set.of(), count, random)) hits[(int) id]++;
+        }
+
+        // Each of the ten questions is expected count / 10 of the time: 9000 hits
+        double expected = trials * count / 10.0;
+        for (int id = 1; id <= 10; id++) {
+            assertThat((double) hits[id]).as("hits of question %d", id).isBetween(expected * 0.95, expected * 1.05);
+        }
+    }
+
+    @Test
+    void searchIntersectsWordsAndPagesById() {
+        QuestionBankIndex.SearchResult first = index.search("streams", "java", null, 0, 2);
+        QuestionBankIndex.SearchResult next = index.search("streams", "java", null, first.questionIds().get(1), 2);
+
+        assertThat(first.total()).isEqualTo(5);
+        assertThat(first.questionIds()).containsExactly(1L, 3L);
+        assertThat(next.questionIds()).containsExactly(5L, 7L);
+    }
+
+    private static List<QuestionBankIndex.Entry> entries() {
+        List<QuestionBankIndex.Entry> entries = new ArrayList<>();
+        for (long id = 10; id >= 1; id--) {
+            entries.add(new QuestionBankIndex.Entry(id, id % 2 == 0 ? "java" : "Java ",
+                    id % 2 == 0 ? "MULTIPLE_CHOICE" : "SINGLE_CHOICE",
+                    id % 2 == 0 ? "Which collections are thread-safe?" : "What do Java streams return?"));
+        }
+        entries.add(new QuestionBankIndex.Entry(11, "SQL", "SINGLE_CHOICE", "What does a left join keep?"));
+        entries.add(new QuestionBankIndex.Entry(12, "sql", "FREE_TEXT", "Explain index selectivity."));
+        return entries;
+    }
+}
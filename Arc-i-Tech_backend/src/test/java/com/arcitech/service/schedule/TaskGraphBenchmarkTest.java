@@ -0,0 +1,110 @@
+package com.arcitech.service.schedule;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Timings for project-sized graphs; run with {@code mvn test -Pbenchmark}. Each case is
+ * warmed up first and reports the mean of the measured rounds.
+ */
+@Tag("benchmark")
+class TaskGraphBenchmarkTest {
+
+    private static final LocalDate DAY0 = LocalDate.of(2025, 1, 1);
+    private static final int TASKS = 50_000;
+    private static final int EDGES = 100_000;
+    private static final int OPS = 2_000;
+
+    @Test
+    void buildLargeProject() {
+        Project p = Project.generate(TASKS, EDGES, 1);
+        double ms = measure(5, 10, () -> {
+            long start = System.nanoTime();
+            TaskGraph.build(p.ids, p.starts, p.dues, p.from, p.to);
+            return System.nanoTime() - start;
+        });
+        report("build " + TASKS + " tasks / " + EDGES + " edges", ms);
+        assertThat(ms).isLessThan(2_000);
+    }
+
+    @Test
+    void incrementalEdgeChanges() {
+        Project p = Project.generate(TASKS, EDGES, 2);
+        Random random = new Random(7);
+        double ms = measure(2, 5, () -> {
+            TaskGraph graph = TaskGraph.build(p.ids, p.starts, p.dues, p.from, p.to);
+            long start = System.nanoTime();
+            for (int k = 0; k < OPS; k++) {
+                long u = p.ids[random.nextInt(TASKS)];
+                long v = p.ids[random.nextInt(TASKS)];
+                if (u != v && !graph.wouldCreateCycle(u, v)) {
+                    graph.addDependency(u, v);
+                    graph.removeDependency(u, v);
+                }
+            }
+            return System.nanoTime() - start;
+        }) / OPS;
+        report("add + remove one edge", ms);
+        assertThat(ms).isLessThan(50);
+    }
+
+    @Test
+    void incrementalDateChanges() {
+        Project p = Project.generate(TASKS, EDGES, 3);
+        Random random = new Random(11);
+        double ms = measure(2, 5, () -> {
+            TaskGraph graph = TaskGraph.build(p.ids, p.starts, p.dues, p.from, p.to);
+            long start = System.nanoTime();
+            for (int k = 0; k < OPS; k++) {
+                int i = random.nextInt(TASKS);
+                LocalDate s = DAY0.plusDays(random.nextInt(365));
+                graph.updateTaskDates(p.ids[i], s, s.plusDays(random.nextInt(10)));
+            }
+            return System.nanoTime() - start;
+        }) / OPS;
+        report("update one task's dates", ms);
+        assertThat(ms).isLessThan(50);
+    }
+
+    // body returns the nanoseconds to count, so setup inside it can be excluded
+    private static double measure(int warmup, int rounds, LongSupplier body) {
+        for (int i = 0; i < warmup; i++) body.getAsLong();
+        long total = 0;
+        for (int i = 0; i < rounds; i++) total += body.getAsLong();
+        return total / 1e6 / rounds;
+    }
+
+    private static void report(String name, double ms) {
+        System.out.printf("[benchmark] %-40s %10.3f ms%n", name, ms);
+    }
+
+    // Random DAG: edges always point from a lower to a higher index
+    private record Project(long[] ids, LocalDate[] starts, LocalDate[] dues, long[] from, long[] to) {
+        static Project generate(int tasks, int edges, long seed) {
+            Random random = new Random(seed);
+            long[] ids = new long[tasks];
+            LocalDate[] starts = new LocalDate[tasks];
+            LocalDate[] dues = new LocalDate[tasks];
+            for (int i = 0; i < tasks; i++) {
+                ids[i] = i + 1;
+                starts[i] = DAY0.plusDays(random.nextInt(365));
+                dues[i] = starts[i].plusDays(random.nextInt(10));
+            }
+            long[] from = new long[edges];
+            long[] to = new long[edges];
+            for (int e = 0; e < edges; e++) {
+                int a = random.nextInt(tasks - 1);
+                int b = a + 1 + random.nextInt(Math.min(200, tasks - a - 1));
+                from[e] = ids[a];
+                to[e] = ids[b];
+            }
+            return new Project(ids, starts, dues, from, to);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.arcitech.service.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskGraphTest {
+
+    private static final LocalDate DAY0 = LocalDate.of(2025, 3, 3);
+
+    @Test
+    void computesCriticalPathAndSlack() {
+        // 1 (3d) -> 2 (2d) -> 4 (1d), 1 -> 3 (1d) -> 4
+        TaskGraph graph = TaskGraph.build(new long[]{1, 2, 3, 4},
+                new LocalDate[]{DAY0, DAY0, DAY0, DAY0},
+                new LocalDate[]{DAY0.plusDays(2), DAY0.plusDays(1), DAY0, DAY0},
+                new long[]{1, 2, 1, 3}, new long[]{2, 4, 3, 4});
+
+        assertThat(graph.criticalPath()).containsExactly(1, 2, 4);
+        assertThat(graph.slackDays(3)).isEqualTo(1);
+        assertThat(graph.makespanDays()).isEqualTo(6);
+        assertThat(graph.earliestStart(4)).isEqualTo(DAY0.plusDays(5));
+    }
+
+    @Test
+    void rejectsCycles() {
+        TaskGraph graph = TaskGraph.build(new long[]{1, 2, 3}, new LocalDate[3], new LocalDate[3],
+                new long[]{1, 2}, new long[]{2, 3});
+
+        assertThat(graph.wouldCreateCycle(3, 1)).isTrue();
+        assertThatThrownBy(() -> graph.addDependency(3, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(graph.topologicalOrder()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void movingTaskBeforeOriginKeepsItsDate() {
+        TaskGraph graph = TaskGraph.build(new long[]{1, 2},
+                new LocalDate[]{DAY0, DAY0.plusDays(2)},
+                new LocalDate[]{DAY0, DAY0.plusDays(2)},
+                new long[0], new long[0]);
+
+        graph.updateTaskDates(2, DAY0.minusDays(4), DAY0.minusDays(3));
+
+        assertThat(graph.earliestStart(2)).isEqualTo(DAY0.minusDays(4));
+        assertThat(graph.earliestStart(1)).isEqualTo(DAY0);
+        assertThat(graph.projectStart()).isEqualTo(DAY0.minusDays(4));
+        assertThat(graph.makespanDays()).isEqualTo(5);
+        assertThat(graph.propagateDates()).isEmpty();
+    }
+
+    @Test
+    void incrementalUpdatesMatchFullRebuild() {
+        Random random = new Random(42);
+        int n = 200;
+        long[] ids = new long[n];
+        LocalDate[] starts = new LocalDate[n];
+        LocalDate[] dues = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = 1000 + i;
+            starts[i] = DAY0.plusDays(random.nextInt(30));
+            dues[i] = starts[i].plusDays(random.nextInt(5));
+        }
+        List<long[]> edges = new ArrayList<>();
+        TaskGraph graph = TaskGraph.build(ids, starts, dues, new long[0], new long[0]);
+
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(10);
+            if (op < 5) {
+                long u = ids[random.nextInt(n)];
+                long v = ids[random.nextInt(n)];
+                if (u == v || graph.wouldCreateCycle(u, v)) continue;
+                if (graph.addDependency(u, v)) edges.add(new long[]{u, v});
+            } else if (op < 7 && !edges.isEmpty()) {
+                long[] e = edges.remove(random.nextInt(edges.size()));
+                assertThat(graph.removeDependency(e[0], e[1])).isTrue();
+            } else {
+                int i = random.nextInt(n);
+                starts[i] = DAY0.plusDays(random.nextInt(40) - 10);
+                dues[i] = starts[i].plusDays(random.nextInt(6));
+                graph.updateTaskDates(ids[i], starts[i], dues[i]);
+            }
+            if (step % 50 == 0) assertSameSchedule(graph, ids, starts, dues, edges);
+        }
+        assertSameSchedule(graph, ids, starts, dues, edges);
+    }
+
+    private static void assertSameSchedule(TaskGraph graph, long[] ids, LocalDate[] starts, LocalDate[] dues,
+                                           List<long[]> edges) {
+        long[] from = new long[edges.size()];
+        long[] to = new long[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            from[e] = edges.get(e)[0];
+            to[e] = edges.get(e)[1];
+        }
+        TaskGraph fresh = TaskGraph.build(ids, starts, dues, from, to);
+        assertThat(graph.projectStart()).isEqualTo(fresh.projectStart());
+        assertThat(graph.projectFinish()).isEqualTo(fresh.projectFinish());
+        for (long id : ids) {
+            assertThat(graph.earliestStart(id)).as("earliest start of %d", id).isEqualTo(fresh.earliestStart(id));
+            assertThat(graph.latestFinish(id)).as("latest finish of %d", id).isEqualTo(fresh.latestFinish(id));
+        }
+        assertThat(graph.criticalPath()).containsExactlyInAnyOrder(fresh.criticalPath());
+    }
+}
@@ -0,0 +1,155 @@
+package com.arcitech.service.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimerWheelTest {
+
+    private static final long TICK = 1000;
+    // Deliberately not a multiple of 64 ticks, so level slots and "now" are out of phase
+    private static final long START = 1_000_037L * TICK + 250;
+
+    @Test
+    void firesEveryKeyOnceAcrossLevelBoundaries() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, START);
+        Map<String, Long> deadlines = new HashMap<>();
+        // Just below, on and just above the span of each level, with and without a partial tick
+        for (int k = 1; k <= 4; k++) {
+            long span = 1L << (6 * k);
+            for (long ticks : new long[]{span - 1, span, span + 1}) {
+                for (long extra : new long[]{0, 1, TICK - 1}) {
+                    deadlines.put(k + ":" + ticks + ":" + extra, START + ticks * TICK + extra);
+                }
+            }
+        }
+        deadlines.forEach(wheel::schedule);
+
+        Map<String, Long> firedAt = runTickByTick(wheel, START, maxOf(deadlines) + 2 * TICK);
+
+        assertFiredOnTime(deadlines, firedAt);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesExactlyPowersOf64TicksOutFireOnTheirTick() {
+        // Start on a tick that is itself a multiple of every level's span
+        long start = (1L << 30) * TICK;
+        TimerWheel<Integer> wheel = new TimerWheel<>(TICK, start);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int k = 0; k <= 4; k++) deadlines.put(k, start + (1L << (6 * k)) * TICK);
+        deadlines.forEach(wheel::schedule);
+
+        Map<Integer, Long> firedAt = runTickByTick(wheel, start, maxOf(deadlines) + TICK);
+
+        // Whole-tick deadlines fire on exactly that tick
+        assertThat(firedAt).isEqualTo(deadlines);
+    }
+
+    @Test
+    void cancelledAndMovedKeysFireOnlyForTheirLatestDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, START);
+        wheel.schedule("cancelled", START + 70 * TICK);
+        wheel.schedule("moved-out", START + 5 * TICK);
+        wheel.schedule("moved-in", START + 5000 * TICK);
+        wheel.schedule("kept", START + 64 * TICK);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.cancel("unknown")).isFalse();
+        wheel.schedule("moved-out", START + 300 * TICK);
+        wheel.schedule("moved-in", START + 3 * TICK);
+
+        assertThat(wheel.size()).isEqualTo(3);
+        assertThat(wheel.deadlineOf("cancelled")).isNull();
+        assertThat(wheel.deadlineOf("moved-in")).isEqualTo(START + 3 * TICK);
+
+        Map<String, Long> firedAt = runTickByTick(wheel, START, START + 6000 * TICK);
+
+        assertFiredOnTime(Map.of(
+                "moved-out", START + 300 * TICK,
+                "moved-in", START + 3 * TICK,
+                "kept", START + 64 * TICK), firedAt);
+    }
+
+    @Test
+    void catchesUpAfterLongGaps() {
+        Random random = new Random(42);
+        TimerWheel<Integer> wheel = new TimerWheel<>(TICK, START);
+        Map<Integer, Long> pending = new HashMap<>();
+        for (int key = 0; key < 20_000; key++) {
+            long deadline = START + (long) (random.nextDouble() * (1L << 20) * TICK);
+            pending.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        long now = START;
+        while (!pending.isEmpty()) {
+            // Gaps from a fraction of a tick to several top-level slots
+            now += (long) (random.nextDouble() * random.nextDouble() * (1L << 19) * TICK);
+            long nowTick = now / TICK;
+            Set<Integer> due = new HashSet<>();
+            pending.forEach((key, deadline) -> {
+                if ((deadline + TICK - 1) / TICK <= nowTick) due.add(key);
+            });
+
+            List<Integer> fired = wheel.advance(now);
+
+            assertThat(fired).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(due);
+            fired.forEach(pending::remove);
+            assertThat(wheel.size()).isEqualTo(pending.size());
+        }
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, START);
+        wheel.advance(START + 100 * TICK);
+
+        wheel.schedule("late", START);
+
+        // The current tick has already been processed
+        assertThat(wheel.advance(START + 100 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 101 * TICK)).containsExactly("late");
+        assertThat(wheel.advance(START + 200 * TICK)).isEmpty();
+    }
+
+    @Test
+    void rejectsNonPositiveTicks() {
+        assertThatThrownBy(() -> new TimerWheel<String>(0, START)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Advances to every tick boundary in turn and records when each key fired
+    private static <K> Map<K, Long> runTickByTick(TimerWheel<K> wheel, long from, long to) {
+        Map<K, Long> firedAt = new HashMap<>();
+        List<K> duplicates = new ArrayList<>();
+        for (long now = from / TICK * TICK; now <= to; now += TICK) {
+            for (K key : wheel.advance(now)) {
+                if (firedAt.put(key, now) != null) duplicates.add(key);
+            }
+        }
+        assertThat(duplicates).as("keys fired more than once").isEmpty();
+        return firedAt;
+    }
+
+    private static <K> void assertFiredOnTime(Map<K, Long> deadlines, Map<K, Long> firedAt) {
+        assertThat(firedAt).containsOnlyKeys(deadlines.keySet());
+        deadlines.forEach((key, deadline) -> assertThat(firedAt.get(key))
+                .as("firing time of %s", key)
+                .isGreaterThanOrEqualTo(deadline)
+                .isLessThan(deadline + TICK));
+    }
+
+    private static <K> long maxOf(Map<K, Long> deadlines) {
+        return deadlines.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+    }
+}
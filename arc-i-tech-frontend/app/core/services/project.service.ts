@@ -9,10 +9,31 @@ function mapProject(raw: any): Project {
   };
 }
 
+export interface ProjectPage {
+  items: Project[];
+  nextCursor: string | null;
+  size: number;
+  totalCount: number;
+}
+
 export const ProjectService = {
+  async getPage(cursor?: string | null, size = 20): Promise<ProjectPage> {
+    const res = await axiosClient.get("/projects", {
+      params: { size, ...(cursor ? { cursor } : {}) },
+    });
+    return { ...res.data, items: res.data.items.map(mapProject) };
+  },
+
+  // Follows the cursor until the last page; use getPage for large listings.
   async getAll(): Promise<Project[]> {
-    const res = await axiosClient.get("/projects");
-    return res.data.map(mapProject);
+    const all: Project[] = [];
+    let cursor: string | null = null;
+    do {
+      const page: ProjectPage = await ProjectService.getPage(cursor, 100);
+      all.push(...page.items);
+      cursor = page.nextCursor;
+    } while (cursor);
+    return all;
   },
 
   async getById(id: number): Promise<Project> {